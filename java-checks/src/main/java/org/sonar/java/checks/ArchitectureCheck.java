@@ -20,7 +20,6 @@
 package org.sonar.java.checks;
 
 import org.apache.commons.lang.StringUtils;
-import org.sonar.api.utils.WildcardPattern;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
 import org.sonar.java.RspecKey;
@@ -50,8 +49,8 @@ public class ArchitectureCheck extends BaseTreeVisitor implements JavaFileScanne
   @RuleProperty(description = "Mandatory. Ex : java.util.Vector, java.util.Hashtable, java.util.Enumeration")
   String toClasses = "";
 
-  private WildcardPattern[] fromPatterns;
-  private WildcardPattern[] toPatterns;
+  private QualifiedNameMatcher fromMatcher;
+  private QualifiedNameMatcher toMatcher;
 
   private Deque<String> shouldCheck = new LinkedList<>();
   private Deque<Set<String>> issues = new LinkedList<>();
@@ -76,7 +75,7 @@ public class ArchitectureCheck extends BaseTreeVisitor implements JavaFileScanne
       if (type != null) {
         String fullyQualifiedName = type.fullyQualifiedName();
         Set<String> currentIssues = issues.peekFirst();
-        if (!currentIssues.contains(fullyQualifiedName) && WildcardPattern.match(getToPatterns(), fullyQualifiedName)) {
+        if (!currentIssues.contains(fullyQualifiedName) && getToMatcher().test(fullyQualifiedName)) {
           context.reportIssue(this, tree, shouldCheckId + " must not use " + fullyQualifiedName);
           currentIssues.add(fullyQualifiedName);
         }
@@ -87,7 +86,7 @@ public class ArchitectureCheck extends BaseTreeVisitor implements JavaFileScanne
   @Override
   public void visitClass(ClassTree tree) {
     String fullyQualifiedName = ((JavaSymbol.TypeJavaSymbol) tree.symbol()).getFullyQualifiedName();
-    if (WildcardPattern.match(getFromPatterns(), fullyQualifiedName)) {
+    if (getFromMatcher().test(fullyQualifiedName)) {
       shouldCheck.addFirst(fullyQualifiedName);
       issues.addFirst(new HashSet<>());
     } else {
@@ -101,17 +100,17 @@ public class ArchitectureCheck extends BaseTreeVisitor implements JavaFileScanne
     currentType.pop();
   }
 
-  private WildcardPattern[] getFromPatterns() {
-    if (fromPatterns == null) {
-      fromPatterns = PatternUtils.createPatterns(StringUtils.defaultIfEmpty(fromClasses, "**"));
+  private QualifiedNameMatcher getFromMatcher() {
+    if (fromMatcher == null) {
+      fromMatcher = QualifiedNameMatcher.wildcards(StringUtils.defaultIfEmpty(fromClasses, "**"));
     }
-    return fromPatterns;
+    return fromMatcher;
   }
 
-  private WildcardPattern[] getToPatterns() {
-    if (toPatterns == null) {
-      toPatterns = PatternUtils.createPatterns(toClasses);
+  private QualifiedNameMatcher getToMatcher() {
+    if (toMatcher == null) {
+      toMatcher = QualifiedNameMatcher.wildcards(toClasses);
     }
-    return toPatterns;
+    return toMatcher;
   }
 }
@@ -26,6 +26,7 @@ import org.sonar.check.Rule;
 import org.sonar.java.cfg.CFG;
 import org.sonar.java.cfg.LiveVariables;
 import org.sonar.java.cfg.VariableReadExtractor;
+import org.sonar.java.model.DefaultJavaFileScannerContext;
 import org.sonar.java.model.ExpressionUtils;
 import org.sonar.java.model.declaration.VariableTreeImpl;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
@@ -75,8 +76,8 @@ public class DeadStoreCheck extends IssuableSubscriptionVisitor {
     }
 
     Symbol.MethodSymbol methodSymbol = methodTree.symbol();
-    CFG cfg = CFG.build(methodTree);
-    LiveVariables liveVariables = LiveVariables.analyze(cfg);
+    CFG cfg = DefaultJavaFileScannerContext.cfgFor(context, methodTree);
+    LiveVariables liveVariables = DefaultJavaFileScannerContext.liveVariablesFor(context, methodTree, cfg);
     // Liveness analysis provides information only for block boundaries, so we should do analysis between elements within blocks
     for (CFG.Block block : cfg.blocks()) {
       checkElements(block, liveVariables.getOut(block), methodSymbol);
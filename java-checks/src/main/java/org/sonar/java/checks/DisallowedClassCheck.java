@@ -42,7 +42,7 @@ public class DisallowedClassCheck extends BaseTreeVisitor implements JavaFileSca
     description = "Fully qualified name of the forbidden class. Use a regex to forbid a package.",
     defaultValue = "")
   public String disallowedClass = "";
-  private Pattern pattern = null;
+  private QualifiedNameMatcher matcher = null;
   private JavaFileScannerContext context;
 
   @Override
@@ -90,14 +90,14 @@ public class DisallowedClassCheck extends BaseTreeVisitor implements JavaFileSca
   }
 
   private void checkIfDisallowed(String className, Tree tree) {
-    if (pattern == null) {
+    if (matcher == null) {
       try {
-        pattern = Pattern.compile(disallowedClass);
+        matcher = QualifiedNameMatcher.regex(Pattern.compile(disallowedClass));
       } catch (IllegalArgumentException e) {
         throw new IllegalArgumentException("[" + getClass().getSimpleName() + "] Unable to compile the regular expression: " + disallowedClass, e);
       }
     }
-    if (pattern.matcher(className).matches()) {
+    if (matcher.test(className)) {
       context.reportIssue(this, tree, "Remove the use of this forbidden class.");
     }
   }
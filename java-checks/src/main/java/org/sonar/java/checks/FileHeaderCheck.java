@@ -19,17 +19,14 @@
  */
 package org.sonar.java.checks;
 
-import com.google.common.io.Files;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
 import org.sonar.java.CharsetAwareVisitor;
+import org.sonar.java.model.DefaultJavaFileScannerContext;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.Tree;
-import org.sonar.squidbridge.api.AnalysisException;
 
-import java.io.File;
-import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.Collections;
 import java.util.Iterator;
@@ -84,28 +81,10 @@ public class FileHeaderCheck extends IssuableSubscriptionVisitor implements Char
     } else {
       expectedLines = headerFormat.split("(?:\r)?\n|\r");
     }
-    visitFile(context.getFile());
-  }
-
-  public void visitFile(File file) {
     if (isRegularExpression) {
-      String fileContent;
-      try {
-        fileContent = Files.toString(file, charset);
-      } catch (IOException e) {
-        throw new AnalysisException(e);
-      }
-      checkRegularExpression(fileContent);
-    } else {
-      List<String> lines;
-      try {
-        lines = Files.readLines(file, charset);
-      } catch (IOException e) {
-        throw new AnalysisException(e);
-      }
-      if (!matches(expectedLines, lines)) {
-        addIssueOnFile(MESSAGE);
-      }
+      checkRegularExpression(DefaultJavaFileScannerContext.fileContent(context, charset));
+    } else if (!matches(expectedLines, DefaultJavaFileScannerContext.fileLines(context, charset))) {
+      addIssueOnFile(MESSAGE);
     }
   }
 
@@ -136,5 +115,4 @@ public class FileHeaderCheck extends IssuableSubscriptionVisitor implements Char
 
     return result;
   }
-
 }
@@ -20,6 +20,7 @@
 package org.sonar.java.checks;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Multimaps;
 import com.google.common.collect.Sets;
 import org.sonar.check.Rule;
 import org.sonar.java.model.ExpressionUtils;
@@ -35,6 +36,7 @@ import org.sonar.plugins.java.api.tree.StatementTree;
 import org.sonar.plugins.java.api.tree.SwitchStatementTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
@@ -58,13 +60,16 @@ public class IdenticalCasesInSwitchCheck extends IssuableSubscriptionVisitor {
   }
 
   public void checkSwitchStatement(SwitchStatementTree node) {
-    int index = 0;
-    List<CaseGroupTree> cases = node.cases();
     Set<CaseLabelTree> reportedLabels = Sets.newHashSet();
-    for (CaseGroupTree caseGroupTree : cases) {
-      index++;
-      for (int i = index; i < cases.size(); i++) {
-        checkCaseEquivalence(reportedLabels, caseGroupTree, cases.get(i));
+    // only cases having bodies with the same hash can be equivalent
+    Collection<List<CaseGroupTree>> candidates = Multimaps.asMap(Multimaps.index(node.cases(), c -> SyntacticEquivalence.hash(c.body()))).values();
+    for (List<CaseGroupTree> cases : candidates) {
+      int index = 0;
+      for (CaseGroupTree caseGroupTree : cases) {
+        index++;
+        for (int i = index; i < cases.size(); i++) {
+          checkCaseEquivalence(reportedLabels, caseGroupTree, cases.get(i));
+        }
       }
     }
   }
@@ -22,13 +22,11 @@ package org.sonar.java.checks;
 import org.sonar.check.Rule;
 import org.sonar.java.CharsetAwareVisitor;
 import org.sonar.java.RspecKey;
+import org.sonar.java.model.DefaultJavaFileScannerContext;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.Tree;
 
-import java.io.File;
-import java.io.IOException;
-import java.io.RandomAccessFile;
 import java.nio.charset.Charset;
 import java.util.Collections;
 import java.util.List;
@@ -47,30 +45,13 @@ public class MissingNewLineAtEndOfFileCheck extends IssuableSubscriptionVisitor
   @Override
   public void scanFile(JavaFileScannerContext context) {
     super.context = context;
-    visitFile(context.getFile());
-  }
-
-  public void visitFile(File file) {
-    try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
-      if (!endsWithNewline(randomAccessFile)) {
-        addIssueOnFile("Add a new line at the end of this file.");
-      }
-    } catch (IOException e) {
-      throw new IllegalStateException(e);
+    if (!endsWithNewline(DefaultJavaFileScannerContext.fileContent(context, charset))) {
+      addIssueOnFile("Add a new line at the end of this file.");
     }
   }
 
-  private boolean endsWithNewline(RandomAccessFile randomAccessFile) throws IOException {
-    if (randomAccessFile.length() < 1) {
-      return false;
-    }
-    randomAccessFile.seek(randomAccessFile.length() - 1);
-    byte[] chars = new byte[1];
-    if (randomAccessFile.read(chars) < 1) {
-      return false;
-    }
-    String ch = new String(chars, charset);
-    return "\n".equals(ch) || "\r".equals(ch);
+  private static boolean endsWithNewline(String content) {
+    return content.endsWith("\n") || content.endsWith("\r");
   }
 
   @Override
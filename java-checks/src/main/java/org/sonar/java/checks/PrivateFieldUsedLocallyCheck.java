@@ -27,6 +27,7 @@ import javax.annotation.CheckForNull;
 import org.sonar.check.Rule;
 import org.sonar.java.cfg.CFG;
 import org.sonar.java.cfg.LiveVariables;
+import org.sonar.java.model.DefaultJavaFileScannerContext;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.semantic.Symbol.TypeSymbol;
@@ -81,8 +82,8 @@ public class PrivateFieldUsedLocallyCheck extends IssuableSubscriptionVisitor {
     }
   }
 
-  private static boolean isLiveInMethodEntry(Symbol privateFieldSymbol, MethodTree methodTree) {
-    CFG cfg = CFG.build(methodTree);
+  private boolean isLiveInMethodEntry(Symbol privateFieldSymbol, MethodTree methodTree) {
+    CFG cfg = DefaultJavaFileScannerContext.cfgFor(context, methodTree);
     LiveVariables liveVariables = LiveVariables.analyzeWithFields(cfg);
     return liveVariables.getIn(cfg.entry()).contains(privateFieldSymbol);
   }
@@ -0,0 +1,59 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.checks;
+
+import org.sonar.api.utils.WildcardPattern;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Matches fully qualified names against the patterns of a check, remembering the verdict of each name: checks live for the whole
+ * analysis and meet the same few names over and over, while a name is otherwise matched against every pattern each time.
+ */
+public final class QualifiedNameMatcher implements Predicate<String> {
+
+  private final Predicate<String> matcher;
+  private final Map<String, Boolean> verdicts = new ConcurrentHashMap<>();
+
+  private QualifiedNameMatcher(Predicate<String> matcher) {
+    this.matcher = matcher;
+  }
+
+  /**
+   * @param patterns comma separated wildcard patterns, such as {@code java.util.Vector, **.web.**}
+   */
+  public static QualifiedNameMatcher wildcards(String patterns) {
+    WildcardPattern[] wildcardPatterns = PatternUtils.createPatterns(patterns);
+    return new QualifiedNameMatcher(name -> WildcardPattern.match(wildcardPatterns, name));
+  }
+
+  public static QualifiedNameMatcher regex(Pattern pattern) {
+    return new QualifiedNameMatcher(name -> pattern.matcher(name).matches());
+  }
+
+  @Override
+  public boolean test(String fullyQualifiedName) {
+    return verdicts.computeIfAbsent(fullyQualifiedName, matcher::test);
+  }
+
+}
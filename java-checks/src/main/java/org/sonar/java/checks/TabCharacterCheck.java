@@ -19,16 +19,14 @@
  */
 package org.sonar.java.checks;
 
-import com.google.common.io.Files;
 import org.sonar.check.Rule;
 import org.sonar.java.CharsetAwareVisitor;
 import org.sonar.java.RspecKey;
+import org.sonar.java.model.DefaultJavaFileScannerContext;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.Tree;
 
-import java.io.File;
-import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.Collections;
 import java.util.List;
@@ -51,23 +49,11 @@ public class TabCharacterCheck extends IssuableSubscriptionVisitor implements Ch
   @Override
   public void scanFile(JavaFileScannerContext context) {
     super.context = context;
-    visitFile(context.getFile());
-  }
-
-  public void visitFile(File file) {
-    List<String> lines;
-    try {
-      lines = Files.readLines(file, charset);
-    } catch (IOException e) {
-      throw new IllegalStateException(e);
-    }
-    for (String line : lines) {
+    for (String line : DefaultJavaFileScannerContext.fileLines(context, charset)) {
       if (line.contains("\t")) {
         addIssueOnFile("Replace all tab characters in this file by sequences of white-spaces.");
         break;
       }
     }
   }
-
-
 }
@@ -20,11 +20,11 @@
 package org.sonar.java.checks;
 
 import com.google.common.collect.Sets;
-import com.google.common.io.Files;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
 import org.sonar.java.CharsetAwareVisitor;
 import org.sonar.java.RspecKey;
+import org.sonar.java.model.DefaultJavaFileScannerContext;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
@@ -33,8 +33,6 @@ import org.sonar.plugins.java.api.tree.ImportClauseTree;
 import org.sonar.plugins.java.api.tree.ImportTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
-import java.io.File;
-import java.io.IOException;
 import java.nio.charset.Charset;
 import java.text.MessageFormat;
 import java.util.Collections;
@@ -72,7 +70,7 @@ public class TooLongLineCheck extends IssuableSubscriptionVisitor implements Cha
     ignoredLines.clear();
     ignoreLines(context.getTree());
     super.scanFile(context);
-    visitFile(context.getFile());
+    visitLines(DefaultJavaFileScannerContext.fileLines(context, charset));
   }
 
   private void ignoreLines(CompilationUnitTree tree) {
@@ -97,13 +95,7 @@ public class TooLongLineCheck extends IssuableSubscriptionVisitor implements Cha
     return ((EmptyStatementTree) importClauseTree).semicolonToken().line();
   }
 
-  private void visitFile(File file) {
-    List<String> lines;
-    try {
-      lines = Files.readLines(file, charset);
-    } catch (IOException e) {
-      throw new IllegalStateException(e);
-    }
+  private void visitLines(List<String> lines) {
     for (int i = 0; i < lines.size(); i++) {
       if (!ignoredLines.contains(i + 1)) {
         String origLine = lines.get(i);
@@ -21,6 +21,7 @@ package org.sonar.java.checks.methods;
 
 import com.google.common.collect.ImmutableList;
 import org.sonar.java.matcher.MethodMatcher;
+import org.sonar.java.matcher.MethodMatcherCollection;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 import org.sonar.plugins.java.api.tree.NewClassTree;
@@ -30,7 +31,7 @@ import java.util.List;
 
 public abstract class AbstractMethodDetection extends IssuableSubscriptionVisitor {
 
-  private List<MethodMatcher> matchers;
+  private MethodMatcherCollection matchers;
 
   @Override
   public List<Tree.Kind> nodesToVisit() {
@@ -40,21 +41,19 @@ public abstract class AbstractMethodDetection extends IssuableSubscriptionVisito
   @Override
   public void visitNode(Tree tree) {
     if (hasSemantic()) {
-      for (MethodMatcher invocationMatcher : matchers()) {
-        checkInvocation(tree, invocationMatcher);
-      }
+      checkInvocation(tree);
     }
   }
 
-  private void checkInvocation(Tree tree, MethodMatcher invocationMatcher) {
+  private void checkInvocation(Tree tree) {
     if (tree.is(Tree.Kind.METHOD_INVOCATION)) {
       MethodInvocationTree mit = (MethodInvocationTree) tree;
-      if (invocationMatcher.matches(mit)) {
+      if (matchers().anyMatch(mit)) {
         onMethodInvocationFound(mit);
       }
     } else if (tree.is(Tree.Kind.NEW_CLASS)) {
       NewClassTree newClassTree = (NewClassTree) tree;
-      if (invocationMatcher.matches(newClassTree)) {
+      if (matchers().anyMatch(newClassTree)) {
         onConstructorFound(newClassTree);
       }
     }
@@ -70,9 +69,9 @@ public abstract class AbstractMethodDetection extends IssuableSubscriptionVisito
     // Do nothing by default
   }
 
-  private List<MethodMatcher> matchers() {
+  private MethodMatcherCollection matchers() {
     if (matchers == null) {
-      matchers = getMethodInvocationMatchers();
+      matchers = MethodMatcherCollection.create().addAll(getMethodInvocationMatchers());
     }
     return matchers;
   }
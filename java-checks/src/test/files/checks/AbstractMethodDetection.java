@@ -18,3 +18,11 @@ class B{
     a.method2(1);
   }
 }
+
+class C {
+  C() {}
+  C(int a) {}
+  void bar() {
+    new C(1);
+  }
+}
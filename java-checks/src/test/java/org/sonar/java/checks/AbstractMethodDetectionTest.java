@@ -28,6 +28,7 @@ import org.sonar.java.matcher.MethodMatcher;
 import org.sonar.java.model.JavaTree;
 import org.sonar.java.model.VisitorsBridge;
 import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.NewClassTree;
 
 import java.io.File;
 import java.util.List;
@@ -71,9 +72,24 @@ public class AbstractMethodDetectionTest {
 
   }
 
+  @Test
+  public void overlapping_matchers_should_notify_once_per_invocation() throws Exception {
+    Visitor visitor = new Visitor(ImmutableList.of(
+      MethodMatcher.create().typeDefinition("A").name("method").withAnyParameters(),
+      MethodMatcher.create().typeDefinition("A").name("method").addParameter("int"),
+      MethodMatcher.create().typeDefinition("C").name("<init>").withAnyParameters(),
+      MethodMatcher.create().typeDefinition("C").name("<init>").addParameter("int")
+      ));
+    JavaAstScanner.scanSingleFileForTests(new File("src/test/files/checks/AbstractMethodDetection.java"), new VisitorsBridge(visitor));
+
+    assertThat(visitor.lines).containsExactly(14, 15, 16, 17);
+    assertThat(visitor.constructorLines).containsExactly(26);
+  }
+
   class Visitor extends AbstractMethodDetection {
 
     public List<Integer> lines = Lists.newArrayList();
+    public List<Integer> constructorLines = Lists.newArrayList();
     private List<MethodMatcher> methodInvocationMatchers;
 
     public Visitor(List<MethodMatcher> methodInvocationMatchers) {
@@ -90,6 +106,11 @@ public class AbstractMethodDetectionTest {
       lines.add(((JavaTree) tree).getLine());
     }
 
+    @Override
+    protected void onConstructorFound(NewClassTree newClassTree) {
+      constructorLines.add(((JavaTree) newClassTree).getLine());
+    }
+
   }
 
 }
@@ -0,0 +1,54 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.checks;
+
+import org.junit.Test;
+
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class QualifiedNameMatcherTest {
+
+  @Test
+  public void wildcards() {
+    QualifiedNameMatcher matcher = QualifiedNameMatcher.wildcards("java.util.Vector, **.web.**");
+    assertThat(matcher.test("java.util.Vector")).isTrue();
+    assertThat(matcher.test("org.foo.web.Controller")).isTrue();
+    assertThat(matcher.test("java.util.List")).isFalse();
+    // verdicts are remembered
+    assertThat(matcher.test("java.util.Vector")).isTrue();
+    assertThat(matcher.test("java.util.List")).isFalse();
+  }
+
+  @Test
+  public void no_wildcard_matches_nothing() {
+    assertThat(QualifiedNameMatcher.wildcards("").test("java.util.Vector")).isFalse();
+  }
+
+  @Test
+  public void regex() {
+    QualifiedNameMatcher matcher = QualifiedNameMatcher.regex(Pattern.compile("java\\.util\\..*"));
+    assertThat(matcher.test("java.util.Vector")).isTrue();
+    assertThat(matcher.test("java.lang.String")).isFalse();
+    assertThat(matcher.test("java.util.Vector")).isTrue();
+  }
+
+}
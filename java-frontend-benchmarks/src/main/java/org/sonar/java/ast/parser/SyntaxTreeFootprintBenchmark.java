@@ -0,0 +1,104 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.ast.parser;
+
+import com.google.common.base.Charsets;
+import com.sonar.sslr.api.typed.ActionParser;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jol.info.GraphLayout;
+import org.sonar.java.benchmarks.BenchmarkSources;
+import org.sonar.java.model.JavaTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Heap retained by the syntax trees, reported per file by the {@code bytesPerFile} and {@code objectsPerFile} counters.
+ * Trees are walked once by the checks after parsing, so that the lazily computed children and tokens are part of the footprint.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1, time = 1)
+@Measurement(iterations = 3, time = 1)
+public class SyntaxTreeFootprintBenchmark {
+
+  @Param({BenchmarkSources.CHECKS_TEST_FILES, BenchmarkSources.ITS_SOURCES})
+  public String corpus;
+
+  @Param("200")
+  public int maxFiles;
+
+  private List<String> sources;
+  private ActionParser<Tree> parser;
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Footprint {
+    public long bytesPerFile;
+    public long objectsPerFile;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      bytesPerFile = 0;
+      objectsPerFile = 0;
+    }
+  }
+
+  @Setup
+  public void setup() {
+    sources = BenchmarkSources.read(corpus, maxFiles);
+    parser = JavaParser.createParser(Charsets.UTF_8);
+  }
+
+  @Benchmark
+  public List<Tree> footprint(Footprint footprint) {
+    List<Tree> trees = sources.stream().map(parser::parse).collect(Collectors.toList());
+    trees.forEach(tree -> walk((JavaTree) tree));
+    GraphLayout layout = GraphLayout.parseInstance(trees.toArray());
+    footprint.bytesPerFile = layout.totalSize() / trees.size();
+    footprint.objectsPerFile = layout.totalCount() / trees.size();
+    return trees;
+  }
+
+  private static void walk(JavaTree tree) {
+    tree.firstToken();
+    tree.lastToken();
+    if (!tree.isLeaf()) {
+      tree.getChildren().forEach(child -> walk((JavaTree) child));
+    }
+  }
+
+}
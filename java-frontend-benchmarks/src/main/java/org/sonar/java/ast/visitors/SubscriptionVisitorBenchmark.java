@@ -0,0 +1,129 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.ast.visitors;
+
+import com.google.common.collect.ImmutableList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sonar.java.benchmarks.BenchmarkSources;
+import org.sonar.java.model.DefaultJavaFileScannerContext;
+import org.sonar.java.model.JavaVersionImpl;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.SyntaxToken;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Traversal of syntax trees by subscription visitors subscribing to the kinds of nodes typically visited by checks, each of them
+ * walking the tree or all of them dispatched by a single walk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class SubscriptionVisitorBenchmark {
+
+  @Param({BenchmarkSources.CHECKS_TEST_FILES, BenchmarkSources.ITS_SOURCES})
+  public String corpus;
+
+  @Param("200")
+  public int maxFiles;
+
+  private List<JavaFileScannerContext> contexts;
+  private List<CountingVisitor> visitors;
+  private SubscriptionVisitorsDispatcher dispatcher;
+
+  @Setup
+  public void setup() {
+    contexts = BenchmarkSources.parse(BenchmarkSources.read(corpus, maxFiles)).stream()
+      .map(tree -> new DefaultJavaFileScannerContext(tree, new File("Benchmark.java"), null, null, new JavaVersionImpl(), true))
+      .collect(Collectors.toList());
+    visitors = ImmutableList.of(
+      new CountingVisitor(Tree.Kind.METHOD_INVOCATION),
+      new CountingVisitor(Tree.Kind.IDENTIFIER),
+      new CountingVisitor(Tree.Kind.CLASS, Tree.Kind.INTERFACE, Tree.Kind.ENUM),
+      new CountingVisitor(Tree.Kind.METHOD, Tree.Kind.CONSTRUCTOR),
+      new CountingVisitor(Tree.Kind.VARIABLE),
+      new CountingVisitor(Tree.Kind.IF_STATEMENT, Tree.Kind.FOR_STATEMENT, Tree.Kind.WHILE_STATEMENT, Tree.Kind.DO_STATEMENT),
+      new CountingVisitor(Tree.Kind.STRING_LITERAL),
+      new CountingVisitor(Tree.Kind.NEW_CLASS, Tree.Kind.MEMBER_SELECT),
+      new CountingVisitor(Tree.Kind.BLOCK),
+      new CountingVisitor(Tree.Kind.TOKEN));
+    dispatcher = new SubscriptionVisitorsDispatcher(ImmutableList.copyOf(visitors));
+  }
+
+  @Benchmark
+  public int eachVisitor() {
+    for (JavaFileScannerContext context : contexts) {
+      for (CountingVisitor visitor : visitors) {
+        visitor.scanFile(context);
+      }
+    }
+    return visitors.get(0).count;
+  }
+
+  @Benchmark
+  public int dispatchedVisitors() {
+    for (JavaFileScannerContext context : contexts) {
+      dispatcher.scanFile(context);
+    }
+    return visitors.get(0).count;
+  }
+
+  private static class CountingVisitor extends SubscriptionVisitor {
+    private final List<Tree.Kind> kinds;
+    int count = 0;
+
+    CountingVisitor(Tree.Kind... kinds) {
+      this.kinds = ImmutableList.copyOf(kinds);
+    }
+
+    @Override
+    public List<Tree.Kind> nodesToVisit() {
+      return kinds;
+    }
+
+    @Override
+    public void visitNode(Tree tree) {
+      count++;
+    }
+
+    @Override
+    public void visitToken(SyntaxToken syntaxToken) {
+      count++;
+    }
+  }
+
+}
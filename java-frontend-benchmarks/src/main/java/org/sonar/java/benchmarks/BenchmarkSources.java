@@ -0,0 +1,148 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.benchmarks;
+
+import com.google.common.base.Charsets;
+import com.google.common.io.Files;
+import com.sonar.sslr.api.typed.ActionParser;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.java.resolve.SemanticModel;
+import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import javax.annotation.CheckForNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+/**
+ * Java files used as input of the benchmarks. Corpora are given relatively to the root of the project, so that benchmarks can be run
+ * from the root or from the benchmark module. Files which cannot be parsed, or whose semantic model cannot be created, are left out.
+ */
+public final class BenchmarkSources {
+
+  /**
+   * Test files of the checks, always available.
+   */
+  public static final String CHECKS_TEST_FILES = "java-checks/src/test/files";
+  /**
+   * Sources of the ruling, available once the its/sources submodule is checked out.
+   */
+  public static final String ITS_SOURCES = "its/sources";
+
+  private BenchmarkSources() {
+  }
+
+  /**
+   * @param corpus directory relative to the root of the project
+   * @param maxFiles maximum number of files, taken in alphabetical order of their path so that runs are comparable
+   */
+  public static List<String> read(String corpus, int maxFiles) {
+    File directory = new File(projectRoot(), corpus);
+    if (!directory.isDirectory()) {
+      throw new IllegalStateException("Benchmark sources not found: " + directory.getAbsolutePath()
+        + (corpus.startsWith(ITS_SOURCES) ? " (run 'git submodule update --init its/sources')" : ""));
+    }
+    ActionParser<Tree> parser = JavaParser.createParser(Charsets.UTF_8);
+    List<String> sources = new ArrayList<>();
+    for (File file : javaFiles(directory)) {
+      if (sources.size() == maxFiles) {
+        break;
+      }
+      String source = read(file);
+      if (createSemanticModel(parser, source) != null) {
+        sources.add(source);
+      }
+    }
+    return sources;
+  }
+
+  /**
+   * Parses the sources and creates their semantic model, with the JDK as only classpath.
+   */
+  public static List<CompilationUnitTree> parse(List<String> sources) {
+    ActionParser<Tree> parser = JavaParser.createParser(Charsets.UTF_8);
+    return sources.stream().map(source -> createSemanticModel(parser, source)).collect(Collectors.toList());
+  }
+
+  /**
+   * Methods and constructors having a body, in the order of the files.
+   */
+  public static List<MethodTree> methods(List<CompilationUnitTree> trees) {
+    List<MethodTree> methods = new ArrayList<>();
+    BaseTreeVisitor visitor = new BaseTreeVisitor() {
+      @Override
+      public void visitMethod(MethodTree tree) {
+        if (tree.block() != null) {
+          methods.add(tree);
+        }
+        super.visitMethod(tree);
+      }
+    };
+    trees.forEach(tree -> tree.accept(visitor));
+    return methods;
+  }
+
+  @CheckForNull
+  private static CompilationUnitTree createSemanticModel(ActionParser<Tree> parser, String source) {
+    try {
+      CompilationUnitTree tree = (CompilationUnitTree) parser.parse(source);
+      SemanticModel.createFor(tree, Collections.emptyList());
+      return tree;
+    } catch (Exception e) {
+      return null;
+    }
+  }
+
+  private static List<File> javaFiles(File directory) {
+    return StreamSupport.stream(Files.fileTreeTraverser().preOrderTraversal(directory).spliterator(), false)
+      .filter(file -> file.isFile() && file.getName().endsWith(".java"))
+      .sorted()
+      .collect(Collectors.toList());
+  }
+
+  private static String read(File file) {
+    try {
+      return Files.toString(file, Charsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static File projectRoot() {
+    File directory = new File("").getAbsoluteFile();
+    while (directory != null && !new File(directory, CHECKS_TEST_FILES).isDirectory()) {
+      directory = directory.getParentFile();
+    }
+    if (directory == null) {
+      throw new IllegalStateException("Benchmarks should be run from the sonar-java project");
+    }
+    return directory;
+  }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.resolve;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sonar.java.bytecode.loader.SquidClassLoader;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Completion of symbols of JDK classes from their bytecode, with a new completer for each invocation as for each analyzed file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class BytecodeCompleterBenchmark {
+
+  private static final String[] CLASSES = {
+    "java.lang.Object", "java.lang.String", "java.lang.StringBuilder", "java.lang.Integer", "java.lang.Math", "java.lang.Thread",
+    "java.lang.Class", "java.lang.System", "java.lang.Exception", "java.lang.IllegalArgumentException",
+    "java.util.ArrayList", "java.util.HashMap", "java.util.HashSet", "java.util.LinkedList", "java.util.TreeMap", "java.util.Collections",
+    "java.util.Arrays", "java.util.Optional", "java.util.concurrent.ConcurrentHashMap", "java.util.stream.Collectors",
+    "java.util.stream.Stream", "java.util.function.Function", "java.io.File", "java.io.InputStream", "java.io.BufferedReader",
+    "java.nio.file.Files", "java.nio.file.Path", "java.net.URL", "java.text.SimpleDateFormat", "java.util.regex.Pattern"
+  };
+
+  private SquidClassLoader classLoader;
+  private BytecodeCompleter bytecodeCompleter;
+
+  @Setup
+  public void setup() {
+    classLoader = new SquidClassLoader(Collections.emptyList());
+  }
+
+  @Setup(Level.Invocation)
+  public void createCompleter() {
+    bytecodeCompleter = new BytecodeCompleter(classLoader, new ParametrizedTypeCache());
+    new Symbols(bytecodeCompleter);
+  }
+
+  @TearDown
+  public void tearDown() {
+    classLoader.close();
+  }
+
+  @Benchmark
+  public void complete(Blackhole blackhole) {
+    for (String className : CLASSES) {
+      JavaSymbol.TypeJavaSymbol symbol = (JavaSymbol.TypeJavaSymbol) bytecodeCompleter.loadClass(className);
+      blackhole.consume(symbol.members());
+    }
+  }
+
+}
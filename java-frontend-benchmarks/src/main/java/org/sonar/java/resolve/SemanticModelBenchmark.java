@@ -0,0 +1,98 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.resolve;
+
+import com.google.common.base.Charsets;
+import com.sonar.sslr.api.typed.ActionParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.java.benchmarks.BenchmarkSources;
+import org.sonar.java.bytecode.loader.SquidClassLoader;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Creation of semantic models, with a class loader shared by all the files as during an analysis. Syntax trees are parsed again
+ * before each invocation, as the semantic model is attached to them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class SemanticModelBenchmark {
+
+  @Param({BenchmarkSources.CHECKS_TEST_FILES, BenchmarkSources.ITS_SOURCES})
+  public String corpus;
+
+  @Param("200")
+  public int maxFiles;
+
+  private List<String> sources;
+  private ActionParser<Tree> parser;
+  private SquidClassLoader classLoader;
+  private List<CompilationUnitTree> trees;
+
+  @Setup
+  public void setup() {
+    sources = BenchmarkSources.read(corpus, maxFiles);
+    parser = JavaParser.createParser(Charsets.UTF_8);
+    classLoader = new SquidClassLoader(Collections.emptyList());
+  }
+
+  @Setup(Level.Invocation)
+  public void parse() {
+    trees = sources.stream().map(source -> (CompilationUnitTree) parser.parse(source)).collect(Collectors.toList());
+  }
+
+  @TearDown
+  public void tearDown() {
+    classLoader.close();
+  }
+
+  @Benchmark
+  public void createFor(Blackhole blackhole) {
+    for (CompilationUnitTree tree : trees) {
+      SemanticModel semanticModel = SemanticModel.createFor(tree, classLoader);
+      blackhole.consume(semanticModel);
+      semanticModel.done();
+    }
+  }
+
+}
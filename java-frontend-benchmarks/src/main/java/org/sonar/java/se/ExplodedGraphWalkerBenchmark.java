@@ -0,0 +1,76 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.sonar.java.benchmarks.BenchmarkSources;
+import org.sonar.plugins.java.api.tree.MethodTree;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Symbolic execution of all the methods of the corpus with the default checks of the walker. Methods reaching the limits of the
+ * exploration are part of the measure, up to these limits. Allocations can be observed with the gc profiler (-prof gc).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+public class ExplodedGraphWalkerBenchmark {
+
+  @Param({BenchmarkSources.CHECKS_TEST_FILES, BenchmarkSources.ITS_SOURCES})
+  public String corpus;
+
+  @Param("100")
+  public int maxFiles;
+
+  private List<MethodTree> methods;
+
+  @Setup
+  public void setup() {
+    methods = BenchmarkSources.methods(BenchmarkSources.parse(BenchmarkSources.read(corpus, maxFiles)));
+  }
+
+  @Benchmark
+  public void visitMethod(Blackhole blackhole) {
+    for (MethodTree method : methods) {
+      try {
+        blackhole.consume(new ExplodedGraphWalker().visitMethod(method, new MethodBehavior(method.symbol())));
+      } catch (ExplodedGraphWalker.MaximumStepsReachedException | ExplodedGraphWalker.ExplodedGraphTooBigException e) {
+        blackhole.consume(e);
+      }
+    }
+  }
+
+}
@@ -20,14 +20,22 @@
 package org.sonar.java;
 
 import org.sonar.java.model.JavaVersionImpl;
+import org.sonar.java.se.SymbolicExecutionSettings;
 import org.sonar.plugins.java.api.JavaVersion;
 
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+
+import java.io.File;
 import java.nio.charset.Charset;
 
 public class JavaConfiguration {
 
   private final Charset charset;
   private JavaVersion javaVersion = new JavaVersionImpl();
+  private int analysisThreads = 1;
+  private File behaviorStoreFile;
+  private SymbolicExecutionSettings symbolicExecutionSettings = new SymbolicExecutionSettings();
 
   public JavaConfiguration(Charset charset) {
     this.charset = charset;
@@ -45,4 +53,35 @@ public class JavaConfiguration {
     this.javaVersion = javaVersion;
   }
 
+  /**
+   * Number of threads used to parse files and create their semantic model, files being visited by checks one at a time.
+   */
+  public int analysisThreads() {
+    return analysisThreads;
+  }
+
+  public void setAnalysisThreads(int analysisThreads) {
+    this.analysisThreads = analysisThreads;
+  }
+
+  /**
+   * File in which behaviors of methods computed by the symbolic execution are saved from one analysis to the next one, null to not save them.
+   */
+  @CheckForNull
+  public File behaviorStoreFile() {
+    return behaviorStoreFile;
+  }
+
+  public void setBehaviorStoreFile(@Nullable File behaviorStoreFile) {
+    this.behaviorStoreFile = behaviorStoreFile;
+  }
+
+  public SymbolicExecutionSettings symbolicExecutionSettings() {
+    return symbolicExecutionSettings;
+  }
+
+  public void setSymbolicExecutionSettings(SymbolicExecutionSettings symbolicExecutionSettings) {
+    this.symbolicExecutionSettings = symbolicExecutionSettings;
+  }
+
 }
@@ -28,8 +28,10 @@ import org.sonar.java.ast.JavaAstScanner;
 import org.sonar.java.ast.parser.JavaParser;
 import org.sonar.java.ast.visitors.FileLinesVisitor;
 import org.sonar.java.ast.visitors.SyntaxHighlighterVisitor;
+import org.sonar.java.bytecode.ClassBytesCache;
 import org.sonar.java.filters.CodeVisitorIssueFilter;
 import org.sonar.java.model.VisitorsBridge;
+import org.sonar.java.se.MethodBehaviorStore;
 import org.sonar.java.se.checks.SECheck;
 import org.sonar.plugins.java.api.JavaResourceLocator;
 import org.sonar.squidbridge.api.CodeVisitor;
@@ -47,6 +49,9 @@ public class JavaSquid {
 
   private final JavaAstScanner astScanner;
   private final JavaAstScanner astScannerForTests;
+  private final MethodBehaviorStore behaviorStore;
+  @Nullable
+  private final File behaviorStoreFile;
 
   public JavaSquid(JavaConfiguration conf,
                    @Nullable SonarComponents sonarComponents, @Nullable Measurer measurer,
@@ -82,12 +87,25 @@ public class JavaSquid {
 
     //AstScanner for main files
     astScanner = new JavaAstScanner(JavaParser.createParser(conf.getCharset()));
+    if (conf.analysisThreads() > 1) {
+      astScanner.setParallelism(conf.analysisThreads(), () -> JavaParser.createParser(conf.getCharset()));
+    }
     boolean enableSymbolicExecution = hasASymbolicExecutionCheck(visitors);
-    astScanner.setVisitorBridge(createVisitorBridge(codeVisitors, classpath, conf, sonarComponents, enableSymbolicExecution));
+    behaviorStoreFile = enableSymbolicExecution ? conf.behaviorStoreFile() : null;
+    behaviorStore = behaviorStoreFile == null ? new MethodBehaviorStore() : MethodBehaviorStore.load(behaviorStoreFile);
+    // library classes are read once for the main and the test files
+    ClassBytesCache classBytesCache = new ClassBytesCache();
+    VisitorsBridge visitorsBridge = createVisitorBridge(codeVisitors, classpath, conf, sonarComponents, enableSymbolicExecution);
+    visitorsBridge.setClassBytesCache(classBytesCache);
+    visitorsBridge.setBehaviorStore(behaviorStore);
+    visitorsBridge.setSymbolicExecutionSettings(conf.symbolicExecutionSettings());
+    astScanner.setVisitorBridge(visitorsBridge);
 
     //AstScanner for test files
     astScannerForTests = new JavaAstScanner(astScanner);
-    astScannerForTests.setVisitorBridge(createVisitorBridge(testCodeVisitors, testClasspath, conf, sonarComponents, false));
+    VisitorsBridge visitorsBridgeForTests = createVisitorBridge(testCodeVisitors, testClasspath, conf, sonarComponents, false);
+    visitorsBridgeForTests.setClassBytesCache(classBytesCache);
+    astScannerForTests.setVisitorBridge(visitorsBridgeForTests);
 
   }
 
@@ -112,6 +130,9 @@ public class JavaSquid {
   private void scanSources(Iterable<File> sourceFiles) {
     Profiler profiler = Profiler.create(LOG).startInfo("Java Main Files AST scan");
     astScanner.scan(sourceFiles);
+    if (behaviorStoreFile != null) {
+      behaviorStore.save(behaviorStoreFile);
+    }
     profiler.stopInfo();
   }
 
@@ -44,9 +44,12 @@ import org.sonarsource.api.sonarlint.SonarLintSide;
 
 import javax.annotation.Nullable;
 import java.io.File;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 @BatchSide
 @SonarLintSide
@@ -62,6 +65,9 @@ public class SonarComponents {
   private final List<Checks<JavaCheck>> checks;
   private final List<Checks<JavaCheck>> testChecks;
   private final List<Checks<JavaCheck>> allChecks;
+  private final Map<JavaCheck, RuleKey> ruleKeys = new IdentityHashMap<>();
+  // input file of the last file looked up, as all the measures and issues of a file are reported one after the other
+  private Map.Entry<File, InputFile> lastInputFile = new AbstractMap.SimpleImmutableEntry<>(null, null);
   private SensorContext context;
 
   public SonarComponents(FileLinesContextFactory fileLinesContextFactory, FileSystem fs,
@@ -98,7 +104,12 @@ public class SonarComponents {
   }
 
   public InputFile inputFromIOFile(File file) {
-    return fs.inputFile(fs.predicates().is(file));
+    Map.Entry<File, InputFile> last = lastInputFile;
+    if (!file.equals(last.getKey())) {
+      last = new AbstractMap.SimpleImmutableEntry<>(file, fs.inputFile(fs.predicates().is(file)));
+      lastInputFile = last;
+    }
+    return last.getValue();
   }
 
   public int fileLength(File file) {
@@ -173,6 +184,12 @@ public class SonarComponents {
   }
 
   public RuleKey getRuleKey(JavaCheck check) {
+    // rule keys are looked up once per check instance, and not for each of its issues
+    return ruleKeys.computeIfAbsent(check, this::findRuleKey);
+  }
+
+  @Nullable
+  private RuleKey findRuleKey(JavaCheck check) {
     for (Checks<JavaCheck> sonarChecks : checks()) {
       RuleKey ruleKey = sonarChecks.ruleKey(check);
       if (ruleKey != null) {
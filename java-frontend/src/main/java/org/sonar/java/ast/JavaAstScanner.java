@@ -22,6 +22,7 @@ package org.sonar.java.ast;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.sonar.sslr.api.RecognitionException;
 import com.sonar.sslr.api.typed.ActionParser;
 import org.sonar.api.utils.log.Logger;
@@ -37,24 +38,50 @@ import javax.annotation.Nullable;
 import java.io.File;
 import java.io.InterruptedIOException;
 import java.nio.charset.Charset;
+import java.util.ArrayDeque;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 public class JavaAstScanner {
   private static final Logger LOG = Loggers.get(JavaAstScanner.class);
 
   private final ActionParser<Tree> parser;
   private VisitorsBridge visitor;
+  private int parallelism = 1;
+  private Supplier<ActionParser<Tree>> parserFactory;
 
   public JavaAstScanner(ActionParser<Tree> parser) {
     this.parser = parser;
   }
 
   /**
-   * Takes parser and index from another instance of {@link JavaAstScanner}
+   * Takes parser, index and parallelism from another instance of {@link JavaAstScanner}
    */
   public JavaAstScanner(JavaAstScanner astScanner) {
     this.parser = astScanner.parser;
+    this.parallelism = astScanner.parallelism;
+    this.parserFactory = astScanner.parserFactory;
+  }
+
+  /**
+   * Parses files and creates their semantic model with several threads, each of them using its own parser.
+   * Files are still visited by checks one at a time and in the order they are provided, so that issues and measures
+   * are reported exactly as with a sequential scan.
+   *
+   * @param threads number of threads parsing files ahead of the visit, 1 to parse files sequentially
+   * @param parserFactory creates the parser of each thread
+   */
+  public void setParallelism(int threads, Supplier<ActionParser<Tree>> parserFactory) {
+    this.parallelism = threads;
+    this.parserFactory = parserFactory;
   }
 
   public void scan(Iterable<File> files) {
@@ -63,9 +90,13 @@ public class JavaAstScanner {
 
     boolean successfullyCompleted = false;
     try {
-      for (File file : files) {
-        simpleScan(file);
-        progressReport.nextFile();
+      if (parallelism > 1) {
+        parallelScan(files, progressReport);
+      } else {
+        for (File file : files) {
+          simpleScan(file);
+          progressReport.nextFile();
+        }
       }
       successfullyCompleted = true;
     } finally {
@@ -74,14 +105,76 @@ public class JavaAstScanner {
       } else {
         progressReport.cancel();
       }
+      visitor.endOfAnalysis();
+    }
+  }
+
+  private void parallelScan(Iterable<File> files, ProgressReport progressReport) {
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism, new ThreadFactoryBuilder().setNameFormat("java-ast-scanner-%d").setDaemon(true).build());
+    ThreadLocal<ActionParser<Tree>> parsers = ThreadLocal.withInitial(parserFactory);
+    // bounded number of files parsed ahead, so that syntax trees of the whole project are never held in memory
+    int maxPendingFiles = 2 * parallelism;
+    Deque<File> pendingFiles = new ArrayDeque<>(maxPendingFiles);
+    Deque<Future<ParsedFile>> pendingParsings = new ArrayDeque<>(maxPendingFiles);
+    Iterator<File> filesIterator = files.iterator();
+    try {
+      while (filesIterator.hasNext() || !pendingFiles.isEmpty()) {
+        while (filesIterator.hasNext() && pendingFiles.size() < maxPendingFiles) {
+          File file = filesIterator.next();
+          pendingFiles.add(file);
+          pendingParsings.add(executor.submit(() -> parse(parsers.get(), file)));
+        }
+        Future<ParsedFile> parsing = pendingParsings.poll();
+        scanFile(pendingFiles.poll(), () -> awaitParsing(parsing));
+        progressReport.nextFile();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static ParsedFile awaitParsing(Future<ParsedFile> parsedFile) throws InterruptedException {
+    try {
+      return parsedFile.get();
+    } catch (ExecutionException e) {
+      // exceptions are kept in the parsed file, only errors are left
+      throw (Error) e.getCause();
     }
   }
 
   private void simpleScan(File file) {
+    scanFile(file, () -> parse(parser, file));
+  }
+
+  private ParsedFile parse(ActionParser<Tree> fileParser, File file) {
+    try {
+      // the content is read once, for the parser and for the checks working on the lines of the file
+      String content = visitor.readFileContent(file);
+      Tree ast = parse(fileParser, file, content);
+      return new ParsedFile(content, ast, visitor.createSemanticModel(file, ast), null);
+    } catch (Exception e) {
+      return new ParsedFile(null, null, null, e);
+    }
+  }
+
+  private static Tree parse(ActionParser<Tree> fileParser, File file, String content) {
+    try {
+      return fileParser.parse(content);
+    } catch (RecognitionException e) {
+      // parsed from a string, the error does not tell which file failed
+      throw new RecognitionException(e.getLine(), "Parse error in file " + file.getAbsolutePath() + ": " + e.getMessage(), e);
+    }
+  }
+
+  private void scanFile(File file, Callable<ParsedFile> parsing) {
     visitor.setCurrentFile(file);
     try {
-      Tree ast = parser.parse(file);
-      visitor.visitFile(ast);
+      ParsedFile parsedFile = parsing.call();
+      if (parsedFile.failure != null) {
+        throw parsedFile.failure;
+      }
+      visitor.setCurrentFileContent(parsedFile.content);
+      visitor.visitFile(parsedFile.ast, parsedFile.semanticModelResult);
     } catch (RecognitionException e) {
       checkInterrupted(e);
       LOG.error("Unable to parse source file : " + file.getAbsolutePath());
@@ -146,4 +239,25 @@ public class JavaAstScanner {
     return astScanner;
   }
 
+  /**
+   * Result of the parsing of a file, which can be computed by another thread than the one visiting the file.
+   */
+  private static class ParsedFile {
+    @Nullable
+    private final String content;
+    @Nullable
+    private final Tree ast;
+    @Nullable
+    private final VisitorsBridge.SemanticModelResult semanticModelResult;
+    @Nullable
+    private final Exception failure;
+
+    ParsedFile(@Nullable String content, @Nullable Tree ast, @Nullable VisitorsBridge.SemanticModelResult semanticModelResult, @Nullable Exception failure) {
+      this.content = content;
+      this.ast = ast;
+      this.semanticModelResult = semanticModelResult;
+      this.failure = failure;
+    }
+  }
+
 }
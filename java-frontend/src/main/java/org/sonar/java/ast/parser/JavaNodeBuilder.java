@@ -19,6 +19,7 @@
  */
 package org.sonar.java.ast.parser;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.sonar.sslr.api.GenericTokenType;
 import com.sonar.sslr.api.Rule;
@@ -27,16 +28,46 @@ import com.sonar.sslr.api.TokenType;
 import com.sonar.sslr.api.Trivia;
 import com.sonar.sslr.api.typed.Input;
 import com.sonar.sslr.api.typed.NodeBuilder;
+import org.sonar.java.ast.api.JavaKeyword;
+import org.sonar.java.ast.api.JavaPunctuator;
 import org.sonar.java.model.InternalSyntaxSpacing;
 import org.sonar.java.model.InternalSyntaxToken;
 import org.sonar.java.model.InternalSyntaxTrivia;
 import org.sonar.plugins.java.api.tree.SyntaxTrivia;
 import org.sonar.sslr.grammar.GrammarRuleKey;
 
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class JavaNodeBuilder implements NodeBuilder {
 
+  private static final Map<String, String> KEYWORDS_AND_PUNCTUATORS = keywordsAndPunctuators();
+
+  /**
+   * Texts of the tokens of the file being parsed, so that tokens having the same text share the same string.
+   */
+  private final Map<String, String> tokenTexts = new HashMap<>();
+
+  private static Map<String, String> keywordsAndPunctuators() {
+    Map<String, String> result = new HashMap<>();
+    for (JavaKeyword keyword : JavaKeyword.values()) {
+      result.put(keyword.getValue(), keyword.getValue());
+    }
+    for (JavaPunctuator punctuator : JavaPunctuator.values()) {
+      result.put(punctuator.getValue(), punctuator.getValue());
+    }
+    return ImmutableMap.copyOf(result);
+  }
+
+  /**
+   * Forgets the texts of the tokens of the last parsed file, which are only shared within a file.
+   */
+  void endOfFile() {
+    tokenTexts.clear();
+  }
+
   @Override
   public Object createNonTerminal(GrammarRuleKey ruleKey, Rule rule, List<Object> children, int startIndex, int endIndex) {
     for (Object child : children) {
@@ -58,6 +89,10 @@ public class JavaNodeBuilder implements NodeBuilder {
   }
 
   private static List<SyntaxTrivia> createTrivias(List<Trivia> trivias) {
+    if (trivias.isEmpty()) {
+      // most of the tokens have no trivia
+      return Collections.emptyList();
+    }
     List<SyntaxTrivia> result = Lists.newArrayList();
     for (Trivia trivia : trivias) {
       Token trivialToken = trivia.getToken();
@@ -66,12 +101,21 @@ public class JavaNodeBuilder implements NodeBuilder {
     return result;
   }
 
-  private static LineColumnValue tokenPosition(Input input, int startIndex, int endIndex) {
+  private LineColumnValue tokenPosition(Input input, int startIndex, int endIndex) {
     int[] lineAndColumn = input.lineAndColumnAt(startIndex);
-    String value = input.substring(startIndex, endIndex);
+    String value = tokenText(input.substring(startIndex, endIndex));
     return new LineColumnValue(lineAndColumn[0], lineAndColumn[1] - 1, value);
   }
 
+  private String tokenText(String text) {
+    String keywordOrPunctuator = KEYWORDS_AND_PUNCTUATORS.get(text);
+    if (keywordOrPunctuator != null) {
+      return keywordOrPunctuator;
+    }
+    String sharedText = tokenTexts.putIfAbsent(text, text);
+    return sharedText == null ? text : sharedText;
+  }
+
   private static class LineColumnValue {
     final int line;
     final int column;
@@ -29,9 +29,12 @@ import java.nio.charset.Charset;
 
 public class JavaParser extends ActionParser<Tree> {
 
+  private final JavaNodeBuilder javaNodeBuilder;
+
   private JavaParser(Charset charset, LexerlessGrammarBuilder grammarBuilder, Class<JavaGrammar> javaGrammarClass,
     TreeFactory treeFactory, JavaNodeBuilder javaNodeBuilder, JavaLexer compilationUnit) {
     super(charset, grammarBuilder, javaGrammarClass, treeFactory, javaNodeBuilder, compilationUnit);
+    this.javaNodeBuilder = javaNodeBuilder;
   }
 
   public static ActionParser<Tree> createParser(Charset charset) {
@@ -46,12 +49,20 @@ public class JavaParser extends ActionParser<Tree> {
 
   @Override
   public Tree parse(File file) {
-    return createParentLink((JavaTree) super.parse(file));
+    try {
+      return createParentLink((JavaTree) super.parse(file));
+    } finally {
+      javaNodeBuilder.endOfFile();
+    }
   }
 
   @Override
   public Tree parse(String source) {
-    return createParentLink((JavaTree) super.parse(source));
+    try {
+      return createParentLink((JavaTree) super.parse(source));
+    } finally {
+      javaNodeBuilder.endOfFile();
+    }
   }
 
   private static Tree createParentLink(JavaTree parent) {
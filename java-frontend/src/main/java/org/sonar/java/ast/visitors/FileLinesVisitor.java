@@ -25,6 +25,7 @@ import org.sonar.api.measures.CoreMetrics;
 import org.sonar.api.measures.FileLinesContext;
 import org.sonar.java.SonarComponents;
 import org.sonar.java.cfg.CFG;
+import org.sonar.java.model.DefaultJavaFileScannerContext;
 import org.sonar.java.model.ModifiersUtils;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.BlockTree;
@@ -132,7 +133,7 @@ public class FileLinesVisitor extends SubscriptionVisitor {
         break;
       case METHOD:
       case CONSTRUCTOR:
-        trees = visitMethod((MethodTree) tree);
+        visitMethod((MethodTree) tree);
         break;
       case FOR_STATEMENT:
       case FOR_EACH_STATEMENT:
@@ -166,7 +167,7 @@ public class FileLinesVisitor extends SubscriptionVisitor {
     return Lists.newArrayList(body);
   }
 
-  private List<? extends Tree> visitMethod(MethodTree tree) {
+  private void visitMethod(MethodTree tree) {
     BlockTree methodBody = tree.block();
     if(methodBody != null) {
       // get the last
@@ -174,17 +175,22 @@ public class FileLinesVisitor extends SubscriptionVisitor {
       if(returnType == null || "void".equals(returnType.firstToken().text())) {
         executableLines.add(methodBody.closeBraceToken().line());
       }
-      return methodBody.body();
+      if (!methodBody.body().isEmpty()) {
+        // the cfg of the method is shared with the checks of the file
+        computeExecutableLines(DefaultJavaFileScannerContext.cfgFor(context, tree));
+      }
     }
-    return Collections.emptyList();
   }
 
   private void computeExecutableLines(List<? extends Tree> trees) {
     if(trees.isEmpty()) {
       return;
     }
+    computeExecutableLines(CFG.buildCFG(trees));
+  }
+
+  private void computeExecutableLines(CFG cfg) {
     // rely on cfg to get every instructions and get most of the token.
-    CFG cfg = CFG.buildCFG(trees);
     cfg.blocks()
       .stream()
       .flatMap(b->b.elements().stream())
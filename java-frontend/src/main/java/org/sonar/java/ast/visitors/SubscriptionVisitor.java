@@ -59,12 +59,16 @@ public abstract class SubscriptionVisitor implements JavaFileScanner {
 
   @Override
   public void scanFile(JavaFileScannerContext context) {
+    setContext(context);
+    scanTree(context.getTree());
+  }
+
+  void setContext(JavaFileScannerContext context) {
     this.context = context;
     semanticModel = (SemanticModel) context.getSemanticModel();
-    scanTree(context.getTree());
   }
 
-  protected void scanTree(Tree tree) {
+  EnumSet<Tree.Kind> subscribedKinds() {
     if(nodesToVisit == null) {
       List<Tree.Kind> kinds = nodesToVisit();
       if(kinds.isEmpty()) {
@@ -73,6 +77,11 @@ public abstract class SubscriptionVisitor implements JavaFileScanner {
         nodesToVisit = EnumSet.copyOf(kinds);
       }
     }
+    return nodesToVisit;
+  }
+
+  protected void scanTree(Tree tree) {
+    subscribedKinds();
     visitToken = isVisitingTokens();
     visitTrivia = isVisitingTrivia();
     visit(tree);
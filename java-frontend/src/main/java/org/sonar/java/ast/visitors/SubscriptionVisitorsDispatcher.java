@@ -0,0 +1,141 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.ast.visitors;
+
+import org.sonar.java.model.JavaTree;
+import org.sonar.plugins.java.api.JavaFileScanner;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.SyntaxToken;
+import org.sonar.plugins.java.api.tree.SyntaxTrivia;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Walks the syntax tree of a file once on behalf of several {@link SubscriptionVisitor}, notifying each node only to the visitors
+ * subscribed to its kind. Each visitor receives the same callbacks, in the same order, as when scanning the file on its own.
+ */
+public class SubscriptionVisitorsDispatcher implements JavaFileScanner {
+
+  private final List<SubscriptionVisitor> visitors;
+  private Map<Tree.Kind, List<SubscriptionVisitor>> subscribers;
+  private final List<SubscriptionVisitor> tokenVisitors = new ArrayList<>();
+  private final List<SubscriptionVisitor> triviaVisitors = new ArrayList<>();
+
+  public SubscriptionVisitorsDispatcher(List<SubscriptionVisitor> visitors) {
+    this.visitors = visitors;
+  }
+
+  private void computeSubscriptions() {
+    // like SubscriptionVisitor, kinds of nodes are only requested when the first file is scanned
+    subscribers = new EnumMap<>(Tree.Kind.class);
+    for (SubscriptionVisitor visitor : visitors) {
+      for (Tree.Kind kind : visitor.subscribedKinds()) {
+        if (kind == Tree.Kind.TOKEN) {
+          tokenVisitors.add(visitor);
+        } else if (kind == Tree.Kind.TRIVIA) {
+          triviaVisitors.add(visitor);
+        } else {
+          subscribers.computeIfAbsent(kind, k -> new ArrayList<>()).add(visitor);
+        }
+      }
+    }
+  }
+
+  /**
+   * Only visitors relying on the default scan of the whole file can share the tree walk: visitors overriding {@link SubscriptionVisitor#scanFile}
+   * or {@link SubscriptionVisitor#scanTree} may skip files or do some work around the scan.
+   */
+  public static boolean canDispatch(JavaFileScanner scanner) {
+    if (!(scanner instanceof SubscriptionVisitor)) {
+      return false;
+    }
+    try {
+      Class<?> scannerClass = scanner.getClass();
+      return scannerClass.getMethod("scanFile", JavaFileScannerContext.class).getDeclaringClass() == SubscriptionVisitor.class
+        && declaringClassOfScanTree(scannerClass) == SubscriptionVisitor.class;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  private static Class<?> declaringClassOfScanTree(Class<?> scannerClass) {
+    for (Class<?> clazz = scannerClass; clazz != null; clazz = clazz.getSuperclass()) {
+      try {
+        clazz.getDeclaredMethod("scanTree", Tree.class);
+        return clazz;
+      } catch (NoSuchMethodException e) {
+        // look up in super class
+      }
+    }
+    return null;
+  }
+
+  @Override
+  public void scanFile(JavaFileScannerContext context) {
+    if (subscribers == null) {
+      computeSubscriptions();
+    }
+    for (SubscriptionVisitor visitor : visitors) {
+      visitor.setContext(context);
+    }
+    visit(context.getTree());
+  }
+
+  private void visit(Tree tree) {
+    if (tree.is(Tree.Kind.TOKEN)) {
+      visitToken((SyntaxToken) tree);
+      return;
+    }
+    List<SubscriptionVisitor> nodeSubscribers = subscribers.getOrDefault(tree.kind(), Collections.emptyList());
+    for (SubscriptionVisitor visitor : nodeSubscribers) {
+      visitor.visitNode(tree);
+    }
+    JavaTree javaTree = (JavaTree) tree;
+    if (!javaTree.isLeaf()) {
+      for (Tree next : javaTree.getChildren()) {
+        if (next != null) {
+          visit(next);
+        }
+      }
+    }
+    for (SubscriptionVisitor visitor : nodeSubscribers) {
+      visitor.leaveNode(tree);
+    }
+  }
+
+  private void visitToken(SyntaxToken syntaxToken) {
+    for (SubscriptionVisitor visitor : tokenVisitors) {
+      visitor.visitToken(syntaxToken);
+    }
+    if (!triviaVisitors.isEmpty()) {
+      for (SyntaxTrivia syntaxTrivia : syntaxToken.trivias()) {
+        for (SubscriptionVisitor visitor : triviaVisitors) {
+          visitor.visitTrivia(syntaxTrivia);
+        }
+      }
+    }
+  }
+
+}
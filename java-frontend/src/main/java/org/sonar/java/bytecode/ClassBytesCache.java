@@ -0,0 +1,64 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.bytecode;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.io.ByteStreams;
+
+import javax.annotation.CheckForNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bytecode of the classes read during an analysis, shared by the semantic models of all the files of the main and test scans,
+ * so that a library class is read from the classpath once per analysis instead of once per file using it.
+ * Classes are keyed by their location rather than by their name: classpaths providing different versions of a class do not share them.
+ */
+public class ClassBytesCache {
+
+  private final Map<String, byte[]> bytesByLocation = new ConcurrentHashMap<>();
+
+  /**
+   * @param resourceName name of the class file, such as {@code java/lang/String.class}
+   * @return the content of the class file found by the class loader, null if the class loader does not find it
+   */
+  @CheckForNull
+  public byte[] classBytes(ClassLoader classLoader, String resourceName) {
+    URL url = classLoader.getResource(resourceName);
+    if (url == null) {
+      return null;
+    }
+    return bytesByLocation.computeIfAbsent(url.toString(), location -> read(url));
+  }
+
+  @VisibleForTesting
+  byte[] read(URL url) {
+    try (InputStream inputStream = url.openStream()) {
+      return ByteStreams.toByteArray(inputStream);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to read " + url, e);
+    }
+  }
+
+}
@@ -37,7 +37,18 @@ public final class ClassLoaderBuilder {
     // only static methods
   }
 
-  public static ClassLoader create(Collection<File> bytecodeFilesOrDirectories) {
+  public static SquidClassLoader create(Collection<File> bytecodeFilesOrDirectories) {
+    return create(bytecodeFilesOrDirectories, false);
+  }
+
+  /**
+   * Creates a class loader indexing all resources of the classpath, to be kept open for the whole analysis.
+   */
+  public static SquidClassLoader createIndexed(Collection<File> bytecodeFilesOrDirectories) {
+    return create(bytecodeFilesOrDirectories, true);
+  }
+
+  private static SquidClassLoader create(Collection<File> bytecodeFilesOrDirectories, boolean indexResources) {
     List<File> files = Lists.newArrayList();
     for (File file : bytecodeFilesOrDirectories) {
       if (file.isFile() && file.getPath().endsWith(".class")) {
@@ -56,7 +67,7 @@ public final class ClassLoaderBuilder {
     }
 
     try {
-      return new SquidClassLoader(files);
+      return new SquidClassLoader(files, indexResources);
     } catch (Exception e) {
       throw new IllegalStateException("Can not create ClassLoader", e);
     }
@@ -65,7 +76,7 @@ public final class ClassLoaderBuilder {
   /**
    * For tests.
    */
-  public static ClassLoader create(File bytecodeFileOrDirectory) {
+  public static SquidClassLoader create(File bytecodeFileOrDirectory) {
     return create(Arrays.asList(bytecodeFileOrDirectory));
   }
 
@@ -23,10 +23,13 @@ import javax.annotation.Nullable;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 class FileSystemLoader implements Loader {
 
@@ -72,6 +75,22 @@ class FileSystemLoader implements Loader {
     }
   }
 
+  @Override
+  public void forEachResourceName(Consumer<String> consumer) {
+    if (baseDirPath == null) {
+      throw new IllegalStateException("Loader closed");
+    }
+    Path root = baseDirPath;
+    try (Stream<Path> files = Files.walk(root)) {
+      files
+        .filter(Files::isRegularFile)
+        .map(file -> root.relativize(file).toString().replace(File.separatorChar, '/'))
+        .forEach(consumer);
+    } catch (IOException | UncheckedIOException e) {
+      throw new IllegalStateException("Unable to list content of " + root, e);
+    }
+  }
+
   @Override
   public void close() {
     baseDirPath = null;
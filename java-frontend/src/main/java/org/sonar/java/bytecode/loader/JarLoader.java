@@ -29,6 +29,9 @@ import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLStreamHandler;
+import java.util.Enumeration;
+import java.util.function.Consumer;
+import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.zip.ZipEntry;
 
@@ -89,6 +92,17 @@ class JarLoader implements Loader {
     }
   }
 
+  @Override
+  public void forEachResourceName(Consumer<String> consumer) {
+    Enumeration<JarEntry> entries = jarFile.entries();
+    while (entries.hasMoreElements()) {
+      JarEntry entry = entries.nextElement();
+      if (!entry.isDirectory()) {
+        consumer.accept(entry.getName());
+      }
+    }
+  }
+
   @Override
   public void close() {
     try {
@@ -20,6 +20,7 @@
 package org.sonar.java.bytecode.loader;
 
 import java.net.URL;
+import java.util.function.Consumer;
 
 /**
  * Specifies resource loading behavior.
@@ -46,6 +47,14 @@ interface Loader {
    */
   byte[] loadBytes(String name);
 
+  /**
+   * Lists the names of all the resources which can be found by this loader.
+   *
+   * @param consumer called once for each resource name
+   * @throws IllegalStateException if loader has been closed or if its content can not be listed
+   */
+  void forEachResourceName(Consumer<String> consumer);
+
   /**
    * Closes this loader, so that it can no longer be used to load new resources.
    * If loader is already closed, then invoking this method has no effect.
@@ -21,26 +21,57 @@ package org.sonar.java.bytecode.loader;
 
 import com.google.common.collect.Iterators;
 import org.apache.commons.lang.ArrayUtils;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+
+import javax.annotation.Nullable;
 
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Class loader, which is able to load classes from a list of JAR files and directories.
  */
 public class SquidClassLoader extends ClassLoader implements Closeable {
 
+  private static final Logger LOG = Loggers.get(SquidClassLoader.class);
+
   private final List<Loader> loaders;
 
+  /**
+   * Name of every resource to the first loader able to find it, or null when resources are not indexed.
+   */
+  @Nullable
+  private final Map<String, Loader> index;
+
+  /**
+   * Names of resources known to be missing from the JDK and from the classpath, only recorded when resources are indexed.
+   */
+  private final Set<String> missingResources = ConcurrentHashMap.newKeySet();
+
   /**
    * @param files ordered list of files and directories from which to load classes and resources
    */
   public SquidClassLoader(List<File> files) {
+    this(files, false);
+  }
+
+  /**
+   * @param files ordered list of files and directories from which to load classes and resources
+   * @param indexResources if true, content of all files and directories is listed once at creation, so that a resource is then
+   *                       found with a single lookup instead of querying every loader. Meant for class loaders used for a whole analysis.
+   */
+  public SquidClassLoader(List<File> files, boolean indexResources) {
     super(null);
     loaders = new ArrayList<>();
     for (File file : files) {
@@ -54,12 +85,38 @@ public class SquidClassLoader extends ClassLoader implements Closeable {
         }
       }
     }
+    index = indexResources ? createIndex(loaders) : null;
+  }
+
+  @Nullable
+  private static Map<String, Loader> createIndex(List<Loader> loaders) {
+    Map<String, Loader> result = new HashMap<>();
+    try {
+      for (Loader loader : loaders) {
+        loader.forEachResourceName(name -> result.putIfAbsent(name, loader));
+      }
+    } catch (IllegalStateException e) {
+      LOG.debug("Unable to index classpath, resources will be looked up in every classpath entry", e);
+      return null;
+    }
+    return result;
+  }
+
+  /**
+   * Loaders which may provide the resource, in classpath order.
+   */
+  private List<Loader> loadersFor(String resourceName) {
+    if (index == null) {
+      return loaders;
+    }
+    Loader loader = index.get(resourceName);
+    return loader == null ? Collections.emptyList() : Collections.singletonList(loader);
   }
 
   @Override
   protected Class findClass(String name) throws ClassNotFoundException {
     String resourceName = name.replace('.', '/') + ".class";
-    for (Loader loader : loaders) {
+    for (Loader loader : loadersFor(resourceName)) {
       byte[] classBytes = loader.loadBytes(resourceName);
       if (ArrayUtils.isNotEmpty(classBytes)) {
         // TODO Godin: definePackage ?
@@ -69,9 +126,28 @@ public class SquidClassLoader extends ClassLoader implements Closeable {
     throw new ClassNotFoundException(name);
   }
 
+  /**
+   * When resources are indexed, misses are memoized: classes are looked up for every on-demand import of a file,
+   * and the lookup in the JDK can not be answered by the index.
+   */
+  @Override
+  public URL getResource(String name) {
+    if (index == null) {
+      return super.getResource(name);
+    }
+    if (missingResources.contains(name)) {
+      return null;
+    }
+    URL url = super.getResource(name);
+    if (url == null) {
+      missingResources.add(name);
+    }
+    return url;
+  }
+
   @Override
   public URL findResource(String name) {
-    for (Loader loader : loaders) {
+    for (Loader loader : loadersFor(name)) {
       URL url = loader.findResource(name);
       if (url != null) {
         return url;
@@ -83,6 +159,9 @@ public class SquidClassLoader extends ClassLoader implements Closeable {
   @Override
   protected Enumeration<URL> findResources(String name) throws IOException {
     List<URL> result = new ArrayList<>();
+    if (index != null && !index.containsKey(name)) {
+      return Collections.emptyEnumeration();
+    }
     for (Loader loader : loaders) {
       URL url = loader.findResource(name);
       if (url != null) {
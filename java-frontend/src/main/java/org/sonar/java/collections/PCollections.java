@@ -32,4 +32,8 @@ public final class PCollections {
     return AVLTree.create();
   }
 
+  public static <E> PStack<E> emptyStack() {
+    return SinglyLinkedList.create();
+  }
+
 }
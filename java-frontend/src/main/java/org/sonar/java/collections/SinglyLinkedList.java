@@ -0,0 +1,114 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.collections;
+
+import com.google.common.base.Preconditions;
+
+import javax.annotation.Nullable;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Singly linked list, where a stack shares all its elements but the top one with the stack it has been pushed onto.
+ *
+ * https://en.wikipedia.org/wiki/Linked_list#Singly_linked_list
+ */
+final class SinglyLinkedList<E> implements PStack<E> {
+
+  @SuppressWarnings("rawtypes")
+  private static final SinglyLinkedList EMPTY = new SinglyLinkedList<>(null, null);
+
+  @Nullable
+  private final E element;
+  @Nullable
+  private final SinglyLinkedList<E> next;
+  private final int size;
+
+  private SinglyLinkedList(@Nullable E element, @Nullable SinglyLinkedList<E> next) {
+    this.element = element;
+    this.next = next;
+    this.size = next == null ? 0 : (next.size + 1);
+  }
+
+  /**
+   * @return empty stack
+   */
+  @SuppressWarnings("unchecked")
+  static <E> SinglyLinkedList<E> create() {
+    return EMPTY;
+  }
+
+  @Override
+  public SinglyLinkedList<E> push(E e) {
+    return new SinglyLinkedList<>(e, this);
+  }
+
+  @Override
+  public E peek() {
+    Preconditions.checkState(!isEmpty(), "Stack is empty");
+    return element;
+  }
+
+  @Override
+  public SinglyLinkedList<E> pop() {
+    Preconditions.checkState(!isEmpty(), "Stack is empty");
+    return next;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return next == null;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public void forEach(Consumer<E> action) {
+    for (SinglyLinkedList<E> list = this; !list.isEmpty(); list = list.next) {
+      action.accept(list.element);
+    }
+  }
+
+  @Override
+  public boolean anyMatch(Predicate<E> predicate) {
+    for (SinglyLinkedList<E> list = this; !list.isEmpty(); list = list.next) {
+      if (predicate.test(list.element)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder("[");
+    for (SinglyLinkedList<E> list = this; !list.isEmpty(); list = list.next) {
+      sb.append(list.element);
+      if (!list.next.isEmpty()) {
+        sb.append(", ");
+      }
+    }
+    return sb.append(']').toString();
+  }
+
+}
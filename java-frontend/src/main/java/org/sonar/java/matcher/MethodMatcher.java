@@ -37,9 +37,14 @@ import javax.annotation.Nullable;
 
 public class MethodMatcher {
 
+  static final int ANY_ARITY = -1;
+
   private TypeCriteria typeDefinition;
   private TypeCriteria callSite;
   private NameCriteria methodName;
+  @Nullable
+  private String exactName;
+  private int arity = ANY_ARITY;
 
   private ParametersCriteria parameters;
   private List<TypeCriteria> parameterTypes;
@@ -51,6 +56,7 @@ public class MethodMatcher {
   public MethodMatcher name(String methodName) {
     Preconditions.checkState(this.methodName == null);
     this.methodName = NameCriteria.is(methodName);
+    this.exactName = methodName;
     return this;
   }
 
@@ -89,6 +95,7 @@ public class MethodMatcher {
       Preconditions.checkState(parameterTypes != null, "parameters is already initialized and doesn't support addParameter.");
     }
     parameterTypes.add(parameterTypeCriteria);
+    arity = parameterTypes.size();
     return this;
   }
 
@@ -121,9 +128,25 @@ public class MethodMatcher {
   public MethodMatcher withoutParameter() {
     Preconditions.checkState(parameters == null);
     parameters = ParametersCriteria.none();
+    arity = 0;
     return this;
   }
 
+  /**
+   * @return the name of the matched methods, or null when they are matched with another criteria than their exact name
+   */
+  @Nullable
+  String exactName() {
+    return exactName;
+  }
+
+  /**
+   * @return the number of parameters of the matched methods, or {@link #ANY_ARITY} when they can have any number of parameters
+   */
+  int arity() {
+    return arity;
+  }
+
   public boolean matches(NewClassTree newClassTree) {
     return matches(newClassTree.constructorSymbol(), null);
   }
@@ -175,7 +198,7 @@ public class MethodMatcher {
     return parameters.test(methodSymbol.parameterTypes());
   }
 
-  private static IdentifierTree getIdentifier(MethodInvocationTree mit) {
+  static IdentifierTree getIdentifier(MethodInvocationTree mit) {
     // methodSelect can only be Tree.Kind.IDENTIFIER or Tree.Kind.MEMBER_SELECT
     if (mit.methodSelect().is(Tree.Kind.IDENTIFIER)) {
       return (IdentifierTree) mit.methodSelect();
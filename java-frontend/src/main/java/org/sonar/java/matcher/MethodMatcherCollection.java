@@ -19,18 +19,30 @@
  */
 package org.sonar.java.matcher;
 
-import com.google.common.collect.Lists;
+import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.NewClassTree;
 
+import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
+/**
+ * Matchers are indexed by the exact name of the methods they match, and then by their number of parameters, so that for most of the
+ * methods none of the matchers has to be evaluated. Matchers using another name criteria are evaluated on every method.
+ */
 public class MethodMatcherCollection {
 
-  private List<MethodMatcher> matchers = Lists.newLinkedList();
+  private final List<MethodMatcher> matchers = new ArrayList<>();
+  @Nullable
+  private volatile Index index;
 
   private MethodMatcherCollection() {
   }
@@ -43,38 +55,81 @@ public class MethodMatcherCollection {
 
   public MethodMatcherCollection add(MethodMatcher matcher) {
     this.matchers.add(matcher);
+    index = null;
     return this;
   }
 
   public MethodMatcherCollection addAll(Collection<MethodMatcher> matchers) {
     this.matchers.addAll(matchers);
+    index = null;
     return this;
   }
 
   public boolean anyMatch(MethodInvocationTree mit) {
-    for (MethodMatcher matcher : matchers) {
-      if (matcher.matches(mit)) {
-        return true;
-      }
-    }
-    return false;
+    return anyMatch(() -> MethodMatcher.getIdentifier(mit).symbol(), matcher -> matcher.matches(mit));
   }
 
   public boolean anyMatch(final MethodTree method) {
-    for (MethodMatcher matcher : matchers) {
-      if (matcher.matches(method)) {
-        return true;
+    return anyMatch(method::symbol, matcher -> matcher.matches(method));
+  }
+
+  public boolean anyMatch(NewClassTree newClassTree) {
+    return anyMatch(newClassTree::constructorSymbol, matcher -> matcher.matches(newClassTree));
+  }
+
+  private boolean anyMatch(Supplier<Symbol> symbolSupplier, Predicate<MethodMatcher> matches) {
+    Index currentIndex = index();
+    if (anyMatch(currentIndex.matchersWithoutExactName, matches)) {
+      return true;
+    }
+    if (currentIndex.matchersByNameAndArity.isEmpty()) {
+      return false;
+    }
+    Symbol symbol = symbolSupplier.get();
+    if (!symbol.isMethodSymbol()) {
+      return false;
+    }
+    Map<Integer, List<MethodMatcher>> matchersByArity = currentIndex.matchersByNameAndArity.get(symbol.name());
+    if (matchersByArity == null) {
+      return false;
+    }
+    int arity = ((Symbol.MethodSymbol) symbol).parameterTypes().size();
+    return anyMatch(matchersByArity.get(arity), matches) || anyMatch(matchersByArity.get(MethodMatcher.ANY_ARITY), matches);
+  }
+
+  private static boolean anyMatch(@Nullable List<MethodMatcher> matchers, Predicate<MethodMatcher> matches) {
+    if (matchers != null) {
+      for (MethodMatcher matcher : matchers) {
+        if (matches.test(matcher)) {
+          return true;
+        }
       }
     }
     return false;
   }
 
-  public boolean anyMatch(NewClassTree newClassTree) {
-    for (MethodMatcher matcher : matchers) {
-      if (matcher.matches(newClassTree)) {
-        return true;
+  private Index index() {
+    Index result = index;
+    if (result == null) {
+      result = new Index(matchers);
+      index = result;
+    }
+    return result;
+  }
+
+  private static class Index {
+    private final Map<String, Map<Integer, List<MethodMatcher>>> matchersByNameAndArity = new HashMap<>();
+    private final List<MethodMatcher> matchersWithoutExactName = new ArrayList<>();
+
+    Index(List<MethodMatcher> matchers) {
+      for (MethodMatcher matcher : matchers) {
+        String name = matcher.exactName();
+        if (name == null) {
+          matchersWithoutExactName.add(matcher);
+        } else {
+          matchersByNameAndArity.computeIfAbsent(name, k -> new HashMap<>()).computeIfAbsent(matcher.arity(), k -> new ArrayList<>()).add(matcher);
+        }
       }
     }
-    return false;
   }
 }
@@ -20,10 +20,16 @@
 package org.sonar.java.model;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Suppliers;
 import com.google.common.collect.ImmutableList;
+import com.google.common.io.CharStreams;
+import com.google.common.io.Files;
+import org.sonar.api.batch.fs.FileSystem;
 import org.sonar.java.AnalyzerMessage;
 import org.sonar.java.SonarComponents;
 import org.sonar.java.ast.visitors.ComplexityVisitor;
+import org.sonar.java.cfg.CFG;
+import org.sonar.java.cfg.LiveVariables;
 import org.sonar.java.resolve.SemanticModel;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
@@ -35,8 +41,14 @@ import org.sonar.plugins.java.api.tree.Tree;
 
 import javax.annotation.Nullable;
 import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.Charset;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class DefaultJavaFileScannerContext implements JavaFileScannerContext {
@@ -48,9 +60,22 @@ public class DefaultJavaFileScannerContext implements JavaFileScannerContext {
   private final File file;
   private final JavaVersion javaVersion;
   private final boolean fileParsed;
+  private final Supplier<String> fileContent;
+  private final Supplier<List<String>> fileLines;
+  // methods of the file can be explored concurrently by the symbolic execution
+  private final Map<MethodTree, CFG> cfgs = new ConcurrentHashMap<>();
+  private final Map<MethodTree, LiveVariables> liveVariables = new ConcurrentHashMap<>();
 
   public DefaultJavaFileScannerContext(CompilationUnitTree tree, File file, SemanticModel semanticModel,
                                        @Nullable SonarComponents sonarComponents, JavaVersion javaVersion, boolean fileParsed) {
+    this(tree, file, semanticModel, sonarComponents, javaVersion, fileParsed, () -> readFileContent(file, projectCharset(sonarComponents)));
+  }
+
+  /**
+   * @param fileContent provides the content of the file, called at most once and only if a check needs the content
+   */
+  public DefaultJavaFileScannerContext(CompilationUnitTree tree, File file, SemanticModel semanticModel,
+                                       @Nullable SonarComponents sonarComponents, JavaVersion javaVersion, boolean fileParsed, Supplier<String> fileContent) {
     this.tree = tree;
     this.file = file;
     this.semanticModel = semanticModel;
@@ -58,6 +83,31 @@ public class DefaultJavaFileScannerContext implements JavaFileScannerContext {
     this.complexityVisitor = new ComplexityVisitor();
     this.javaVersion = javaVersion;
     this.fileParsed = fileParsed;
+    this.fileContent = Suppliers.memoize(fileContent::get)::get;
+    this.fileLines = Suppliers.memoize(() -> splitLines(this.fileContent.get()))::get;
+  }
+
+  static Charset projectCharset(@Nullable SonarComponents sonarComponents) {
+    FileSystem fs = sonarComponents == null ? null : sonarComponents.getFileSystem();
+    // same fallback as the file system of the analysis when no encoding is configured
+    return fs == null ? Charset.defaultCharset() : fs.encoding();
+  }
+
+  static String readFileContent(File file, Charset charset) {
+    try {
+      return Files.toString(file, charset);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to read file " + file.getAbsolutePath(), e);
+    }
+  }
+
+  private static List<String> splitLines(String content) {
+    try {
+      // same lines as the ones read from the file by Files.readLines
+      return ImmutableList.copyOf(CharStreams.readLines(new StringReader(content)));
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
   }
 
   @Override
@@ -96,6 +146,20 @@ public class DefaultJavaFileScannerContext implements JavaFileScannerContext {
     return fileParsed;
   }
 
+  /**
+   * Content of the file, read once and shared by all the checks of the file.
+   */
+  public String getFileContent() {
+    return fileContent.get();
+  }
+
+  /**
+   * Lines of the file, split once from {@link #getFileContent()} and shared by all the checks of the file.
+   */
+  public List<String> getFileLines() {
+    return fileLines.get();
+  }
+
   @Override
   public String getFileKey() {
     return file.getAbsolutePath();
@@ -161,4 +225,59 @@ public class DefaultJavaFileScannerContext implements JavaFileScannerContext {
   public List<Tree> getMethodComplexityNodes(ClassTree enclosingClass, MethodTree methodTree) {
     return getComplexityNodes(tree);
   }
+
+  /**
+   * Control flow graph of a method of the file, built once and shared by all the checks of the file.
+   */
+  public CFG cfgFor(MethodTree methodTree) {
+    return cfgs.computeIfAbsent(methodTree, CFG::build);
+  }
+
+  /**
+   * Live variables of a method of the file, computed once on {@link #cfgFor(MethodTree)} and shared by all the checks of the file.
+   */
+  public LiveVariables liveVariablesFor(MethodTree methodTree) {
+    return liveVariables.computeIfAbsent(methodTree, m -> LiveVariables.analyze(cfgFor(m)));
+  }
+
+  /**
+   * Content of the file of a context, shared when the context is the one of the analysis, and read with the given charset otherwise.
+   */
+  public static String fileContent(JavaFileScannerContext context, Charset charset) {
+    if (context instanceof DefaultJavaFileScannerContext) {
+      return ((DefaultJavaFileScannerContext) context).getFileContent();
+    }
+    return readFileContent(context.getFile(), charset);
+  }
+
+  /**
+   * Lines of the file of a context, shared when the context is the one of the analysis, and read with the given charset otherwise.
+   */
+  public static List<String> fileLines(JavaFileScannerContext context, Charset charset) {
+    if (context instanceof DefaultJavaFileScannerContext) {
+      return ((DefaultJavaFileScannerContext) context).getFileLines();
+    }
+    return splitLines(readFileContent(context.getFile(), charset));
+  }
+
+  /**
+   * Control flow graph of a method, shared when the context is the one of the analysis, and built otherwise.
+   */
+  public static CFG cfgFor(@Nullable JavaFileScannerContext context, MethodTree methodTree) {
+    if (context instanceof DefaultJavaFileScannerContext) {
+      return ((DefaultJavaFileScannerContext) context).cfgFor(methodTree);
+    }
+    return CFG.build(methodTree);
+  }
+
+  /**
+   * Live variables of a method, shared when the context is the one of the analysis, and computed otherwise.
+   * @param cfg control flow graph of the method, as given by {@link #cfgFor(JavaFileScannerContext, MethodTree)} for the same context.
+   */
+  public static LiveVariables liveVariablesFor(@Nullable JavaFileScannerContext context, MethodTree methodTree, CFG cfg) {
+    if (context instanceof DefaultJavaFileScannerContext) {
+      return ((DefaultJavaFileScannerContext) context).liveVariablesFor(methodTree);
+    }
+    return LiveVariables.analyze(cfg);
+  }
 }
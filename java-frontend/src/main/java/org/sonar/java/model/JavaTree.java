@@ -48,7 +48,6 @@ import org.sonar.plugins.java.api.tree.WildcardTree;
 import org.sonar.sslr.grammar.GrammarRuleKey;
 
 import javax.annotation.Nullable;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
 import java.util.LinkedList;
@@ -63,6 +62,19 @@ public abstract class JavaTree implements Tree {
 
   private List<Tree> children;
 
+  // the computed tokens are published by the volatile flags, trees being read by several threads of the symbolic execution
+  @Nullable
+  private SyntaxToken firstToken;
+  private volatile boolean firstTokenComputed;
+  @Nullable
+  private SyntaxToken lastToken;
+  private volatile boolean lastTokenComputed;
+
+  /**
+   * Cache of {@link SyntacticEquivalence#hash(Tree)}, 0 when not computed yet.
+   */
+  int syntacticHash;
+
   public JavaTree(GrammarRuleKey grammarRuleKey) {
     this.grammarRuleKey = grammarRuleKey;
   }
@@ -70,6 +82,18 @@ public abstract class JavaTree implements Tree {
   @Override
   @Nullable
   public SyntaxToken firstToken() {
+    if (!firstTokenComputed) {
+      firstToken = computeFirstToken();
+      firstTokenComputed = true;
+    }
+    return firstToken;
+  }
+
+  /**
+   * Computes the first token of the tree, which is then kept as the tree is not modified once parsed.
+   */
+  @Nullable
+  protected SyntaxToken computeFirstToken() {
     for (Tree child : getChildren()) {
       SyntaxToken first = child.firstToken();
       if (first != null) {
@@ -82,6 +106,15 @@ public abstract class JavaTree implements Tree {
   @Override
   @Nullable
   public SyntaxToken lastToken() {
+    if (!lastTokenComputed) {
+      lastToken = computeLastToken();
+      lastTokenComputed = true;
+    }
+    return lastToken;
+  }
+
+  @Nullable
+  private SyntaxToken computeLastToken() {
     List<Tree> trees = getChildren();
     for (int index = trees.size() - 1; index >= 0; index--) {
       SyntaxToken last = trees.get(index).lastToken();
@@ -100,6 +133,11 @@ public abstract class JavaTree implements Tree {
     return firstSyntaxToken.line();
   }
 
+  @Override
+  public final boolean is(Kind kind) {
+    return kind() == kind;
+  }
+
   @Override
   public final boolean is(Kind... kinds) {
     Kind treeKind = kind();
@@ -130,13 +168,15 @@ public abstract class JavaTree implements Tree {
 
   public List<Tree> getChildren() {
     if(children == null) {
-      children = new ArrayList<>();
+      // children are kept in an immutable list of the exact size, shared when empty
+      ImmutableList.Builder<Tree> builder = ImmutableList.builder();
       children().forEach(child -> {
         // null children are ignored
         if (child != null) {
-          children.add(child);
+          builder.add(child);
         }
       });
+      children = builder.build();
     }
     return children;
   }
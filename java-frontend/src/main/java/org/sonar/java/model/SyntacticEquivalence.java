@@ -39,7 +39,7 @@ public final class SyntacticEquivalence {
    * @return true, if nodes are syntactically equivalent
    */
   public static boolean areEquivalent(List<? extends Tree> leftList, List<? extends Tree> rightList) {
-    if (leftList.size() != rightList.size()) {
+    if (leftList.size() != rightList.size() || hash(leftList) != hash(rightList)) {
       return false;
     }
     for (int i = 0; i < leftList.size(); i++) {
@@ -56,9 +56,67 @@ public final class SyntacticEquivalence {
   * @return true, if nodes are syntactically equivalent
   */
   public static boolean areEquivalent(@Nullable Tree leftNode, @Nullable Tree rightNode) {
+    if (leftNode != rightNode && hash(leftNode) != hash(rightNode)) {
+      // nodes with different hashes are never equivalent, which spares the comparison of their whole subtrees
+      return false;
+    }
     return areEquivalent((JavaTree) leftNode, (JavaTree) rightNode);
   }
 
+  /**
+   * Structural hash of a list of nodes, consistent with {@link #areEquivalent(List, List)}:
+   * equivalent lists have the same hash, so that candidates for equivalence can be grouped by hash.
+   */
+  public static int hash(List<? extends Tree> trees) {
+    int result = 1;
+    for (Tree tree : trees) {
+      result = 31 * result + hash(tree);
+    }
+    return result;
+  }
+
+  /**
+   * Structural hash of a node, consistent with {@link #areEquivalent(Tree, Tree)}: equivalent nodes have the same hash.
+   * The hash of each node is computed once, from the hashes of its children.
+   */
+  public static int hash(@Nullable Tree tree) {
+    if (tree == null) {
+      return 0;
+    }
+    JavaTree javaTree = (JavaTree) tree;
+    // 0 stands for a hash not computed yet, as in String.hashCode(): racy computations always give the same result
+    int result = javaTree.syntacticHash;
+    if (result == 0) {
+      result = computeHash(javaTree);
+      javaTree.syntacticHash = result;
+    }
+    return result;
+  }
+
+  private static int computeHash(JavaTree tree) {
+    int result = tree.kind().ordinal();
+    if (tree.isLeaf()) {
+      result = 31 * result + Objects.hashCode(leafText(tree));
+    } else {
+      for (Tree child : tree.getChildren()) {
+        result = 31 * result + hash(child);
+      }
+    }
+    return result == 0 ? 1 : result;
+  }
+
+  @Nullable
+  private static String leafText(JavaTree leaf) {
+    if (leaf instanceof IdentifierTree) {
+      return ((IdentifierTree) leaf).name();
+    } else if (leaf instanceof PrimitiveTypeTree) {
+      return ((PrimitiveTypeTree) leaf).keyword().text();
+    } else if (leaf instanceof SyntaxToken) {
+      return ((SyntaxToken) leaf).text();
+    }
+    return null;
+  }
+
   private static boolean areEquivalent(@Nullable JavaTree leftNode, @Nullable JavaTree rightNode) {
     if (leftNode == rightNode) {
       return true;
@@ -29,7 +29,15 @@ import org.sonar.java.CharsetAwareVisitor;
 import org.sonar.java.JavaVersionAwareVisitor;
 import org.sonar.java.SonarComponents;
 import org.sonar.java.ast.visitors.SonarSymbolTableVisitor;
+import org.sonar.java.ast.visitors.SubscriptionVisitor;
+import org.sonar.java.ast.visitors.SubscriptionVisitorsDispatcher;
+import org.sonar.java.bytecode.ClassBytesCache;
+import org.sonar.java.bytecode.ClassLoaderBuilder;
+import org.sonar.java.bytecode.loader.SquidClassLoader;
 import org.sonar.java.resolve.SemanticModel;
+import org.sonar.java.se.ExplodedGraphWalker;
+import org.sonar.java.se.MethodBehaviorStore;
+import org.sonar.java.se.SymbolicExecutionSettings;
 import org.sonar.java.se.SymbolicExecutionVisitor;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
@@ -38,11 +46,15 @@ import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.squidbridge.AstScannerExceptionHandler;
 
+import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import java.io.File;
 import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
 
 public class VisitorsBridge {
 
@@ -50,11 +62,23 @@ public class VisitorsBridge {
 
   private final List<JavaFileScanner> scanners;
   private List<JavaFileScanner> executableScanners;
+  private List<JavaFileScanner> scannersToRun;
   private final SonarComponents sonarComponents;
   private final boolean symbolicExecutionEnabled;
   private SemanticModel semanticModel;
   private List<File> projectClasspath;
+  private SquidClassLoader classLoader;
+  private ClassBytesCache classBytesCache = new ClassBytesCache();
+  private MethodBehaviorStore behaviorStore = new MethodBehaviorStore();
+  private SymbolicExecutionSettings symbolicExecutionSettings = new SymbolicExecutionSettings();
+  @Nullable
+  private ExplodedGraphWalker.ExplodedGraphWalkerFactory egwFactory;
+  private ForkJoinPool symbolicExecutionPool;
   protected File currentFile;
+  @Nullable
+  private String currentFileContent;
+  @Nullable
+  private Charset charset;
   protected JavaVersion javaVersion;
 
   @VisibleForTesting
@@ -76,12 +100,14 @@ public class VisitorsBridge {
     }
     this.scanners = scannersBuilder.build();
     this.executableScanners = scanners;
+    this.scannersToRun = dispatchSubscriptionVisitors(scanners);
     this.sonarComponents = sonarComponents;
     this.projectClasspath = projectClasspath;
     this.symbolicExecutionEnabled = symbolicExecutionEnabled;
   }
 
   public void setCharset(Charset charset) {
+    this.charset = charset;
     for (JavaFileScanner scanner : scanners) {
       if (scanner instanceof CharsetAwareVisitor) {
         ((CharsetAwareVisitor) scanner).setCharset(charset);
@@ -89,43 +115,122 @@ public class VisitorsBridge {
     }
   }
 
+  /**
+   * Sets the store of method behaviors shared by the symbolic execution of all the files, by default behaviors are only kept for the current analysis.
+   */
+  /**
+   * Shares the class files read from the classpath with other bridges of the analysis, such as the one of the test files.
+   */
+  public void setClassBytesCache(ClassBytesCache classBytesCache) {
+    this.classBytesCache = classBytesCache;
+  }
+
+  public void setBehaviorStore(MethodBehaviorStore behaviorStore) {
+    this.behaviorStore = behaviorStore;
+  }
+
+  public void setSymbolicExecutionSettings(SymbolicExecutionSettings symbolicExecutionSettings) {
+    this.symbolicExecutionSettings = symbolicExecutionSettings;
+    this.egwFactory = null;
+  }
+
   public void setJavaVersion(JavaVersion javaVersion) {
     this.javaVersion = javaVersion;
     this.executableScanners = executableScanners(scanners, javaVersion);
+    this.scannersToRun = dispatchSubscriptionVisitors(executableScanners);
+    this.egwFactory = null;
   }
 
   public void visitFile(@Nullable Tree parsedTree) {
+    visitFile(parsedTree, createSemanticModel(currentFile, parsedTree));
+  }
+
+  /**
+   * Visits the current file, whose semantic model has already been created by {@link #createSemanticModel(File, Tree)}.
+   */
+  public void visitFile(@Nullable Tree parsedTree, SemanticModelResult semanticModelResult) {
     semanticModel = null;
     CompilationUnitTree tree = new JavaTree.CompilationUnitTreeImpl(null, Lists.newArrayList(), Lists.newArrayList(), null);
     boolean fileParsed = parsedTree != null;
     if (fileParsed && parsedTree.is(Tree.Kind.COMPILATION_UNIT)) {
       tree = (CompilationUnitTree) parsedTree;
-      if (isNotJavaLangOrSerializable(PackageUtils.packageName(tree.packageDeclaration(), "/"))) {
-        try {
-          semanticModel = SemanticModel.createFor(tree, getProjectClasspath());
-        } catch (Exception e) {
-          LOG.error("Unable to create symbol table for : " + currentFile.getAbsolutePath(), e);
-          return;
-        }
+      if (semanticModelResult.failure != null) {
+        LOG.error("Unable to create symbol table for : " + currentFile.getAbsolutePath(), semanticModelResult.failure);
+        return;
+      }
+      semanticModel = semanticModelResult.semanticModel;
+      if (semanticModel != null) {
         createSonarSymbolTable(tree);
-      } else {
-        SemanticModel.handleMissingTypes(tree);
       }
     }
     JavaFileScannerContext javaFileScannerContext = createScannerContext(tree, semanticModel, sonarComponents, fileParsed);
     // Symbolic execution checks
     if (symbolicExecutionEnabled && isNotJavaLangOrSerializable(PackageUtils.packageName(tree.packageDeclaration(), "/"))) {
-      new SymbolicExecutionVisitor(executableScanners).scanFile(javaFileScannerContext);
+      SymbolicExecutionVisitor symbolicExecutionVisitor = new SymbolicExecutionVisitor(explodedGraphWalkerFactory(), behaviorStore, symbolicExecutionSettings);
+      symbolicExecutionVisitor.setExplorationPool(symbolicExecutionPool());
+      symbolicExecutionVisitor.scanFile(javaFileScannerContext);
     }
-    for (JavaFileScanner scanner : executableScanners) {
+    for (JavaFileScanner scanner : scannersToRun) {
       scanner.scanFile(javaFileScannerContext);
     }
     if (semanticModel != null) {
-      // Close class loader after all the checks.
       semanticModel.done();
     }
   }
 
+  /**
+   * Walker factory shared by all the files of the analysis, so that the symbolic execution checks are ordered and indexed once.
+   */
+  private ExplodedGraphWalker.ExplodedGraphWalkerFactory explodedGraphWalkerFactory() {
+    if (egwFactory == null) {
+      egwFactory = new ExplodedGraphWalker.ExplodedGraphWalkerFactory(executableScanners, symbolicExecutionSettings);
+    }
+    return egwFactory;
+  }
+
+  @CheckForNull
+  private ForkJoinPool symbolicExecutionPool() {
+    if (symbolicExecutionPool == null && symbolicExecutionSettings.threads() > 1) {
+      symbolicExecutionPool = new ForkJoinPool(symbolicExecutionSettings.threads());
+    }
+    return symbolicExecutionPool;
+  }
+
+  /**
+   * Releases resources kept for the whole analysis, such as the class loader shared by all the analyzed files
+   * and the threads of the symbolic execution.
+   */
+  public synchronized void endOfAnalysis() {
+    if (classLoader != null) {
+      classLoader.close();
+      classLoader = null;
+    }
+    if (symbolicExecutionPool != null) {
+      symbolicExecutionPool.shutdownNow();
+      symbolicExecutionPool = null;
+    }
+  }
+
+  /**
+   * Creates the semantic model of a parsed file. Apart from the class loader shared by all the files, the state of the bridge is not used,
+   * so that semantic models of several files can be created concurrently, ahead of the visit of these files.
+   */
+  public SemanticModelResult createSemanticModel(File file, @Nullable Tree parsedTree) {
+    if (parsedTree == null || !parsedTree.is(Tree.Kind.COMPILATION_UNIT)) {
+      return SemanticModelResult.NONE;
+    }
+    CompilationUnitTree tree = (CompilationUnitTree) parsedTree;
+    if (!isNotJavaLangOrSerializable(file, PackageUtils.packageName(tree.packageDeclaration(), "/"))) {
+      SemanticModel.handleMissingTypes(tree);
+      return SemanticModelResult.NONE;
+    }
+    try {
+      return new SemanticModelResult(SemanticModel.createFor(tree, getClassLoader(), classBytesCache), null);
+    } catch (Exception e) {
+      return new SemanticModelResult(null, e);
+    }
+  }
+
   private static List<JavaFileScanner> executableScanners(List<JavaFileScanner> scanners, JavaVersion javaVersion) {
     ImmutableList.Builder<JavaFileScanner> results = ImmutableList.builder();
     for (JavaFileScanner scanner : scanners) {
@@ -136,6 +241,29 @@ public class VisitorsBridge {
     return results.build();
   }
 
+  /**
+   * Replaces subscription visitors by a single dispatcher, at the position of the first of them, so that the syntax tree is walked once for all of them.
+   */
+  private static List<JavaFileScanner> dispatchSubscriptionVisitors(List<JavaFileScanner> scanners) {
+    List<SubscriptionVisitor> subscriptionVisitors = new ArrayList<>();
+    List<JavaFileScanner> results = new ArrayList<>();
+    int dispatcherIndex = -1;
+    for (JavaFileScanner scanner : scanners) {
+      if (SubscriptionVisitorsDispatcher.canDispatch(scanner)) {
+        if (subscriptionVisitors.isEmpty()) {
+          dispatcherIndex = results.size();
+        }
+        subscriptionVisitors.add((SubscriptionVisitor) scanner);
+      } else {
+        results.add(scanner);
+      }
+    }
+    if (!subscriptionVisitors.isEmpty()) {
+      results.add(dispatcherIndex, new SubscriptionVisitorsDispatcher(subscriptionVisitors));
+    }
+    return results;
+  }
+
   protected JavaFileScannerContext createScannerContext(
     CompilationUnitTree tree, SemanticModel semanticModel, SonarComponents sonarComponents, boolean fileParsed) {
     return new DefaultJavaFileScannerContext(
@@ -144,11 +272,36 @@ public class VisitorsBridge {
       semanticModel,
       sonarComponents,
       javaVersion,
-      fileParsed);
+      fileParsed,
+      currentFileContent());
+  }
+
+  /**
+   * Provides the content of the current file, which is only read if it was not already read to be parsed.
+   */
+  protected Supplier<String> currentFileContent() {
+    String content = currentFileContent;
+    if (content != null) {
+      return () -> content;
+    }
+    File file = currentFile;
+    return () -> readFileContent(file);
+  }
+
+  /**
+   * Reads the content of a file with the charset of the analysis, or with the encoding of the project when no charset was set.
+   */
+  public String readFileContent(File file) {
+    Charset fileCharset = charset == null ? DefaultJavaFileScannerContext.projectCharset(sonarComponents) : charset;
+    return DefaultJavaFileScannerContext.readFileContent(file, fileCharset);
   }
 
   private boolean isNotJavaLangOrSerializable(String packageName) {
-    String name = currentFile.getName();
+    return isNotJavaLangOrSerializable(currentFile, packageName);
+  }
+
+  private static boolean isNotJavaLangOrSerializable(File file, String packageName) {
+    String name = file.getName();
     return !(inJavaLang(packageName) || isAnnotation(packageName, name) || isSerializable(packageName, name));
   }
 
@@ -164,8 +317,12 @@ public class VisitorsBridge {
     return "java/lang".equals(packageName);
   }
 
-  private List<File> getProjectClasspath() {
-    return projectClasspath;
+  @VisibleForTesting
+  synchronized SquidClassLoader getClassLoader() {
+    if (classLoader == null) {
+      classLoader = ClassLoaderBuilder.createIndexed(projectClasspath);
+    }
+    return classLoader;
   }
 
   private void createSonarSymbolTable(CompilationUnitTree tree) {
@@ -187,6 +344,31 @@ public class VisitorsBridge {
 
   public void setCurrentFile(File currentFile) {
     this.currentFile = currentFile;
+    this.currentFileContent = null;
+  }
+
+  /**
+   * Keeps the content of the current file, once read to be parsed, so that checks do not read it again.
+   */
+  public void setCurrentFileContent(String currentFileContent) {
+    this.currentFileContent = currentFileContent;
+  }
+
+  /**
+   * Semantic model of a file, absent when the semantic of the file is not computed, or the failure which occurred while creating it.
+   */
+  public static final class SemanticModelResult {
+    private static final SemanticModelResult NONE = new SemanticModelResult(null, null);
+
+    @Nullable
+    private final SemanticModel semanticModel;
+    @Nullable
+    private final Exception failure;
+
+    private SemanticModelResult(@Nullable SemanticModel semanticModel, @Nullable Exception failure) {
+      this.semanticModel = semanticModel;
+      this.failure = failure;
+    }
   }
 
 }
@@ -38,6 +38,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class VisitorsBridgeForTests extends VisitorsBridge {
@@ -68,7 +69,7 @@ public class VisitorsBridgeForTests extends VisitorsBridge {
   protected JavaFileScannerContext createScannerContext(CompilationUnitTree tree, SemanticModel semanticModel,
                                                         SonarComponents sonarComponents, boolean failedParsing) {
     SemanticModel model = enableSemantic ? semanticModel : null;
-    testContext = new TestJavaFileScannerContext(tree, currentFile, model, sonarComponents, javaVersion, failedParsing);
+    testContext = new TestJavaFileScannerContext(tree, currentFile, model, sonarComponents, javaVersion, failedParsing, currentFileContent());
     return testContext;
   }
 
@@ -85,6 +86,11 @@ public class VisitorsBridgeForTests extends VisitorsBridge {
       super(tree, file, semanticModel, sonarComponents, javaVersion, failedParsing);
     }
 
+    public TestJavaFileScannerContext(CompilationUnitTree tree, File file, SemanticModel semanticModel,
+                                      @Nullable SonarComponents sonarComponents, JavaVersion javaVersion, boolean failedParsing, Supplier<String> fileContent) {
+      super(tree, file, semanticModel, sonarComponents, javaVersion, failedParsing, fileContent);
+    }
+
     public Set<AnalyzerMessage> getIssues() {
       return issues;
     }
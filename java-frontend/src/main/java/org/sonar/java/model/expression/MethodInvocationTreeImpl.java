@@ -65,7 +65,7 @@ public class MethodInvocationTreeImpl extends AbstractTypedTree implements Metho
   }
 
   @Override
-  public SyntaxToken firstToken() {
+  protected SyntaxToken computeFirstToken() {
     if (typeArguments() != null && methodSelect.is(Tree.Kind.MEMBER_SELECT)) {
       ExpressionTree expression = ((MemberSelectExpressionTree) methodSelect).expression();
       SyntaxToken firstToken = expression.firstToken();
@@ -73,7 +73,7 @@ public class MethodInvocationTreeImpl extends AbstractTypedTree implements Metho
         return firstToken;
       }
     }
-    return super.firstToken();
+    return super.computeFirstToken();
   }
 
   @Override
@@ -21,24 +21,23 @@ package org.sonar.java.resolve;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
-import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
-import com.google.common.io.Closeables;
 import org.apache.commons.lang.StringUtils;
 import org.objectweb.asm.ClassReader;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
+import org.sonar.java.bytecode.ClassBytesCache;
 import org.sonar.java.bytecode.ClassLoaderBuilder;
 import org.sonar.java.bytecode.loader.SquidClassLoader;
 
 import javax.annotation.Nullable;
 
 import java.io.File;
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class BytecodeCompleter implements JavaSymbol.Completer {
 
@@ -52,25 +51,58 @@ public class BytecodeCompleter implements JavaSymbol.Completer {
   private Symbols symbols;
   private final List<File> projectClasspath;
   private final ParametrizedTypeCache parametrizedTypeCache;
+  private final ClassBytesCache classBytesCache;
+  /**
+   * Class loader has been provided by the caller, which is then responsible of its lifecycle.
+   */
+  private final boolean sharedClassLoader;
 
   /**
    * Indexed by flat name.
+   * Symbols can be looked up and completed by the threads exploring the methods of a file, so the symbols of the completer are
+   * only accessed while holding its lock, which is also the lock held while completing them (see {@link JavaSymbol#complete()}).
    */
   private final Map<String, JavaSymbol.TypeJavaSymbol> classes = new HashMap<>();
   private final Map<String, JavaSymbol.PackageJavaSymbol> packages = new HashMap<>();
+  /**
+   * Flat names of classes which have been looked up without being found, typically through star imports.
+   */
+  private final Set<String> classesNotFound = new HashSet<>();
 
-  private ClassLoader classLoader;
+  private SquidClassLoader classLoader;
 
   public BytecodeCompleter(List<File> projectClasspath, ParametrizedTypeCache parametrizedTypeCache) {
     this.projectClasspath = projectClasspath;
     this.parametrizedTypeCache = parametrizedTypeCache;
+    this.classBytesCache = new ClassBytesCache();
+    this.sharedClassLoader = false;
+  }
+
+  /**
+   * Completes symbols using a class loader living longer than the completer (typically for the whole analysis),
+   * so that classpath entries are not opened again for every analyzed file. The class loader is not closed by {@link #done()}.
+   */
+  public BytecodeCompleter(SquidClassLoader classLoader, ParametrizedTypeCache parametrizedTypeCache) {
+    this(classLoader, parametrizedTypeCache, new ClassBytesCache());
+  }
+
+  /**
+   * Same as {@link #BytecodeCompleter(SquidClassLoader, ParametrizedTypeCache)}, reading classes through a cache of the analysis,
+   * so that a class used by many files is read once.
+   */
+  public BytecodeCompleter(SquidClassLoader classLoader, ParametrizedTypeCache parametrizedTypeCache, ClassBytesCache classBytesCache) {
+    this.projectClasspath = ImmutableList.of();
+    this.parametrizedTypeCache = parametrizedTypeCache;
+    this.classBytesCache = classBytesCache;
+    this.classLoader = classLoader;
+    this.sharedClassLoader = true;
   }
 
   public void init(Symbols symbols) {
     this.symbols = symbols;
   }
 
-  public JavaSymbol.TypeJavaSymbol registerClass(JavaSymbol.TypeJavaSymbol classSymbol) {
+  public synchronized JavaSymbol.TypeJavaSymbol registerClass(JavaSymbol.TypeJavaSymbol classSymbol) {
     String flatName = formFullName(classSymbol);
     Preconditions.checkState(!classes.containsKey(flatName), "Registering class 2 times : %s", flatName);
     classes.put(flatName, classSymbol);
@@ -78,7 +110,7 @@ public class BytecodeCompleter implements JavaSymbol.Completer {
   }
 
   @Override
-  public void complete(JavaSymbol symbol) {
+  public synchronized void complete(JavaSymbol symbol) {
     LOG.debug("Completing symbol : " + symbol.name);
     String bytecodeName = formFullName(symbol);
     if(symbol.isPackageSymbol()) {
@@ -90,31 +122,20 @@ public class BytecodeCompleter implements JavaSymbol.Completer {
     }
     Preconditions.checkState(symbol.isPackageSymbol() || classSymbol == symbol);
 
-    InputStream inputStream = null;
-    ClassReader classReader = null;
-    try {
-      inputStream = inputStreamFor(bytecodeName);
-      if(inputStream != null) {
-        classReader = new ClassReader(inputStream);
-      }
-    } catch (IOException e) {
-      throw Throwables.propagate(e);
-    } finally {
-      Closeables.closeQuietly(inputStream);
-    }
-    if (classReader != null) {
-      classReader.accept(
+    byte[] classBytes = classBytesFor(bytecodeName);
+    if (classBytes != null) {
+      new ClassReader(classBytes).accept(
           new BytecodeVisitor(this, symbols, classSymbol, parametrizedTypeCache),
           ClassReader.SKIP_CODE | ClassReader.SKIP_FRAMES | ClassReader.SKIP_DEBUG);
     }
   }
 
   @Nullable
-  private InputStream inputStreamFor(String fullname) {
-    return getClassLoader().getResourceAsStream(Convert.bytecodeName(fullname) + ".class");
+  private byte[] classBytesFor(String fullname) {
+    return classBytesCache.classBytes(getClassLoader(), Convert.bytecodeName(fullname) + ".class");
   }
 
-  private ClassLoader getClassLoader() {
+  private SquidClassLoader getClassLoader() {
     if (classLoader == null) {
       classLoader = ClassLoaderBuilder.create(projectClasspath);
     }
@@ -152,7 +173,7 @@ public class BytecodeCompleter implements JavaSymbol.Completer {
   JavaSymbol.TypeJavaSymbol getClassSymbol(String bytecodeName, int flags) {
     return getClassSymbol(null, bytecodeName, flags);
   }
-  public JavaSymbol.TypeJavaSymbol getClassSymbol(@Nullable JavaSymbol.TypeJavaSymbol classSymbolOwner, String bytecodeName, int flags) {
+  public synchronized JavaSymbol.TypeJavaSymbol getClassSymbol(@Nullable JavaSymbol.TypeJavaSymbol classSymbolOwner, String bytecodeName, int flags) {
     String flatName = Convert.flatName(bytecodeName);
     JavaSymbol.TypeJavaSymbol symbol = classes.get(flatName);
     if (symbol == null) {
@@ -203,36 +224,28 @@ public class BytecodeCompleter implements JavaSymbol.Completer {
    * @return symbol for requested class, if corresponding class file exists, and {@link org.sonar.java.resolve.Resolve.JavaSymbolNotFound} otherwise
    */
   // TODO(Godin): Method name is misleading because of lazy loading.
-  public JavaSymbol loadClass(String fullname) {
+  public synchronized JavaSymbol loadClass(String fullname) {
     JavaSymbol.TypeJavaSymbol symbol = classes.get(fullname);
     if (symbol != null) {
       return symbol;
     }
+    if (classesNotFound.contains(fullname)) {
+      return new Resolve.JavaSymbolNotFound();
+    }
 
     // TODO(Godin): pull out conversion of name from the next method to avoid unnecessary conversion afterwards:
-    InputStream inputStream = inputStreamFor(fullname);
+    byte[] classBytes = classBytesFor(fullname);
     String bytecodeName = Convert.bytecodeName(fullname);
 
-    if (inputStream == null) {
+    if (classBytes == null || !new ClassReader(classBytes).getClassName().equals(bytecodeName)) {
+      classesNotFound.add(fullname);
       return new Resolve.JavaSymbolNotFound();
     }
 
-    try {
-      ClassReader classReader = new ClassReader(inputStream);
-      String className = classReader.getClassName();
-      if (!className.equals(bytecodeName)) {
-        return new Resolve.JavaSymbolNotFound();
-      }
-    } catch (IOException e) {
-      throw Throwables.propagate(e);
-    } finally {
-      Closeables.closeQuietly(inputStream);
-    }
-
     return getClassSymbol(fullname);
   }
 
-  public JavaSymbol.PackageJavaSymbol enterPackage(String fullname) {
+  public synchronized JavaSymbol.PackageJavaSymbol enterPackage(String fullname) {
     if (StringUtils.isBlank(fullname)) {
       return symbols.defaultPackage;
     }
@@ -246,8 +259,8 @@ public class BytecodeCompleter implements JavaSymbol.Completer {
   }
 
   public void done() {
-    if (classLoader != null && classLoader instanceof SquidClassLoader) {
-      ((SquidClassLoader) classLoader).close();
+    if (classLoader != null && !sharedClassLoader) {
+      classLoader.close();
     }
   }
 
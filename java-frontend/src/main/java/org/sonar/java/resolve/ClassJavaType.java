@@ -63,7 +63,14 @@ public class ClassJavaType extends JavaType {
     }
     if (superType.isClass()) {
       ClassJavaType superClassType = (ClassJavaType) superType;
-      return this.equals(superClassType) || superTypeIsSubTypeOf(superClassType);
+      if (this.equals(superClassType)) {
+        return true;
+      }
+      // whatever their type arguments, only the supertypes having the symbol of the checked type can be its subtypes
+      if (!symbol.superTypesContain(superClassType.symbol)) {
+        return false;
+      }
+      return !superClassType.isParameterized() || superTypeIsSubTypeOf(superClassType);
     }
     return false;
   }
@@ -78,11 +85,6 @@ public class ClassJavaType extends JavaType {
   }
 
   private boolean superTypeContains(String fullyQualifiedName) {
-    for (ClassJavaType classType : symbol.superTypes()) {
-      if (classType.is(fullyQualifiedName)) {
-        return true;
-      }
-    }
-    return false;
+    return symbol.superTypesContain(fullyQualifiedName);
   }
 }
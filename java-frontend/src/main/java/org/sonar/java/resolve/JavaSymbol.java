@@ -64,7 +64,7 @@ public class JavaSymbol implements Symbol {
 
   JavaSymbol owner;
 
-  Completer completer;
+  volatile Completer completer;
 
   JavaType type;
 
@@ -104,12 +104,21 @@ public class JavaSymbol implements Symbol {
   }
 
   public void complete() {
-    if (completer != null) {
-      Completer c = completer;
-      completer = null;
-      completing = true;
-      c.complete(this);
-      completing = false;
+    Completer c = completer;
+    if (c != null) {
+      // Symbols of a semantic model can be completed by several threads: the completer is released once the symbol is fully completed,
+      // while the completing thread itself can still access the symbol being completed.
+      synchronized (c) {
+        if (completer == c && !completing) {
+          completing = true;
+          try {
+            c.complete(this);
+          } finally {
+            completing = false;
+            completer = null;
+          }
+        }
+      }
     }
   }
 
@@ -312,6 +321,7 @@ public class JavaSymbol implements Symbol {
     ClassTree declaration;
     private final String internalName;
     private final Multiset<String> internalNames = HashMultiset.create();
+    private volatile SuperTypes superTypes;
 
     public TypeJavaSymbol(int flags, String name, JavaSymbol owner) {
       super(TYP, flags, name, owner);
@@ -394,16 +404,39 @@ public class JavaSymbol implements Symbol {
      * @return list of classTypes.
      */
     public Set<ClassJavaType> superTypes() {
-      ImmutableSet.Builder<ClassJavaType> types = ImmutableSet.builder();
-      ClassJavaType superClassType = (ClassJavaType) this.superClass();
-      types.addAll(this.interfacesOfType());
-      while (superClassType != null) {
-        types.add(superClassType);
-        TypeJavaSymbol superClassSymbol = superClassType.getSymbol();
-        types.addAll(superClassSymbol.interfacesOfType());
-        superClassType = (ClassJavaType) superClassSymbol.superClass();
+      return superTypesClosure().types;
+    }
+
+    boolean superTypesContain(TypeJavaSymbol symbol) {
+      return superTypesClosure().symbols.contains(symbol);
+    }
+
+    boolean superTypesContain(String fullyQualifiedName) {
+      return superTypesClosure().fullyQualifiedNames.contains(fullyQualifiedName);
+    }
+
+    /**
+     * The closure is cached once the type and all its supertypes are completed. Anonymous classes are left out because their
+     * supertype is only set while resolving the expression declaring them.
+     */
+    private SuperTypes superTypesClosure() {
+      SuperTypes result = superTypes;
+      if (result == null) {
+        ImmutableSet.Builder<ClassJavaType> types = ImmutableSet.builder();
+        ClassJavaType superClassType = (ClassJavaType) this.superClass();
+        types.addAll(this.interfacesOfType());
+        while (superClassType != null) {
+          types.add(superClassType);
+          TypeJavaSymbol superClassSymbol = superClassType.getSymbol();
+          types.addAll(superClassSymbol.interfacesOfType());
+          superClassType = (ClassJavaType) superClassSymbol.superClass();
+        }
+        result = new SuperTypes(types.build());
+        if (!name.isEmpty() && completer == null && result.symbols.stream().allMatch(symbol -> symbol.completer == null)) {
+          superTypes = result;
+        }
       }
-      return types.build();
+      return result;
     }
 
     private Set<ClassJavaType> interfacesOfType() {
@@ -445,6 +478,18 @@ public class JavaSymbol implements Symbol {
     public ClassTree declaration() {
       return declaration;
     }
+
+    private static class SuperTypes {
+      private final Set<ClassJavaType> types;
+      private final Set<TypeJavaSymbol> symbols;
+      private final Set<String> fullyQualifiedNames;
+
+      SuperTypes(Set<ClassJavaType> types) {
+        this.types = types;
+        this.symbols = types.stream().map(ClassJavaType::getSymbol).collect(Collectors.toSet());
+        this.fullyQualifiedNames = symbols.stream().map(TypeJavaSymbol::getFullyQualifiedName).collect(Collectors.toSet());
+      }
+    }
   }
 
   /**
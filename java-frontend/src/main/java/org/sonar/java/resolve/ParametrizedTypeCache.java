@@ -19,35 +19,46 @@
  */
 package org.sonar.java.resolve;
 
-import com.google.common.collect.Maps;
-
 import org.sonar.java.resolve.WildCardType.BoundType;
 
-import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Parametrized and wildcard types of a semantic model, created once for each type arguments so that they can be compared by identity.
+ * Types can still be created while the methods of a file are explored by several threads, so the cache is thread-safe and a type created
+ * concurrently by two threads is only kept once.
+ */
 public class ParametrizedTypeCache {
 
-  private Map<JavaSymbol, Map<TypeSubstitution, ParametrizedTypeJavaType>> typeCache = Maps.newHashMap();
-  private Map<JavaType, Map<WildCardType.BoundType, WildCardType>> wildcardCache = Maps.newHashMap();
+  private final Map<JavaSymbol, Map<TypeSubstitution, ParametrizedTypeJavaType>> typeCache = new ConcurrentHashMap<>();
+  private final Map<JavaType, Map<WildCardType.BoundType, WildCardType>> wildcardCache = new ConcurrentHashMap<>();
+  private TypeSubstitutionSolver typeSubstitutionSolver;
+
+  public void setTypeSubstitutionSolver(TypeSubstitutionSolver typeSubstitutionSolver) {
+    this.typeSubstitutionSolver = typeSubstitutionSolver;
+  }
 
   public JavaType getParametrizedTypeType(JavaSymbol.TypeJavaSymbol symbol, TypeSubstitution typeSubstitution) {
     if (symbol.getType().isUnknown()) {
       return symbol.getType();
     }
-    if (typeCache.get(symbol) == null) {
-      Map<TypeSubstitution, ParametrizedTypeJavaType> map = Maps.newHashMap();
-      typeCache.put(symbol, map);
-    }
+    Map<TypeSubstitution, ParametrizedTypeJavaType> types = typeCache.computeIfAbsent(symbol, s -> new ConcurrentHashMap<>());
     TypeSubstitution newSubstitution = typeSubstitution;
     if (newSubstitution.size() == 0) {
       newSubstitution = identitySubstitution(symbol.typeVariableTypes);
     }
-    if (typeCache.get(symbol).get(newSubstitution) == null) {
-      typeCache.get(symbol).put(newSubstitution, new ParametrizedTypeJavaType(symbol, newSubstitution));
+    ParametrizedTypeJavaType type = types.get(newSubstitution);
+    if (type == null) {
+      // the type is created outside of any lock, the first type put in the cache being the one kept
+      ParametrizedTypeJavaType newType = new ParametrizedTypeJavaType(symbol, newSubstitution, typeSubstitutionSolver);
+      type = types.putIfAbsent(newSubstitution, newType);
+      if (type == null) {
+        type = newType;
+      }
     }
-    return typeCache.get(symbol).get(newSubstitution);
+    return type;
   }
 
   private static TypeSubstitution identitySubstitution(List<TypeVariableJavaType> typeVariables) {
@@ -59,15 +70,14 @@ public class ParametrizedTypeCache {
   }
 
   public JavaType getWildcardType(JavaType bound, BoundType boundType) {
-    Map<WildCardType.BoundType, WildCardType> map = wildcardCache.get(bound);
-    if (map == null) {
-      map = new EnumMap<>(WildCardType.BoundType.class);
-      wildcardCache.put(bound, map);
-    }
-    WildCardType wildcardType = map.get(boundType);
+    Map<WildCardType.BoundType, WildCardType> wildcardTypes = wildcardCache.computeIfAbsent(bound, b -> new ConcurrentHashMap<>());
+    WildCardType wildcardType = wildcardTypes.get(boundType);
     if (wildcardType == null) {
-      wildcardType = new WildCardType(bound, boundType);
-      map.put(boundType, wildcardType);
+      WildCardType newWildcardType = new WildCardType(bound, boundType);
+      wildcardType = wildcardTypes.putIfAbsent(boundType, newWildcardType);
+      if (wildcardType == null) {
+        wildcardType = newWildcardType;
+      }
     }
     return wildcardType;
   }
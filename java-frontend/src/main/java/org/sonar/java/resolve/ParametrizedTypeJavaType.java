@@ -30,14 +30,15 @@ import java.util.List;
 
 public class ParametrizedTypeJavaType extends ClassJavaType {
 
-  public static TypeSubstitutionSolver typeSubstitutionSolver;
   final TypeSubstitution typeSubstitution;
   final JavaType rawType;
+  private final TypeSubstitutionSolver typeSubstitutionSolver;
 
-  ParametrizedTypeJavaType(JavaSymbol.TypeJavaSymbol symbol, TypeSubstitution typeSubstitution) {
+  ParametrizedTypeJavaType(JavaSymbol.TypeJavaSymbol symbol, TypeSubstitution typeSubstitution, TypeSubstitutionSolver typeSubstitutionSolver) {
     super(PARAMETERIZED, symbol);
     this.rawType = symbol.getType();
     this.typeSubstitution = typeSubstitution;
+    this.typeSubstitutionSolver = typeSubstitutionSolver;
   }
 
   @Override
@@ -38,7 +38,10 @@ import org.sonar.plugins.java.api.tree.Tree;
 import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -65,12 +68,12 @@ public class Resolve {
   private final TypeSubstitutionSolver typeSubstitutionSolver;
   private final Types types = new Types();
   private final Symbols symbols;
+  private final Map<MethodResolutionKey, Resolution> methodResolutions = new HashMap<>();
 
-  public Resolve(Symbols symbols, BytecodeCompleter bytecodeCompleter, ParametrizedTypeCache parametrizedTypeCache) {
+  public Resolve(Symbols symbols, BytecodeCompleter bytecodeCompleter, TypeSubstitutionSolver typeSubstitutionSolver) {
     this.symbols = symbols;
     this.bytecodeCompleter = bytecodeCompleter;
-    this.typeSubstitutionSolver = new TypeSubstitutionSolver(parametrizedTypeCache, symbols);
-    ParametrizedTypeJavaType.typeSubstitutionSolver = typeSubstitutionSolver;
+    this.typeSubstitutionSolver = typeSubstitutionSolver;
   }
 
   @Nullable
@@ -424,11 +427,37 @@ public class Resolve {
   }
 
   public Resolution findMethod(Env env, JavaType site, String name, List<JavaType> argTypes) {
-    return findMethod(env, site, site, name, argTypes, ImmutableList.<JavaType>of(), false);
+    return findMethod(env, site, name, argTypes, ImmutableList.<JavaType>of());
   }
 
+  /**
+   * Resolutions are shared by the invocations made from the same class on the same site with the same types of arguments, unless they
+   * depend on the invocation itself: arguments whose type is deferred, sites which are anonymous classes (their supertype is only set
+   * once their declaration is resolved), generic methods and results whose type has to be inferred.
+   */
   public Resolution findMethod(Env env, JavaType site, String name, List<JavaType> argTypes, List<JavaType> typeParams) {
-    return findMethod(env, site, site, name, argTypes, typeParams, false);
+    if ("".equals(site.symbol.name) || argTypes.stream().anyMatch(argType -> argType.isTagged(JavaType.DEFERRED))) {
+      return findMethod(env, site, site, name, argTypes, typeParams, false);
+    }
+    MethodResolutionKey key = new MethodResolutionKey(env, site, name, argTypes, typeParams);
+    Resolution resolution = methodResolutions.get(key);
+    if (resolution == null) {
+      resolution = findMethod(env, site, site, name, argTypes, typeParams, false);
+      if (isReusable(resolution)) {
+        methodResolutions.put(key, resolution.copy());
+      }
+      return resolution;
+    }
+    return resolution.copy();
+  }
+
+  private static boolean isReusable(Resolution resolution) {
+    if (resolution.symbol.isKind(JavaSymbol.MTH)) {
+      return ((JavaSymbol.MethodJavaSymbol) resolution.symbol).typeVariableTypes.isEmpty()
+        && resolution.type instanceof MethodJavaType
+        && !((MethodJavaType) resolution.type).resultType.isTagged(JavaType.DEFERRED);
+    }
+    return true;
   }
 
   private Resolution findMethod(Env env, JavaType callSite, JavaType site, String name, List<JavaType> argTypes, List<JavaType> typeParams) {
@@ -1045,6 +1074,12 @@ public class Resolve {
       return new Resolution(symbol);
     }
 
+    private Resolution copy() {
+      Resolution resolution = new Resolution(symbol);
+      resolution.type = type;
+      return resolution;
+    }
+
     JavaSymbol symbol() {
       return symbol;
     }
@@ -1063,6 +1098,50 @@ public class Resolve {
     }
   }
 
+  private static class MethodResolutionKey {
+    private final JavaSymbol.PackageJavaSymbol packge;
+    @Nullable
+    private final JavaSymbol.TypeJavaSymbol enclosingClass;
+    private final JavaType site;
+    private final String name;
+    private final List<JavaType> argTypes;
+    private final List<JavaType> typeParams;
+    private final int hashCode;
+
+    MethodResolutionKey(Env env, JavaType site, String name, List<JavaType> argTypes, List<JavaType> typeParams) {
+      // accessibility of the resolved method depends only on the package and the class of the invocation
+      this.packge = env.packge;
+      this.enclosingClass = env.enclosingClass;
+      this.site = site;
+      this.name = name;
+      this.argTypes = new ArrayList<>(argTypes);
+      this.typeParams = new ArrayList<>(typeParams);
+      this.hashCode = Objects.hash(packge, enclosingClass, site, name, argTypes, typeParams);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      MethodResolutionKey that = (MethodResolutionKey) o;
+      return packge == that.packge
+        && enclosingClass == that.enclosingClass
+        && site.equals(that.site)
+        && name.equals(that.name)
+        && argTypes.equals(that.argTypes)
+        && typeParams.equals(that.typeParams);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
   static class Env {
     /**
      * The next enclosing environment.
@@ -24,6 +24,8 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
 import com.google.common.collect.Maps;
+import org.sonar.java.bytecode.ClassBytesCache;
+import org.sonar.java.bytecode.loader.SquidClassLoader;
 import org.sonar.java.model.AbstractTypedTree;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
@@ -51,12 +53,34 @@ public class SemanticModel {
 
   public static SemanticModel createFor(CompilationUnitTree tree, List<File> projectClasspath) {
     ParametrizedTypeCache parametrizedTypeCache = new ParametrizedTypeCache();
-    BytecodeCompleter bytecodeCompleter = new BytecodeCompleter(projectClasspath, parametrizedTypeCache);
+    return createFor(tree, new BytecodeCompleter(projectClasspath, parametrizedTypeCache), parametrizedTypeCache);
+  }
+
+  /**
+   * Creates the semantic model of a compilation unit, reading bytecode through a class loader shared between files.
+   * The class loader is not closed when the semantic model is {@link #done()}.
+   */
+  public static SemanticModel createFor(CompilationUnitTree tree, SquidClassLoader classLoader) {
+    return createFor(tree, classLoader, new ClassBytesCache());
+  }
+
+  /**
+   * Creates the semantic model of a compilation unit, reading bytecode through a class loader and a cache of class files
+   * shared between files. Only the symbols are created again for each file.
+   */
+  public static SemanticModel createFor(CompilationUnitTree tree, SquidClassLoader classLoader, ClassBytesCache classBytesCache) {
+    ParametrizedTypeCache parametrizedTypeCache = new ParametrizedTypeCache();
+    return createFor(tree, new BytecodeCompleter(classLoader, parametrizedTypeCache, classBytesCache), parametrizedTypeCache);
+  }
+
+  private static SemanticModel createFor(CompilationUnitTree tree, BytecodeCompleter bytecodeCompleter, ParametrizedTypeCache parametrizedTypeCache) {
     Symbols symbols = new Symbols(bytecodeCompleter);
     SemanticModel semanticModel = new SemanticModel();
     semanticModel.bytecodeCompleter = bytecodeCompleter;
     try {
-      Resolve resolve = new Resolve(symbols, bytecodeCompleter, parametrizedTypeCache);
+      TypeSubstitutionSolver typeSubstitutionSolver = new TypeSubstitutionSolver(parametrizedTypeCache, symbols);
+      parametrizedTypeCache.setTypeSubstitutionSolver(typeSubstitutionSolver);
+      Resolve resolve = new Resolve(symbols, bytecodeCompleter, typeSubstitutionSolver);
       TypeAndReferenceSolver typeAndReferenceSolver = new TypeAndReferenceSolver(semanticModel, symbols, resolve, parametrizedTypeCache);
       new FirstPass(semanticModel, symbols, resolve, parametrizedTypeCache, typeAndReferenceSolver).visitCompilationUnit(tree);
       typeAndReferenceSolver.visitCompilationUnit(tree);
@@ -68,7 +92,6 @@ public class SemanticModel {
   }
 
   public void done(){
-    ParametrizedTypeJavaType.typeSubstitutionSolver = null;
     bytecodeCompleter.done();
   }
 
@@ -119,6 +119,11 @@ public class Symbols {
     unknownType = new UnknownType(unknownSymbol);
     unknownSymbol.type = unknownType;
     unknownMethodSymbol = new JavaSymbol.MethodJavaSymbol(0, "!unknown!", unknownSymbol) {
+      @Override
+      public void addUsage(IdentifierTree tree) {
+        // noop
+      }
+
       @Override
       public boolean isMethodSymbol() {
         return false;
@@ -26,26 +26,64 @@ import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public class CheckerDispatcher implements CheckerContext {
   private final ExplodedGraphWalker explodedGraphWalker;
   private final List<SECheck> checks;
+  private final Map<Tree.Kind, List<SECheck>> checksByKind;
   private int currentCheckerIndex = -1;
   private boolean transition = false;
-  Tree syntaxNode;
+  private Tree syntaxNode;
+  // checks interested in the current syntax node
+  private List<SECheck> nodeChecks;
 
   public CheckerDispatcher(ExplodedGraphWalker explodedGraphWalker, List<SECheck> checks) {
+    this(explodedGraphWalker, checks, checksByKind(checks));
+  }
+
+  /**
+   * @param checksByKind checks interested in each kind of syntax node, as computed by {@link #checksByKind(List)}, only read by the dispatcher
+   */
+  public CheckerDispatcher(ExplodedGraphWalker explodedGraphWalker, List<SECheck> checks, Map<Tree.Kind, List<SECheck>> checksByKind) {
     this.explodedGraphWalker = explodedGraphWalker;
     this.checks = checks;
+    this.checksByKind = checksByKind;
   }
 
-  public boolean executeCheckPreStatement(Tree syntaxNode) {
+  /**
+   * Checks interested in each kind of syntax node, in the order of the given checks, for every kind.
+   * {@link SECheck#nodesToVisit()} is called once for each check.
+   */
+  public static Map<Tree.Kind, List<SECheck>> checksByKind(List<SECheck> checks) {
+    Map<Tree.Kind, List<SECheck>> result = new EnumMap<>(Tree.Kind.class);
+    for (Tree.Kind kind : Tree.Kind.values()) {
+      result.put(kind, new ArrayList<>());
+    }
+    for (SECheck check : checks) {
+      for (Tree.Kind kind : check.nodesToVisit()) {
+        result.get(kind).add(check);
+      }
+    }
+    result.replaceAll((kind, kindChecks) -> Collections.unmodifiableList(kindChecks));
+    return Collections.unmodifiableMap(result);
+  }
+
+  void setSyntaxNode(Tree syntaxNode) {
     this.syntaxNode = syntaxNode;
+    this.nodeChecks = checksByKind.get(syntaxNode.kind());
+  }
+
+  public boolean executeCheckPreStatement(Tree syntaxNode) {
+    setSyntaxNode(syntaxNode);
     ProgramState ps;
-    for (SECheck checker : checks) {
+    for (SECheck checker : nodeChecks) {
       ps = checker.checkPreStatement(this, syntaxNode);
       if (ps == null) {
         return false;
@@ -57,7 +95,7 @@ public class CheckerDispatcher implements CheckerContext {
   }
 
   public void executeCheckPostStatement(Tree syntaxNode) {
-    this.syntaxNode = syntaxNode;
+    setSyntaxNode(syntaxNode);
     addTransition(explodedGraphWalker.programState);
   }
 
@@ -94,8 +132,8 @@ public class CheckerDispatcher implements CheckerContext {
 
   private void executePost() {
     this.transition = false;
-    if (currentCheckerIndex < checks.size()) {
-      explodedGraphWalker.programState = checks.get(currentCheckerIndex).checkPostStatement(this, syntaxNode);
+    if (currentCheckerIndex < nodeChecks.size()) {
+      explodedGraphWalker.programState = nodeChecks.get(currentCheckerIndex).checkPostStatement(this, syntaxNode);
     } else {
       if (explodedGraphWalker.programPosition.i< explodedGraphWalker.programPosition.block.elements().size()) {
         explodedGraphWalker.clearStack(explodedGraphWalker.programPosition.block.elements().get(explodedGraphWalker.programPosition.i));
@@ -32,6 +32,7 @@ import javax.annotation.CheckForNull;
 import javax.annotation.Nullable;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -115,50 +116,73 @@ public class ExplodedGraph {
      * Execution location. Currently only pre-statement, but tomorrow we might add post-statement.
      */
     public final ProgramPoint programPoint;
+    /**
+     * Whole state of the node, kept even once its successors are computed: it identifies the node in the exploded graph, and the
+     * flows of issues read the stack, values and constraints of interior nodes, which learned constraints and values do not record.
+     */
     @Nullable
     public final ProgramState programState;
-    private final Map<Node, MethodYield> parents;
-    private final List<LearnedConstraint> learnedConstraints;
-
-    private final List<LearnedValue> learnedSymbols;
+    /**
+     * Most nodes have a single parent and learn nothing : their parents and learned constraints and values are only
+     * backed by dedicated collections when needed, which keeps large exploded graphs as small as possible.
+     */
+    private Map<Node, MethodYield> parents = Collections.emptyMap();
+    private List<LearnedConstraint> learnedConstraints = Collections.emptyList();
+    private List<LearnedValue> learnedSymbols = Collections.emptyList();
 
     public Node(ProgramPoint programPoint, @Nullable ProgramState programState) {
       this.programPoint = programPoint;
       this.programState = programState;
-      learnedConstraints = new ArrayList<>();
-      learnedSymbols = new ArrayList<>();
-      parents = new LinkedHashMap<>();
     }
 
     public void setParent(@Nullable Node parent, @Nullable MethodYield methodYield) {
       if (parent != null) {
         if (parents.isEmpty()) {
+          ArrayList<LearnedConstraint> constraints = new ArrayList<>();
           programState.constraints.forEach((sv, c) -> {
             if (parent.programState.getConstraint(sv) != c) {
-              addConstraint(sv, c);
+              addConstraint(constraints, sv, c);
             }
           });
+          ArrayList<LearnedValue> symbols = new ArrayList<>();
           programState.values.forEach((s, sv) -> {
             if (parent.programState.getValue(s) != sv) {
-              learnedSymbols.add(new LearnedValue(sv, s));
+              symbols.add(new LearnedValue(sv, s));
             }
           });
+          learnedConstraints = compact(constraints);
+          learnedSymbols = compact(symbols);
         }
-        parents.put(parent, methodYield);
+        addParent(parent, methodYield);
       }
     }
 
-    private void addConstraint(SymbolicValue sv, @Nullable Constraint constraint) {
+    private static void addConstraint(List<LearnedConstraint> constraints, SymbolicValue sv, @Nullable Constraint constraint) {
       // FIXME : this might end up adding twice the same SV in learned constraints. Safe because of find first in SECheck.flows
       if (sv instanceof BinarySymbolicValue) {
         BinarySymbolicValue binarySymbolicValue = (BinarySymbolicValue) sv;
-        addConstraint(binarySymbolicValue.getLeftOp(), null);
-        addConstraint(binarySymbolicValue.getRightOp(), null);
+        addConstraint(constraints, binarySymbolicValue.getLeftOp(), null);
+        addConstraint(constraints, binarySymbolicValue.getRightOp(), null);
       }
-      learnedConstraints.add(new LearnedConstraint(sv, constraint));
+      constraints.add(new LearnedConstraint(sv, constraint));
+    }
+
+    private static <T> List<T> compact(ArrayList<T> list) {
+      if (list.isEmpty()) {
+        return Collections.emptyList();
+      }
+      list.trimToSize();
+      return list;
     }
 
     public void addParent(Node node, @Nullable MethodYield methodYield) {
+      if (parents.isEmpty() || (parents.size() == 1 && parents.containsKey(node))) {
+        parents = Collections.singletonMap(node, methodYield);
+        return;
+      }
+      if (!(parents instanceof LinkedHashMap)) {
+        parents = new LinkedHashMap<>(parents);
+      }
       parents.put(node, methodYield);
     }
 
@@ -31,6 +31,7 @@ import org.sonar.api.utils.log.Loggers;
 import org.sonar.java.cfg.CFG;
 import org.sonar.java.cfg.LiveVariables;
 import org.sonar.java.matcher.MethodMatcher;
+import org.sonar.java.model.DefaultJavaFileScannerContext;
 import org.sonar.java.model.ExpressionUtils;
 import org.sonar.java.model.JavaTree;
 import org.sonar.java.resolve.Flags;
@@ -52,6 +53,7 @@ import org.sonar.java.se.constraint.ConstraintManager;
 import org.sonar.java.se.constraint.ObjectConstraint;
 import org.sonar.java.se.symbolicvalues.SymbolicValue;
 import org.sonar.plugins.java.api.JavaFileScanner;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.semantic.SymbolMetadata;
 import org.sonar.plugins.java.api.semantic.Type;
@@ -84,16 +86,15 @@ import javax.annotation.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -101,9 +102,9 @@ public class ExplodedGraphWalker {
 
   private static final String EQUALS_METHOD_NAME = "equals";
   /**
-   * Arbitrary number to limit symbolic execution.
+   * Number of steps between two checks of the time budget.
    */
-  private static final int MAX_STEPS = 16_000;
+  private static final int TIME_CHECK_PERIOD = 100;
   public static final int MAX_NESTED_BOOLEAN_STATES = 10_000;
   private static final Logger LOG = Loggers.get(ExplodedGraphWalker.class);
   private static final Set<String> THIS_SUPER = ImmutableSet.of("this", "super");
@@ -120,7 +121,7 @@ public class ExplodedGraphWalker {
   private ExplodedGraph explodedGraph;
 
   @VisibleForTesting
-  Deque<ExplodedGraph.Node> workList;
+  WorkList workList;
   ExplodedGraph.Node node;
   ExplodedGraph.ProgramPoint programPosition;
   ProgramState programState;
@@ -128,6 +129,10 @@ public class ExplodedGraphWalker {
   private CheckerDispatcher checkerDispatcher;
 
   private final SymbolicExecutionVisitor.BehaviorCache behaviorCache;
+  private final SymbolicExecutionSettings settings;
+  private long deadline = Long.MAX_VALUE;
+  @Nullable
+  private JavaFileScannerContext context;
   @VisibleForTesting
   int steps;
 
@@ -157,6 +162,12 @@ public class ExplodedGraphWalker {
   }
   @VisibleForTesting
   public ExplodedGraphWalker() {
+    this(new SymbolicExecutionSettings());
+  }
+
+  @VisibleForTesting
+  ExplodedGraphWalker(SymbolicExecutionSettings settings) {
+    this.settings = settings;
     alwaysTrueOrFalseChecker = new ConditionAlwaysTrueOrFalseCheck();
     List<SECheck> checks = Lists.newArrayList(alwaysTrueOrFalseChecker, new NullDereferenceCheck(), new DivisionByZeroCheck(),
       new UnclosedResourcesCheck(), new LocksNotUnlockedCheck(), new NonNullSetToNullCheck(), new NoWayOutLoopCheck());
@@ -170,9 +181,11 @@ public class ExplodedGraphWalker {
     this.cleanup = cleanup;
   }
 
-  private ExplodedGraphWalker(ConditionAlwaysTrueOrFalseCheck alwaysTrueOrFalseChecker, List<SECheck> seChecks, SymbolicExecutionVisitor.BehaviorCache behaviorCache) {
+  private ExplodedGraphWalker(ConditionAlwaysTrueOrFalseCheck alwaysTrueOrFalseChecker, List<SECheck> seChecks, Map<Tree.Kind, List<SECheck>> checksByKind,
+    SymbolicExecutionVisitor.BehaviorCache behaviorCache, SymbolicExecutionSettings settings) {
+    this.settings = settings;
     this.alwaysTrueOrFalseChecker = alwaysTrueOrFalseChecker;
-    this.checkerDispatcher = new CheckerDispatcher(this, seChecks);
+    this.checkerDispatcher = new CheckerDispatcher(this, seChecks, checksByKind);
     this.behaviorCache = behaviorCache;
   }
 
@@ -180,6 +193,20 @@ public class ExplodedGraphWalker {
     return explodedGraph;
   }
 
+  /**
+   * Time, as given by {@link System#nanoTime()}, after which the exploration of the method is interrupted, in addition to its own time budget.
+   */
+  void setDeadline(long deadline) {
+    this.deadline = deadline;
+  }
+
+  /**
+   * Context of the file of the explored methods, providing their control flow graph and live variables.
+   */
+  void setContext(@Nullable JavaFileScannerContext context) {
+    this.context = context;
+  }
+
   public MethodBehavior visitMethod(MethodTree tree, MethodBehavior methodBehavior) {
     BlockTree body = tree.block();
     this.methodBehavior = methodBehavior;
@@ -190,13 +217,13 @@ public class ExplodedGraphWalker {
   }
 
   private void execute(MethodTree tree) {
-    CFG cfg = CFG.build(tree);
+    CFG cfg = DefaultJavaFileScannerContext.cfgFor(context, tree);
     checkerDispatcher.init(tree, cfg);
-    liveVariables = LiveVariables.analyze(cfg);
+    liveVariables = DefaultJavaFileScannerContext.liveVariablesFor(context, tree, cfg);
     explodedGraph = new ExplodedGraph();
     methodTree = tree;
     constraintManager = new ConstraintManager();
-    workList = new LinkedList<>();
+    workList = settings.workListStrategy().create();
     // Linked hashSet is required to guarantee order of yields to be generated
     endOfExecutionPath = new LinkedHashSet<>();
     if(DEBUG_MODE_ACTIVATED) {
@@ -204,16 +231,22 @@ public class ExplodedGraphWalker {
     }
     programState = ProgramState.EMPTY_STATE;
     steps = 0;
+    long methodDeadline = deadline;
+    if (settings.methodTimeBudgetMillis() > 0) {
+      methodDeadline = Math.min(methodDeadline, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.methodTimeBudgetMillis()));
+    }
     for (ProgramState startingState : startingStates(tree, programState)) {
       enqueue(new ExplodedGraph.ProgramPoint(cfg.entry(), 0), startingState);
     }
     while (!workList.isEmpty()) {
       steps++;
-      if (steps > MAX_STEPS) {
+      if (steps > settings.maxSteps()) {
         throwMaxSteps(tree);
       }
-      // LIFO:
-      setNode(workList.removeFirst());
+      if (steps % TIME_CHECK_PERIOD == 0 && System.nanoTime() > methodDeadline) {
+        throwTimeBudgetExceeded(tree);
+      }
+      setNode(workList.pop());
       if (programPosition.block.successors().isEmpty()) {
         endOfExecutionPath.add(node);
         continue;
@@ -258,7 +291,14 @@ public class ExplodedGraphWalker {
   private void throwMaxSteps(MethodTree tree) {
     interrupted();
     String message = String.format("reached limit of %d steps for method %s#%d in class %s",
-      MAX_STEPS, tree.simpleName().name(), tree.simpleName().firstToken().line(), tree.symbol().owner().name());
+      settings.maxSteps(), tree.simpleName().name(), tree.simpleName().firstToken().line(), tree.symbol().owner().name());
+    throw new MaximumStepsReachedException(message);
+  }
+
+  private void throwTimeBudgetExceeded(MethodTree tree) {
+    interrupted();
+    String message = String.format("reached time budget after %d steps for method %s#%d in class %s",
+      steps, tree.simpleName().name(), tree.simpleName().firstToken().line(), tree.symbol().owner().name());
     throw new MaximumStepsReachedException(message);
   }
 
@@ -579,7 +619,7 @@ public class ExplodedGraphWalker {
     ProgramState.Pop pop = programState.unstackValue(1);
     pop.values.forEach(v -> v.setConstraint(pop.state, BooleanConstraint.TRUE)
       .forEach(ps -> {
-        checkerDispatcher.syntaxNode = tree;
+        checkerDispatcher.setSyntaxNode(tree);
         checkerDispatcher.addTransition(ps);
         ps.clearStack();
       }));
@@ -624,7 +664,7 @@ public class ExplodedGraphWalker {
         .flatMap(yield -> yield.statesAfterInvocation(invocationArguments, invocationTypes, programState, () -> resultValue))
         .map(psYield -> handleSpecialMethods(psYield, mit))
         .forEach(psYield -> {
-          checkerDispatcher.syntaxNode = mit;
+          checkerDispatcher.setSyntaxNode(mit);
           checkerDispatcher.addTransition(psYield);
           clearStack(mit);
         });
@@ -1031,7 +1071,7 @@ public class ExplodedGraphWalker {
       cachedNode.happyPath = node.happyPath;
     }
     cachedNode.setParent(node, methodYield);
-    workList.addFirst(cachedNode);
+    workList.push(cachedNode);
   }
 
   private static boolean isRestartingForEachLoop(ExplodedGraph.ProgramPoint programPoint) {
@@ -1041,7 +1081,7 @@ public class ExplodedGraphWalker {
 
   private void checkExplodedGraphTooBig(ProgramState programState) {
     // Arbitrary formula to avoid out of memory errors
-    if (steps + workList.size() > MAX_STEPS / 2 && programState.constraintsSize() > 75) {
+    if (steps + workList.size() > settings.maxSteps() / 2 && programState.constraintsSize() > 75) {
       throw new ExplodedGraphTooBigException("Program state constraints are too big : stopping Symbolic Execution for method "
         + methodTree.simpleName().name() + " in class " + methodTree.symbol().owner().name());
     }
@@ -1057,8 +1097,16 @@ public class ExplodedGraphWalker {
     private final ConditionAlwaysTrueOrFalseCheck alwaysTrueOrFalseChecker;
     @VisibleForTesting
     final List<SECheck> seChecks = new ArrayList<>();
+    // computed once for all the walkers, a walker being created for each explored method
+    private final Map<Tree.Kind, List<SECheck>> checksByKind;
+    private final SymbolicExecutionSettings settings;
 
     public ExplodedGraphWalkerFactory(List<JavaFileScanner> scanners) {
+      this(scanners, new SymbolicExecutionSettings());
+    }
+
+    public ExplodedGraphWalkerFactory(List<JavaFileScanner> scanners, SymbolicExecutionSettings settings) {
+      this.settings = settings;
       List<SECheck> checks = new ArrayList<>();
       for (JavaFileScanner scanner : scanners) {
         if (scanner instanceof SECheck) {
@@ -1076,10 +1124,11 @@ public class ExplodedGraphWalker {
       seChecks.add(removeOrDefault(checks, new NoWayOutLoopCheck()));
       seChecks.add(removeOrDefault(checks, new OptionalGetBeforeIsPresentCheck()));
       seChecks.addAll(checks);
+      checksByKind = CheckerDispatcher.checksByKind(seChecks);
     }
 
     public ExplodedGraphWalker createWalker(SymbolicExecutionVisitor.BehaviorCache behaviorCache) {
-      return new ExplodedGraphWalker(alwaysTrueOrFalseChecker, seChecks, behaviorCache);
+      return new ExplodedGraphWalker(alwaysTrueOrFalseChecker, seChecks, checksByKind, behaviorCache, settings);
     }
 
     @SuppressWarnings("unchecked")
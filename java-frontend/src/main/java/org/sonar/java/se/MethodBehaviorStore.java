@@ -0,0 +1,444 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import org.sonar.api.utils.log.Logger;
+import org.sonar.api.utils.log.Loggers;
+import org.sonar.java.resolve.JavaType;
+import org.sonar.java.se.constraint.BooleanConstraint;
+import org.sonar.java.se.constraint.Constraint;
+import org.sonar.java.se.constraint.ObjectConstraint;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.semantic.Type;
+
+import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+/**
+ * Behaviors of the methods of a project, shared by the symbolic execution of all its files: the behavior of a method explored in one file
+ * is reused when another file calls this method.
+ * Behaviors are kept in a compact form, without flows nor reference to the semantic of the file declaring the method, so only behaviors
+ * made of nullness and boolean constraints are stored.
+ * The store can be saved between two analyses. A behavior also depends on the behaviors of the methods it calls, so it is discarded
+ * when the file declaring its method, or any file declaring a method whose stored behavior was used to compute it, has changed.
+ */
+public class MethodBehaviorStore {
+
+  private static final Logger LOG = Loggers.get(MethodBehaviorStore.class);
+
+  private static final String FORMAT = "sonar-java-method-behaviors";
+  /**
+   * Version of the format of saved stores, to increase whenever this format changes. Stores saved with another version are discarded.
+   */
+  @VisibleForTesting
+  static final int FORMAT_VERSION = 1;
+
+  /**
+   * File of behaviors computed for methods of files which can not be saved (files not on disk).
+   */
+  private static final String UNSAVED_FILE = "";
+
+  private final ConcurrentMap<String, StoredBehavior> behaviors = new ConcurrentHashMap<>();
+
+  /**
+   * Stores the completed behavior of a method declared in the given file, without dependency on other files.
+   */
+  void put(Symbol.MethodSymbol symbol, MethodBehavior behavior, @Nullable File file) {
+    put(symbol, behavior, file, Collections.emptySet());
+  }
+
+  /**
+   * Stores the completed behavior of a method declared in the given file.
+   * @param usedFiles files of the stored behaviors used to compute this behavior, as collected by {@link #get(Symbol.MethodSymbol, Set)}
+   */
+  void put(Symbol.MethodSymbol symbol, MethodBehavior behavior, @Nullable File file, Collection<String> usedFiles) {
+    String signature = signature(symbol);
+    if (signature == null) {
+      return;
+    }
+    Set<String> files = new LinkedHashSet<>();
+    files.add(file == null ? UNSAVED_FILE : file.getAbsolutePath());
+    files.addAll(usedFiles);
+    StoredBehavior storedBehavior = StoredBehavior.of(behavior, files.toArray(new String[files.size()]));
+    if (storedBehavior != null) {
+      behaviors.put(signature, storedBehavior);
+    }
+  }
+
+  /**
+   * @return the behavior of the given method, computed while analyzing the file declaring it, or null if it is unknown
+   */
+  @CheckForNull
+  MethodBehavior get(Symbol.MethodSymbol symbol) {
+    return get(symbol, ConcurrentHashMap.newKeySet());
+  }
+
+  /**
+   * @param usedFiles filled with the files the returned behavior depends on: the file declaring the method and the files this behavior
+   * itself depends on
+   * @return the behavior of the given method, computed while analyzing the file declaring it, or null if it is unknown
+   */
+  @CheckForNull
+  MethodBehavior get(Symbol.MethodSymbol symbol, Set<String> usedFiles) {
+    String signature = signature(symbol);
+    StoredBehavior storedBehavior = signature == null ? null : behaviors.get(signature);
+    if (storedBehavior == null) {
+      return null;
+    }
+    usedFiles.addAll(Arrays.asList(storedBehavior.files));
+    return storedBehavior.toMethodBehavior(symbol);
+  }
+
+  @VisibleForTesting
+  int size() {
+    return behaviors.size();
+  }
+
+  /**
+   * @return signature identifying the method in all the files of the project, or null for methods of local or anonymous classes
+   */
+  @CheckForNull
+  @VisibleForTesting
+  static String signature(Symbol.MethodSymbol symbol) {
+    Symbol owner = symbol.owner();
+    if (!isAccessibleFromOtherFiles(owner) || owner.type().isUnknown() || symbol.parameterTypes().stream().anyMatch(Type::isUnknown)) {
+      return null;
+    }
+    return owner.type().fullyQualifiedName() + "#" + symbol.name()
+      + symbol.parameterTypes().stream().map(MethodBehaviorStore::erasedName).collect(Collectors.joining(",", "(", ")"));
+  }
+
+  private static String erasedName(Type type) {
+    if (type.isArray()) {
+      return erasedName(((Type.ArrayType) type).elementType()) + "[]";
+    }
+    return ((JavaType) type).erasure().fullyQualifiedName();
+  }
+
+  private static boolean isAccessibleFromOtherFiles(Symbol typeSymbol) {
+    Symbol owner = typeSymbol;
+    while (owner.isTypeSymbol()) {
+      if (owner.name().isEmpty()) {
+        // anonymous class
+        return false;
+      }
+      owner = owner.owner();
+    }
+    return owner.isPackageSymbol();
+  }
+
+  /**
+   * Saves the behaviors along with the hash of the files they depend on. Behaviors depending on a file which can not be hashed are not saved.
+   */
+  public void save(File storeFile) {
+    Map<String, String> fileHashes = new HashMap<>();
+    Map<String, StoredBehavior> savedBehaviors = new HashMap<>();
+    behaviors.forEach((signature, behavior) -> {
+      if (Arrays.stream(behavior.files).allMatch(file -> fileHashes.computeIfAbsent(file, MethodBehaviorStore::hash) != null)) {
+        savedBehaviors.put(signature, behavior);
+      }
+    });
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(storeFile)))) {
+      out.writeUTF(FORMAT);
+      out.writeInt(FORMAT_VERSION);
+      out.writeInt(fileHashes.size());
+      for (Map.Entry<String, String> fileHash : fileHashes.entrySet()) {
+        out.writeUTF(fileHash.getKey());
+        out.writeUTF(fileHash.getValue());
+      }
+      out.writeInt(savedBehaviors.size());
+      for (Map.Entry<String, StoredBehavior> behavior : savedBehaviors.entrySet()) {
+        out.writeUTF(behavior.getKey());
+        behavior.getValue().write(out);
+      }
+    } catch (IOException e) {
+      LOG.warn("Unable to save method behaviors to " + storeFile.getAbsolutePath(), e);
+    }
+  }
+
+  /**
+   * Loads the behaviors saved by a previous analysis, ignoring the ones depending on files which have changed since.
+   * Stores saved in another format are ignored.
+   */
+  public static MethodBehaviorStore load(File storeFile) {
+    MethodBehaviorStore store = new MethodBehaviorStore();
+    if (!storeFile.isFile()) {
+      return store;
+    }
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(storeFile)))) {
+      if (!FORMAT.equals(in.readUTF()) || in.readInt() != FORMAT_VERSION) {
+        LOG.info("Method behaviors of " + storeFile.getAbsolutePath() + " were saved in another format, they are ignored");
+        return store;
+      }
+      Map<String, String> savedHashes = new HashMap<>();
+      int fileCount = readLength(in);
+      for (int i = 0; i < fileCount; i++) {
+        savedHashes.put(in.readUTF(), in.readUTF());
+      }
+      Map<String, String> currentHashes = new HashMap<>();
+      Map<String, StoredBehavior> loadedBehaviors = new HashMap<>();
+      int behaviorCount = readLength(in);
+      for (int i = 0; i < behaviorCount; i++) {
+        String signature = in.readUTF();
+        StoredBehavior behavior = StoredBehavior.read(in);
+        boolean unchanged = Arrays.stream(behavior.files).allMatch(file -> {
+          String currentHash = currentHashes.computeIfAbsent(file, MethodBehaviorStore::hash);
+          return currentHash != null && currentHash.equals(savedHashes.get(file));
+        });
+        if (unchanged) {
+          loadedBehaviors.put(signature, behavior);
+        }
+      }
+      store.behaviors.putAll(loadedBehaviors);
+    } catch (IOException | IllegalArgumentException e) {
+      LOG.warn("Unable to load method behaviors from " + storeFile.getAbsolutePath(), e);
+    }
+    return store;
+  }
+
+  private static int readLength(DataInputStream in) throws IOException {
+    int length = in.readInt();
+    if (length < 0) {
+      throw new IllegalArgumentException("Invalid length: " + length);
+    }
+    return length;
+  }
+
+  @CheckForNull
+  private static String hash(String file) {
+    if (UNSAVED_FILE.equals(file)) {
+      return null;
+    }
+    try {
+      return Files.hash(new File(file), Hashing.md5()).toString();
+    } catch (IOException e) {
+      LOG.debug("Unable to hash " + file, e);
+      return null;
+    }
+  }
+
+  private enum StoredConstraint {
+    NULL(ObjectConstraint.nullConstraint()),
+    NOT_NULL(ObjectConstraint.notNull()),
+    TRUE(BooleanConstraint.TRUE),
+    FALSE(BooleanConstraint.FALSE);
+
+    private final Constraint constraint;
+
+    StoredConstraint(Constraint constraint) {
+      this.constraint = constraint;
+    }
+
+    @CheckForNull
+    static StoredConstraint of(Constraint constraint) {
+      for (StoredConstraint storedConstraint : values()) {
+        if (storedConstraint.constraint.equals(constraint)) {
+          return storedConstraint;
+        }
+      }
+      return null;
+    }
+
+    static void write(@Nullable StoredConstraint constraint, DataOutputStream out) throws IOException {
+      out.writeByte(constraint == null ? -1 : constraint.ordinal());
+    }
+
+    @CheckForNull
+    static StoredConstraint read(DataInputStream in) throws IOException {
+      byte ordinal = in.readByte();
+      if (ordinal < -1 || ordinal >= values().length) {
+        throw new IllegalArgumentException("Invalid constraint: " + ordinal);
+      }
+      return ordinal == -1 ? null : values()[ordinal];
+    }
+  }
+
+  private static class StoredYield {
+    private final boolean varArgs;
+    private final StoredConstraint[] parametersConstraints;
+    private final int resultIndex;
+    @Nullable
+    private final StoredConstraint resultConstraint;
+    private final boolean exception;
+    @Nullable
+    private final String exceptionType;
+
+    private StoredYield(boolean varArgs, StoredConstraint[] parametersConstraints, int resultIndex, @Nullable StoredConstraint resultConstraint,
+      boolean exception, @Nullable String exceptionType) {
+      this.varArgs = varArgs;
+      this.parametersConstraints = parametersConstraints;
+      this.resultIndex = resultIndex;
+      this.resultConstraint = resultConstraint;
+      this.exception = exception;
+      this.exceptionType = exceptionType;
+    }
+
+    /**
+     * @return the stored yield, or null when the yield has constraints which can not be stored
+     */
+    @CheckForNull
+    static StoredYield of(MethodYield yield) {
+      StoredConstraint[] parametersConstraints = new StoredConstraint[yield.parametersConstraints.length];
+      for (int i = 0; i < parametersConstraints.length; i++) {
+        Constraint constraint = yield.parametersConstraints[i];
+        if (constraint != null) {
+          parametersConstraints[i] = StoredConstraint.of(constraint);
+          if (parametersConstraints[i] == null) {
+            return null;
+          }
+        }
+      }
+      StoredConstraint resultConstraint = null;
+      if (yield.resultConstraint != null) {
+        resultConstraint = StoredConstraint.of(yield.resultConstraint);
+        if (resultConstraint == null) {
+          return null;
+        }
+      }
+      String exceptionType = yield.exceptionType == null ? null : yield.exceptionType.fullyQualifiedName();
+      return new StoredYield(yield.varArgs, parametersConstraints, yield.resultIndex, resultConstraint, yield.exception, exceptionType);
+    }
+
+    MethodYield toMethodYield(Symbol.MethodSymbol symbol) {
+      MethodYield yield = new MethodYield(parametersConstraints.length, varArgs);
+      for (int i = 0; i < parametersConstraints.length; i++) {
+        yield.parametersConstraints[i] = parametersConstraints[i] == null ? null : parametersConstraints[i].constraint;
+      }
+      yield.resultIndex = resultIndex;
+      yield.resultConstraint = resultConstraint == null ? null : resultConstraint.constraint;
+      yield.exception = exception;
+      if (exceptionType != null) {
+        // types of the file declaring the method are not available: only thrown types of the method can be retrieved,
+        // other exceptions are considered as unknown runtime exceptions
+        yield.exceptionType = symbol.thrownTypes().stream().filter(type -> type.is(exceptionType)).findFirst().orElse(null);
+      }
+      return yield;
+    }
+
+    void write(DataOutputStream out) throws IOException {
+      out.writeBoolean(varArgs);
+      out.writeInt(parametersConstraints.length);
+      for (StoredConstraint parameterConstraint : parametersConstraints) {
+        StoredConstraint.write(parameterConstraint, out);
+      }
+      out.writeInt(resultIndex);
+      StoredConstraint.write(resultConstraint, out);
+      out.writeBoolean(exception);
+      out.writeBoolean(exceptionType != null);
+      if (exceptionType != null) {
+        out.writeUTF(exceptionType);
+      }
+    }
+
+    static StoredYield read(DataInputStream in) throws IOException {
+      boolean varArgs = in.readBoolean();
+      StoredConstraint[] parametersConstraints = new StoredConstraint[readLength(in)];
+      for (int i = 0; i < parametersConstraints.length; i++) {
+        parametersConstraints[i] = StoredConstraint.read(in);
+      }
+      int resultIndex = in.readInt();
+      StoredConstraint resultConstraint = StoredConstraint.read(in);
+      boolean exception = in.readBoolean();
+      String exceptionType = in.readBoolean() ? in.readUTF() : null;
+      return new StoredYield(varArgs, parametersConstraints, resultIndex, resultConstraint, exception, exceptionType);
+    }
+  }
+
+  private static class StoredBehavior {
+    /**
+     * File declaring the method, followed by the files of the stored behaviors used to compute this behavior.
+     */
+    private final String[] files;
+    private final StoredYield[] yields;
+
+    private StoredBehavior(String[] files, StoredYield[] yields) {
+      this.files = files;
+      this.yields = yields;
+    }
+
+    @CheckForNull
+    static StoredBehavior of(MethodBehavior behavior, String[] files) {
+      List<MethodYield> methodYields = behavior.yields();
+      StoredYield[] yields = new StoredYield[methodYields.size()];
+      for (int i = 0; i < yields.length; i++) {
+        yields[i] = StoredYield.of(methodYields.get(i));
+        if (yields[i] == null) {
+          return null;
+        }
+      }
+      return new StoredBehavior(files, yields);
+    }
+
+    MethodBehavior toMethodBehavior(Symbol.MethodSymbol symbol) {
+      MethodBehavior behavior = new MethodBehavior(symbol);
+      for (StoredYield yield : yields) {
+        behavior.addYield(yield.toMethodYield(symbol));
+      }
+      behavior.completed();
+      return behavior;
+    }
+
+    void write(DataOutputStream out) throws IOException {
+      out.writeInt(files.length);
+      for (String file : files) {
+        out.writeUTF(file);
+      }
+      out.writeInt(yields.length);
+      for (StoredYield yield : yields) {
+        yield.write(out);
+      }
+    }
+
+    static StoredBehavior read(DataInputStream in) throws IOException {
+      String[] files = new String[readLength(in)];
+      for (int i = 0; i < files.length; i++) {
+        files[i] = in.readUTF();
+      }
+      StoredYield[] yields = new StoredYield[readLength(in)];
+      for (int i = 0; i < yields.length; i++) {
+        yields[i] = StoredYield.read(in);
+      }
+      return new StoredBehavior(files, yields);
+    }
+  }
+
+}
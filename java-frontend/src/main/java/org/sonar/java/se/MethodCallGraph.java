@@ -0,0 +1,150 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se;
+
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Calls between the methods of a file, grouped by strongly connected components: methods of a component call each other (recursively),
+ * and a component only calls methods of the components preceding it. Components can then be explored independently once the components
+ * they call are explored.
+ */
+class MethodCallGraph {
+
+  private final List<MethodTree> methods;
+  private final Map<Symbol.MethodSymbol, Integer> indexes = new HashMap<>();
+  private final List<Set<Integer>> calls = new ArrayList<>();
+
+  // state of the Tarjan algorithm
+  private final int[] lowLinks;
+  private final int[] visitIndexes;
+  private final boolean[] onStack;
+  private final Deque<Integer> stack = new ArrayDeque<>();
+  private int visitIndex = 0;
+  private final int[] componentOfMethod;
+  private final List<Component> components = new ArrayList<>();
+
+  private MethodCallGraph(List<MethodTree> methods) {
+    this.methods = methods;
+    for (int i = 0; i < methods.size(); i++) {
+      indexes.put(methods.get(i).symbol(), i);
+    }
+    for (MethodTree method : methods) {
+      calls.add(calledMethods(method));
+    }
+    lowLinks = new int[methods.size()];
+    visitIndexes = new int[methods.size()];
+    onStack = new boolean[methods.size()];
+    componentOfMethod = new int[methods.size()];
+  }
+
+  /**
+   * @param methods methods of a file, in the order of the file
+   * @return components of the call graph, each of them after the components it calls. Methods of a component are in the order of the file.
+   */
+  static List<Component> components(List<MethodTree> methods) {
+    MethodCallGraph graph = new MethodCallGraph(methods);
+    for (int i = 0; i < methods.size(); i++) {
+      if (graph.visitIndexes[i] == 0) {
+        graph.visit(i);
+      }
+    }
+    return graph.components;
+  }
+
+  private Set<Integer> calledMethods(MethodTree method) {
+    Set<Integer> called = new LinkedHashSet<>();
+    method.accept(new BaseTreeVisitor() {
+      @Override
+      public void visitMethodInvocation(MethodInvocationTree tree) {
+        Symbol symbol = tree.symbol();
+        if (symbol.isMethodSymbol()) {
+          Integer index = indexes.get(symbol);
+          if (index != null) {
+            called.add(index);
+          }
+        }
+        super.visitMethodInvocation(tree);
+      }
+    });
+    return called;
+  }
+
+  private void visit(int method) {
+    visitIndex++;
+    visitIndexes[method] = visitIndex;
+    lowLinks[method] = visitIndex;
+    stack.push(method);
+    onStack[method] = true;
+    for (int called : calls.get(method)) {
+      if (visitIndexes[called] == 0) {
+        visit(called);
+        lowLinks[method] = Math.min(lowLinks[method], lowLinks[called]);
+      } else if (onStack[called]) {
+        lowLinks[method] = Math.min(lowLinks[method], visitIndexes[called]);
+      }
+    }
+    if (lowLinks[method] == visitIndexes[method]) {
+      createComponent(method);
+    }
+  }
+
+  private void createComponent(int root) {
+    Component component = new Component();
+    List<Integer> members = new ArrayList<>();
+    int member;
+    do {
+      member = stack.pop();
+      onStack[member] = false;
+      componentOfMethod[member] = components.size();
+      members.add(member);
+    } while (member != root);
+    members.sort(Comparator.naturalOrder());
+    for (int index : members) {
+      component.methods.add(methods.get(index));
+      for (int called : calls.get(index)) {
+        // other called components are already created, as Tarjan algorithm completes them before the components calling them
+        if (componentOfMethod[called] != components.size()) {
+          component.calledComponents.add(components.get(componentOfMethod[called]));
+        }
+      }
+    }
+    components.add(component);
+  }
+
+  static class Component {
+    final List<MethodTree> methods = new ArrayList<>();
+    final Set<Component> calledComponents = new LinkedHashSet<>();
+  }
+
+}
@@ -46,7 +46,7 @@ import java.util.stream.Stream;
 
 public class MethodYield {
   final List<List<JavaFileScannerContext.Location>> flowByParameters;
-  private final boolean varArgs;
+  final boolean varArgs;
   Constraint[] parametersConstraints;
   int resultIndex;
   @Nullable
@@ -21,9 +21,10 @@ package org.sonar.java.se;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Lists;
 import org.sonar.java.collections.PCollections;
 import org.sonar.java.collections.PMap;
+import org.sonar.java.collections.PSet;
+import org.sonar.java.collections.PStack;
 import org.sonar.java.se.constraint.BooleanConstraint;
 import org.sonar.java.se.constraint.Constraint;
 import org.sonar.java.se.constraint.ConstraintManager;
@@ -38,9 +39,7 @@ import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Deque;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -71,8 +70,9 @@ public class ProgramState {
       .put(SymbolicValue.NULL_LITERAL, ObjectConstraint.nullConstraint())
       .put(SymbolicValue.TRUE_LITERAL, BooleanConstraint.TRUE)
       .put(SymbolicValue.FALSE_LITERAL, BooleanConstraint.FALSE),
+    KnownRelations.EMPTY,
     PCollections.emptyMap(),
-    Lists.<SymbolicValue>newLinkedList(),
+    PCollections.emptyStack(),
     null);
 
   private final PMap<ExplodedGraph.ProgramPoint, Integer> visitedPoints;
@@ -80,44 +80,51 @@ public class ProgramState {
   @Nullable
   Symbol lastEvaluated;
 
-  private final Deque<SymbolicValue> stack;
+  private final PStack<SymbolicValue> stack;
   private final PMap<SymbolicValue, Integer> references;
   private SymbolicValue exitSymbolicValue;
   final PMap<Symbol, SymbolicValue> values;
   final PMap<SymbolicValue, Constraint> constraints;
+  /**
+   * Relations known to be true from the constraints on relational symbolic values.
+   */
+  private final KnownRelations knownRelations;
 
   private ProgramState(PMap<Symbol, SymbolicValue> values, PMap<SymbolicValue, Integer> references,
-    PMap<SymbolicValue, Constraint> constraints, PMap<ExplodedGraph.ProgramPoint, Integer> visitedPoints,
-    Deque<SymbolicValue> stack, SymbolicValue exitSymbolicValue) {
+    PMap<SymbolicValue, Constraint> constraints, KnownRelations knownRelations,
+    PMap<ExplodedGraph.ProgramPoint, Integer> visitedPoints, PStack<SymbolicValue> stack, SymbolicValue exitSymbolicValue) {
     this.values = values;
     this.references = references;
     this.constraints = constraints;
+    this.knownRelations = knownRelations;
     this.visitedPoints = visitedPoints;
     this.stack = stack;
     this.exitSymbolicValue = exitSymbolicValue;
     constraintSize = 3;
   }
   private ProgramState(Symbol symbol, PMap<Symbol, SymbolicValue> values, PMap<SymbolicValue, Integer> references,
-                       PMap<SymbolicValue, Constraint> constraints, PMap<ExplodedGraph.ProgramPoint, Integer> visitedPoints,
-                       Deque<SymbolicValue> stack, SymbolicValue exitSymbolicValue) {
-    this(values, references, constraints, visitedPoints, stack, exitSymbolicValue);
+                       PMap<SymbolicValue, Constraint> constraints, KnownRelations knownRelations,
+                       PMap<ExplodedGraph.ProgramPoint, Integer> visitedPoints, PStack<SymbolicValue> stack, SymbolicValue exitSymbolicValue) {
+    this(values, references, constraints, knownRelations, visitedPoints, stack, exitSymbolicValue);
     lastEvaluated = symbol;
   }
 
-  private ProgramState(ProgramState ps, Deque<SymbolicValue> newStack) {
+  private ProgramState(ProgramState ps, PStack<SymbolicValue> newStack) {
     values = ps.values;
     references = ps.references;
     constraints = ps.constraints;
+    knownRelations = ps.knownRelations;
     constraintSize = ps.constraintSize;
     visitedPoints = ps.visitedPoints;
     exitSymbolicValue = ps.exitSymbolicValue;
     stack = newStack;
   }
 
-  private ProgramState(ProgramState ps, PMap<SymbolicValue, Constraint> newConstraints) {
+  private ProgramState(ProgramState ps, PMap<SymbolicValue, Constraint> newConstraints, KnownRelations newKnownRelations) {
     values = ps.values;
     references = ps.references;
     constraints = newConstraints;
+    knownRelations = newKnownRelations;
     constraintSize = ps.constraintSize + 1;
     visitedPoints = ps.visitedPoints;
     exitSymbolicValue = ps.exitSymbolicValue;
@@ -125,9 +132,7 @@ public class ProgramState {
   }
 
   ProgramState stackValue(SymbolicValue sv) {
-    Deque<SymbolicValue> newStack = new LinkedList<>(stack);
-    newStack.push(sv);
-    return new ProgramState(this, newStack);
+    return new ProgramState(this, stack.push(sv));
   }
 
   ProgramState clearStack() {
@@ -139,23 +144,30 @@ public class ProgramState {
       return new Pop(this, Collections.<SymbolicValue>emptyList());
     }
     Preconditions.checkArgument(stack.size() >= nbElements, nbElements);
-    Deque<SymbolicValue> newStack = new LinkedList<>(stack);
-    List<SymbolicValue> result = Lists.newArrayList();
+    PStack<SymbolicValue> newStack = stack;
+    List<SymbolicValue> result = new ArrayList<>(nbElements);
     for (int i = 0; i < nbElements; i++) {
-      result.add(newStack.pop());
+      result.add(newStack.peek());
+      newStack = newStack.pop();
     }
     return new Pop(new ProgramState(this, newStack), result);
   }
 
   public SymbolicValue peekValue() {
-    return stack.peek();
+    return stack.isEmpty() ? null : stack.peek();
   }
 
   public List<SymbolicValue> peekValues(int n) {
     if (n > stack.size()) {
       throw new IllegalStateException("At least " + n + " values were expected on the stack!");
     }
-    return ImmutableList.copyOf(stack).subList(0, n);
+    ImmutableList.Builder<SymbolicValue> result = ImmutableList.builder();
+    PStack<SymbolicValue> values = stack;
+    for (int i = 0; i < n; i++) {
+      result.add(values.peek());
+      values = values.pop();
+    }
+    return result.build();
   }
 
   int numberOfTimeVisited(ExplodedGraph.ProgramPoint programPoint) {
@@ -199,7 +211,8 @@ public class ProgramState {
   public ProgramState addConstraint(SymbolicValue symbolicValue, Constraint constraint) {
     PMap<SymbolicValue, Constraint> newConstraints = constraints.put(symbolicValue, constraint);
     if (newConstraints != constraints) {
-      return new ProgramState(this, newConstraints);
+      KnownRelations newKnownRelations = removeKnownRelation(knownRelations, symbolicValue, constraints.get(symbolicValue));
+      return new ProgramState(this, newConstraints, addKnownRelation(newKnownRelations, symbolicValue, constraint));
     }
     return this;
   }
@@ -216,7 +229,7 @@ public class ProgramState {
       }
       newReferences = increaseReference(newReferences, value);
       PMap<Symbol, SymbolicValue> newValues = values.put(symbol, value);
-      return new ProgramState(symbol, newValues, newReferences, constraints, visitedPoints, stack, exitSymbolicValue);
+      return new ProgramState(symbol, newValues, newReferences, constraints, knownRelations, visitedPoints, stack, exitSymbolicValue);
     }
     if(lastEvaluated == null) {
       lastEvaluated = symbol;
@@ -247,13 +260,8 @@ public class ProgramState {
     return SymbolicValue.isDisposable(symbolicValue) && (constraint == null || !(constraint instanceof ObjectConstraint) || ((ObjectConstraint) constraint).isDisposable());
   }
 
-  private static boolean inStack(Deque<SymbolicValue> stack, SymbolicValue symbolicValue) {
-    for (SymbolicValue value : stack) {
-      if (value.equals(symbolicValue) || value.references(symbolicValue)) {
-        return true;
-      }
-    }
-    return false;
+  private static boolean inStack(PStack<SymbolicValue> stack, SymbolicValue symbolicValue) {
+    return stack.anyMatch(value -> value.equals(symbolicValue) || value.references(symbolicValue));
   }
 
   private static boolean isLocalVariable(Symbol symbol) {
@@ -266,6 +274,7 @@ public class ProgramState {
       PMap<Symbol, SymbolicValue> newValues = values;
       PMap<SymbolicValue, Integer> newReferences = references;
       PMap<SymbolicValue, Constraint> newConstraints = constraints;
+      KnownRelations newKnownRelations = knownRelations;
 
       @Override
       public void accept(Symbol symbol, SymbolicValue symbolicValue) {
@@ -273,8 +282,10 @@ public class ProgramState {
           newProgramState = true;
           newValues = newValues.remove(symbol);
           newReferences = decreaseReference(newReferences, symbolicValue);
-          if (!isReachable(symbolicValue, newReferences) && isDisposable(symbolicValue, newConstraints.get(symbolicValue)) && !inStack(stack, symbolicValue)) {
+          Constraint constraint = newConstraints.get(symbolicValue);
+          if (!isReachable(symbolicValue, newReferences) && isDisposable(symbolicValue, constraint) && !inStack(stack, symbolicValue)) {
             newConstraints = newConstraints.remove(symbolicValue);
+            newKnownRelations = removeKnownRelation(newKnownRelations, symbolicValue, constraint);
             newReferences = newReferences.remove(symbolicValue);
           }
         }
@@ -282,7 +293,8 @@ public class ProgramState {
     }
     CleanAction cleanAction = new CleanAction();
     values.forEach(cleanAction);
-    return cleanAction.newProgramState ? new ProgramState(cleanAction.newValues, cleanAction.newReferences, cleanAction.newConstraints, visitedPoints, stack, exitSymbolicValue)
+    return cleanAction.newProgramState
+      ? new ProgramState(cleanAction.newValues, cleanAction.newReferences, cleanAction.newConstraints, cleanAction.newKnownRelations, visitedPoints, stack, exitSymbolicValue)
       : this;
   }
 
@@ -290,6 +302,7 @@ public class ProgramState {
     class CleanAction implements BiConsumer<SymbolicValue, Constraint> {
       boolean newProgramState = false;
       PMap<SymbolicValue, Constraint> newConstraints = constraints;
+      KnownRelations newKnownRelations = knownRelations;
       PMap<SymbolicValue, Integer> newReferences = references;
 
       @Override
@@ -297,13 +310,16 @@ public class ProgramState {
         if (!isReachable(symbolicValue, newReferences) && isDisposable(symbolicValue, constraint) && !inStack(stack, symbolicValue)) {
           newProgramState = true;
           newConstraints = newConstraints.remove(symbolicValue);
+          newKnownRelations = removeKnownRelation(newKnownRelations, symbolicValue, constraint);
           newReferences = newReferences.remove(symbolicValue);
         }
       }
     }
     CleanAction cleanAction = new CleanAction();
     constraints.forEach(cleanAction);
-    return cleanAction.newProgramState ? new ProgramState(values, cleanAction.newReferences, cleanAction.newConstraints, visitedPoints, stack, exitSymbolicValue) : this;
+    return cleanAction.newProgramState
+      ? new ProgramState(values, cleanAction.newReferences, cleanAction.newConstraints, cleanAction.newKnownRelations, visitedPoints, stack, exitSymbolicValue)
+      : this;
   }
 
   public ProgramState resetFieldValues(ConstraintManager constraintManager) {
@@ -331,7 +347,7 @@ public class ProgramState {
       newValues = newValues.put(symbol, newValue);
       newReferences = increaseReference(newReferences, newValue);
     }
-    return new ProgramState(newValues, newReferences, constraints, visitedPoints, stack, exitSymbolicValue);
+    return new ProgramState(newValues, newReferences, constraints, knownRelations, visitedPoints, stack, exitSymbolicValue);
   }
 
   public static boolean isField(Symbol symbol) {
@@ -348,7 +364,7 @@ public class ProgramState {
   }
 
   public ProgramState visitedPoint(ExplodedGraph.ProgramPoint programPoint, int nbOfVisit) {
-    return new ProgramState(values, references, constraints, visitedPoints.put(programPoint, nbOfVisit), stack, exitSymbolicValue);
+    return new ProgramState(values, references, constraints, knownRelations, visitedPoints.put(programPoint, nbOfVisit), stack, exitSymbolicValue);
   }
 
   @CheckForNull
@@ -378,19 +394,88 @@ public class ProgramState {
     return result;
   }
 
-  public List<BinaryRelation> getKnownRelations() {
-    final List<BinaryRelation> knownRelations = new ArrayList<>();
-    constraints.forEach((symbolicValue, constraint) -> {
-      BinaryRelation relation = symbolicValue.binaryRelation();
-      if (relation != null) {
-        if (BooleanConstraint.TRUE.equals(constraint)) {
-          knownRelations.add(relation);
-        } else if (BooleanConstraint.FALSE.equals(constraint)) {
-          knownRelations.add(relation.inverse());
+  /**
+   * @return the known relations having the supplied symbolic value as one of their operands
+   */
+  public PSet<BinaryRelation> getKnownRelations(SymbolicValue operand) {
+    return knownRelations.get(operand);
+  }
+
+  @CheckForNull
+  private static BinaryRelation knownRelation(SymbolicValue symbolicValue, @Nullable Constraint constraint) {
+    BinaryRelation relation = symbolicValue.binaryRelation();
+    if (relation != null) {
+      if (BooleanConstraint.TRUE.equals(constraint)) {
+        return relation;
+      } else if (BooleanConstraint.FALSE.equals(constraint)) {
+        return relation.inverse();
+      }
+    }
+    return null;
+  }
+
+  private static KnownRelations addKnownRelation(KnownRelations knownRelations, SymbolicValue symbolicValue, Constraint constraint) {
+    BinaryRelation relation = knownRelation(symbolicValue, constraint);
+    return relation == null ? knownRelations : knownRelations.add(relation, symbolicValue);
+  }
+
+  private static KnownRelations removeKnownRelation(KnownRelations knownRelations, SymbolicValue symbolicValue, @Nullable Constraint constraint) {
+    BinaryRelation relation = knownRelation(symbolicValue, constraint);
+    return relation == null ? knownRelations : knownRelations.remove(relation, symbolicValue);
+  }
+
+  /**
+   * Relations known to be true, indexed by each of their operands. Several relational symbolic values can imply the same relation, so the
+   * symbolic values implying each relation are kept along with it: a relation is only removed once none of them implies it anymore.
+   */
+  private static final class KnownRelations {
+    private static final KnownRelations EMPTY = new KnownRelations(PCollections.emptyMap(), PCollections.emptyMap());
+
+    private final PMap<SymbolicValue, PSet<BinaryRelation>> relationsByOperand;
+    private final PMap<BinaryRelation, PSet<SymbolicValue>> sources;
+
+    private KnownRelations(PMap<SymbolicValue, PSet<BinaryRelation>> relationsByOperand, PMap<BinaryRelation, PSet<SymbolicValue>> sources) {
+      this.relationsByOperand = relationsByOperand;
+      this.sources = sources;
+    }
+
+    PSet<BinaryRelation> get(SymbolicValue operand) {
+      PSet<BinaryRelation> relations = relationsByOperand.get(operand);
+      return relations == null ? PCollections.emptySet() : relations;
+    }
+
+    KnownRelations add(BinaryRelation relation, SymbolicValue source) {
+      PSet<SymbolicValue> relationSources = sources.get(relation);
+      if (relationSources != null) {
+        return new KnownRelations(relationsByOperand, sources.put(relation, relationSources.add(source)));
+      }
+      PMap<SymbolicValue, PSet<BinaryRelation>> result = relationsByOperand;
+      for (SymbolicValue operand : relation.operands()) {
+        PSet<BinaryRelation> relations = result.get(operand);
+        result = result.put(operand, (relations == null ? PCollections.<BinaryRelation>emptySet() : relations).add(relation));
+      }
+      return new KnownRelations(result, sources.put(relation, PCollections.<SymbolicValue>emptySet().add(source)));
+    }
+
+    KnownRelations remove(BinaryRelation relation, SymbolicValue source) {
+      PSet<SymbolicValue> relationSources = sources.get(relation);
+      if (relationSources == null || !relationSources.contains(source)) {
+        return this;
+      }
+      relationSources = relationSources.remove(source);
+      if (!relationSources.isEmpty()) {
+        return new KnownRelations(relationsByOperand, sources.put(relation, relationSources));
+      }
+      PMap<SymbolicValue, PSet<BinaryRelation>> result = relationsByOperand;
+      for (SymbolicValue operand : relation.operands()) {
+        PSet<BinaryRelation> relations = result.get(operand);
+        if (relations != null) {
+          relations = relations.remove(relation);
+          result = relations.isEmpty() ? result.remove(operand) : result.put(operand, relations);
         }
       }
-    });
-    return knownRelations;
+      return new KnownRelations(result, sources.remove(relation));
+    }
   }
 
   @CheckForNull
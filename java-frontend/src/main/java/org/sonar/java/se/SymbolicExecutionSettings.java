@@ -0,0 +1,91 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se;
+
+/**
+ * Exploration strategy and budget of the symbolic execution. When a method exceeds its budget, issues already found on its explored paths
+ * are kept, but no behavior is computed for it. When a file exceeds its budget, its remaining methods are not explored.
+ */
+public class SymbolicExecutionSettings {
+
+  /**
+   * Arbitrary number to limit symbolic execution.
+   */
+  public static final int DEFAULT_MAX_STEPS = 16_000;
+
+  private WorkList.Strategy workListStrategy = WorkList.Strategy.DEPTH_FIRST;
+  private int maxSteps = DEFAULT_MAX_STEPS;
+  private long methodTimeBudgetMillis = 0;
+  private long fileTimeBudgetMillis = 0;
+  private int threads = 1;
+
+  public WorkList.Strategy workListStrategy() {
+    return workListStrategy;
+  }
+
+  public void setWorkListStrategy(WorkList.Strategy workListStrategy) {
+    this.workListStrategy = workListStrategy;
+  }
+
+  /**
+   * Maximum number of steps to explore a method.
+   */
+  public int maxSteps() {
+    return maxSteps;
+  }
+
+  public void setMaxSteps(int maxSteps) {
+    this.maxSteps = maxSteps;
+  }
+
+  /**
+   * Maximum time to explore a method, 0 for no limit.
+   */
+  public long methodTimeBudgetMillis() {
+    return methodTimeBudgetMillis;
+  }
+
+  public void setMethodTimeBudgetMillis(long methodTimeBudgetMillis) {
+    this.methodTimeBudgetMillis = methodTimeBudgetMillis;
+  }
+
+  /**
+   * Maximum time to explore all the methods of a file, 0 for no limit.
+   */
+  public long fileTimeBudgetMillis() {
+    return fileTimeBudgetMillis;
+  }
+
+  public void setFileTimeBudgetMillis(long fileTimeBudgetMillis) {
+    this.fileTimeBudgetMillis = fileTimeBudgetMillis;
+  }
+
+  /**
+   * Number of threads exploring the methods of a file in parallel, 1 to explore them one after the other.
+   */
+  public int threads() {
+    return threads;
+  }
+
+  public void setThreads(int threads) {
+    this.threads = threads;
+  }
+
+}
@@ -20,6 +20,7 @@
 package org.sonar.java.se;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Throwables;
 import com.google.common.collect.Lists;
 import org.sonar.api.utils.log.Logger;
 import org.sonar.api.utils.log.Loggers;
@@ -28,17 +29,27 @@ import org.sonar.java.resolve.JavaSymbol;
 import org.sonar.java.se.constraint.BooleanConstraint;
 import org.sonar.java.se.constraint.Constraint;
 import org.sonar.java.se.constraint.ObjectConstraint;
-import org.sonar.java.se.symbolicvalues.BinaryRelation;
 import org.sonar.plugins.java.api.JavaFileScanner;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
 import javax.annotation.CheckForNull;
+import javax.annotation.Nullable;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
 
 public class SymbolicExecutionVisitor extends SubscriptionVisitor {
   private static final Logger LOG = Loggers.get(SymbolicExecutionVisitor.class);
@@ -46,9 +57,57 @@ public class SymbolicExecutionVisitor extends SubscriptionVisitor {
   @VisibleForTesting
   final BehaviorCache behaviorCache = new BehaviorCache();
   private final ExplodedGraphWalker.ExplodedGraphWalkerFactory egwFactory;
+  private final MethodBehaviorStore behaviorStore;
+  private final SymbolicExecutionSettings settings;
+  private long fileDeadline = Long.MAX_VALUE;
+  @Nullable
+  private ForkJoinPool explorationPool;
+  private final List<MethodTree> methodsToExplore = new ArrayList<>();
+  /**
+   * Files of the stored behaviors used while exploring the methods of this file, which the behaviors of these methods depend on.
+   */
+  private final Set<String> usedFiles = ConcurrentHashMap.newKeySet();
 
   public SymbolicExecutionVisitor(List<JavaFileScanner> executableScanners) {
-    egwFactory = new ExplodedGraphWalker.ExplodedGraphWalkerFactory(executableScanners);
+    this(executableScanners, new MethodBehaviorStore(), new SymbolicExecutionSettings());
+  }
+
+  /**
+   * @param behaviorStore behaviors of the methods of the project, used for methods declared in other files and filled with methods of this file
+   * @param settings exploration strategy and budget
+   */
+  public SymbolicExecutionVisitor(List<JavaFileScanner> executableScanners, MethodBehaviorStore behaviorStore, SymbolicExecutionSettings settings) {
+    this(new ExplodedGraphWalker.ExplodedGraphWalkerFactory(executableScanners, settings), behaviorStore, settings);
+  }
+
+  /**
+   * @param egwFactory walker factory of the analysis, shared by the visitors of all the files
+   */
+  public SymbolicExecutionVisitor(ExplodedGraphWalker.ExplodedGraphWalkerFactory egwFactory, MethodBehaviorStore behaviorStore, SymbolicExecutionSettings settings) {
+    this.egwFactory = egwFactory;
+    this.behaviorStore = behaviorStore;
+    this.settings = settings;
+  }
+
+  /**
+   * Explores the methods of a file in parallel with the threads of the pool rather than one after the other.
+   * A method is explored once, after the methods it calls, unless they call each other recursively.
+   */
+  public void setExplorationPool(@Nullable ForkJoinPool explorationPool) {
+    this.explorationPool = explorationPool;
+  }
+
+  @Override
+  public void scanFile(JavaFileScannerContext context) {
+    fileDeadline = Long.MAX_VALUE;
+    if (settings.fileTimeBudgetMillis() > 0) {
+      fileDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(settings.fileTimeBudgetMillis());
+    }
+    methodsToExplore.clear();
+    super.scanFile(context);
+    if (explorationPool != null && !methodsToExplore.isEmpty()) {
+      executeInParallel(explorationPool);
+    }
   }
 
   @Override
@@ -58,26 +117,75 @@ public class SymbolicExecutionVisitor extends SubscriptionVisitor {
 
   @Override
   public void visitNode(Tree tree) {
-    execute((MethodTree) tree);
+    if (explorationPool == null) {
+      execute((MethodTree) tree);
+    } else {
+      methodsToExplore.add((MethodTree) tree);
+    }
+  }
+
+  private void executeInParallel(ForkJoinPool pool) {
+    Map<MethodCallGraph.Component, CompletableFuture<Void>> explorations = new HashMap<>();
+    for (MethodCallGraph.Component component : MethodCallGraph.components(methodsToExplore)) {
+      CompletableFuture<?>[] calledExplorations = component.calledComponents.stream().map(explorations::get).toArray(CompletableFuture[]::new);
+      explorations.put(component, CompletableFuture.allOf(calledExplorations).thenRunAsync(() -> component.methods.forEach(this::executeOnce), pool));
+    }
+    try {
+      CompletableFuture.allOf(explorations.values().toArray(new CompletableFuture[explorations.size()])).join();
+    } catch (CompletionException e) {
+      throw Throwables.propagate(e.getCause());
+    }
   }
 
   @CheckForNull
   public MethodBehavior execute(MethodTree methodTree) {
+    if (fileBudgetExceeded(methodTree)) {
+      return null;
+    }
+    MethodBehavior methodBehavior = new MethodBehavior(methodTree.symbol());
+    behaviorCache.add(methodTree.symbol(), methodBehavior);
+    return explore(methodTree, methodBehavior);
+  }
+
+  /**
+   * Explores a method unless it is already explored, or being explored by a caller (recursive call) or by another thread.
+   */
+  private void executeOnce(MethodTree methodTree) {
+    if (fileBudgetExceeded(methodTree)) {
+      return;
+    }
+    MethodBehavior methodBehavior = new MethodBehavior(methodTree.symbol());
+    if (behaviorCache.behaviors.putIfAbsent(methodTree.symbol(), methodBehavior) == null) {
+      explore(methodTree, methodBehavior);
+    }
+  }
+
+  private boolean fileBudgetExceeded(MethodTree methodTree) {
+    if (System.nanoTime() > fileDeadline) {
+      LOG.debug("Time budget of symbolic execution exceeded for file, method " + methodTree.simpleName().name() + " is not explored");
+      return true;
+    }
+    return false;
+  }
+
+  @CheckForNull
+  private MethodBehavior explore(MethodTree methodTree, MethodBehavior methodBehavior) {
     try {
-      MethodBehavior methodBehavior = new MethodBehavior(methodTree.symbol());
-      behaviorCache.add(methodTree.symbol(), methodBehavior);
       ExplodedGraphWalker walker = egwFactory.createWalker(behaviorCache);
-      methodBehavior = walker.visitMethod(methodTree, methodBehavior);
-      methodBehavior.completed();
-      return methodBehavior;
-    } catch (ExplodedGraphWalker.MaximumStepsReachedException | ExplodedGraphWalker.ExplodedGraphTooBigException | BinaryRelation.TransitiveRelationExceededException exception) {
+      walker.setDeadline(fileDeadline);
+      walker.setContext(context);
+      MethodBehavior exploredBehavior = walker.visitMethod(methodTree, methodBehavior);
+      exploredBehavior.completed();
+      behaviorStore.put(methodTree.symbol(), exploredBehavior, context == null ? null : context.getFile(), usedFiles);
+      return exploredBehavior;
+    } catch (ExplodedGraphWalker.MaximumStepsReachedException | ExplodedGraphWalker.ExplodedGraphTooBigException exception) {
       LOG.debug("Could not complete symbolic execution: ", exception);
     }
     return null;
   }
 
   class BehaviorCache {
-    final Map<Symbol.MethodSymbol, MethodBehavior> behaviors = new LinkedHashMap<>();
+    final Map<Symbol.MethodSymbol, MethodBehavior> behaviors = Collections.synchronizedMap(new LinkedHashMap<>());
 
     void add(Symbol.MethodSymbol symbol, MethodBehavior behavior) {
       behaviors.put(symbol, behavior);
@@ -100,13 +208,22 @@ public class SymbolicExecutionVisitor extends SubscriptionVisitor {
         } else {
           MethodTree declaration = symbol.declaration();
           if (declaration != null) {
-            SymbolicExecutionVisitor.this.execute(declaration);
+            SymbolicExecutionVisitor.this.executeOnce(declaration);
+          } else {
+            addStoredBehavior(symbol);
           }
         }
       }
       return behaviors.get(symbol);
     }
 
+    private void addStoredBehavior(Symbol.MethodSymbol symbol) {
+      MethodBehavior storedBehavior = behaviorStore.get(symbol, usedFiles);
+      if (storedBehavior != null) {
+        behaviors.put(symbol, storedBehavior);
+      }
+    }
+
     private boolean isGuavaPrecondition(Symbol.MethodSymbol symbol) {
       String name = symbol.name();
       return symbol.owner().type().is("com.google.common.base.Preconditions")
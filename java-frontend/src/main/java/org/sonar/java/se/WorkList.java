@@ -0,0 +1,162 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se;
+
+import org.sonar.java.cfg.CFG;
+
+import javax.annotation.CheckForNull;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Nodes of the exploded graph waiting to be explored, the order in which they are explored depending on the {@link Strategy}.
+ */
+public abstract class WorkList {
+
+  public enum Strategy {
+    /**
+     * Explores fully a path before switching to another one (LIFO).
+     */
+    DEPTH_FIRST {
+      @Override
+      WorkList create() {
+        return new DequeWorkList(true);
+      }
+    },
+    /**
+     * Explores nodes in the order they have been reached (FIFO).
+     */
+    BREADTH_FIRST {
+      @Override
+      WorkList create() {
+        return new DequeWorkList(false);
+      }
+    },
+    /**
+     * Explores first the nodes of the CFG blocks reached the least often, so that a budget exhausted by a few loops or branches
+     * still leaves the rest of the method explored. Nodes of blocks reached as often are explored depth first.
+     */
+    UNEXPLORED_BLOCKS_FIRST {
+      @Override
+      WorkList create() {
+        return new UnexploredBlocksFirstWorkList();
+      }
+    };
+
+    abstract WorkList create();
+  }
+
+  abstract void push(ExplodedGraph.Node node);
+
+  /**
+   * @return next node to explore, removing it from this list
+   */
+  abstract ExplodedGraph.Node pop();
+
+  /**
+   * @return next node to explore, or null if this list is empty
+   */
+  @CheckForNull
+  abstract ExplodedGraph.Node peek();
+
+  abstract int size();
+
+  boolean isEmpty() {
+    return size() == 0;
+  }
+
+  private static class DequeWorkList extends WorkList {
+    private final Deque<ExplodedGraph.Node> nodes = new ArrayDeque<>();
+    private final boolean lifo;
+
+    DequeWorkList(boolean lifo) {
+      this.lifo = lifo;
+    }
+
+    @Override
+    void push(ExplodedGraph.Node node) {
+      if (lifo) {
+        nodes.addFirst(node);
+      } else {
+        nodes.addLast(node);
+      }
+    }
+
+    @Override
+    ExplodedGraph.Node pop() {
+      return nodes.removeFirst();
+    }
+
+    @Override
+    ExplodedGraph.Node peek() {
+      return nodes.peekFirst();
+    }
+
+    @Override
+    int size() {
+      return nodes.size();
+    }
+  }
+
+  private static class UnexploredBlocksFirstWorkList extends WorkList {
+    private final PriorityQueue<Entry> entries = new PriorityQueue<>(Comparator.<Entry>comparingInt(e -> e.blockVisits).thenComparing(e -> -e.order));
+    private final Map<CFG.Block, Integer> visitsByBlock = new HashMap<>();
+    private long order = 0;
+
+    @Override
+    void push(ExplodedGraph.Node node) {
+      int blockVisits = visitsByBlock.merge(node.programPoint.block, 1, Integer::sum);
+      entries.add(new Entry(node, blockVisits, order++));
+    }
+
+    @Override
+    ExplodedGraph.Node pop() {
+      return entries.remove().node;
+    }
+
+    @Override
+    ExplodedGraph.Node peek() {
+      Entry entry = entries.peek();
+      return entry == null ? null : entry.node;
+    }
+
+    @Override
+    int size() {
+      return entries.size();
+    }
+
+    private static class Entry {
+      private final ExplodedGraph.Node node;
+      private final int blockVisits;
+      private final long order;
+
+      Entry(ExplodedGraph.Node node, int blockVisits, long order) {
+        this.node = node;
+        this.blockVisits = blockVisits;
+        this.order = order;
+      }
+    }
+  }
+
+}
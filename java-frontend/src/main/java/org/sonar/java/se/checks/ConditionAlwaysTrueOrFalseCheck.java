@@ -40,16 +40,17 @@ import java.util.stream.Collectors;
 @Rule(key = "S2583")
 public class ConditionAlwaysTrueOrFalseCheck extends SECheck {
 
-  private Deque<EvaluatedConditions> evaluatedConditions = new LinkedList<>();
+  // one stack per thread, as methods of a file can be explored in parallel
+  private final ThreadLocal<Deque<EvaluatedConditions>> evaluatedConditions = ThreadLocal.withInitial(LinkedList::new);
 
   @Override
   public void init(MethodTree methodTree, CFG cfg) {
-    evaluatedConditions.push(new EvaluatedConditions());
+    evaluatedConditions.get().push(new EvaluatedConditions());
   }
 
   @Override
   public void checkEndOfExecution(CheckerContext context) {
-    EvaluatedConditions ec = evaluatedConditions.pop();
+    EvaluatedConditions ec = evaluatedConditions.get().pop();
     for (Tree condition : Sets.difference(ec.evaluatedToFalse.keySet(), ec.evaluatedToTrue.keySet())) {
       context.reportIssue(condition, this, "Change this condition so that it does not always evaluate to \"false\"",
         collectFlow(ec.evaluatedToFalse.get(condition), false));
@@ -71,16 +72,16 @@ public class ConditionAlwaysTrueOrFalseCheck extends SECheck {
   }
 
   public void evaluatedToFalse(Tree condition, ExplodedGraph.Node node) {
-    evaluatedConditions.peek().evaluatedToFalse(condition, node);
+    evaluatedConditions.get().peek().evaluatedToFalse(condition, node);
   }
 
   public void evaluatedToTrue(Tree condition, ExplodedGraph.Node node) {
-    evaluatedConditions.peek().evaluatedToTrue(condition, node);
+    evaluatedConditions.get().peek().evaluatedToTrue(condition, node);
   }
 
   @Override
   public void interruptedExecution(CheckerContext context) {
-    evaluatedConditions.pop();
+    evaluatedConditions.get().pop();
   }
 
   private static class EvaluatedConditions {
@@ -38,12 +38,16 @@ import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.squidbridge.annotations.RuleTemplate;
 
 import javax.annotation.Nullable;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 @Rule(key = "S3546")
 @RuleTemplate
 public class CustomUnclosedResourcesCheck extends SECheck {
 
+  private static final Set<Tree.Kind> NODES_TO_VISIT = EnumSet.of(Tree.Kind.NEW_CLASS, Tree.Kind.METHOD_INVOCATION, Tree.Kind.RETURN_STATEMENT);
+
   static class ResourceStatus implements ObjectConstraint.Status {
 
   }
@@ -83,6 +87,11 @@ public class CustomUnclosedResourcesCheck extends SECheck {
   private MethodMatcherCollection openingList;
   private MethodMatcherCollection closingList;
 
+  @Override
+  public Set<Tree.Kind> nodesToVisit() {
+    return NODES_TO_VISIT;
+  }
+
   @Override
   public ProgramState checkPreStatement(CheckerContext context, Tree syntaxNode) {
     AbstractStatementVisitor visitor = new PreStatementVisitor(context);
@@ -127,6 +136,38 @@ public class CustomUnclosedResourcesCheck extends SECheck {
     return mit.symbolType().name();
   }
 
+  // matchers are created lazily by the first exploration, possibly while other methods of the file are explored in parallel
+  private synchronized MethodMatcherCollection closingMethods() {
+    if (closingList == null) {
+      closingList = createMethodMatchers(closingMethod);
+    }
+    return closingList;
+  }
+
+  private synchronized MethodMatcherCollection openingMethods() {
+    if (openingList == null) {
+      openingList = createMethodMatchers(openingMethod);
+    }
+    return openingList;
+  }
+
+  private synchronized MethodMatcherCollection constructorClasses() {
+    if (classConstructor == null) {
+      classConstructor = MethodMatcherCollection.create();
+      if (constructor.length() > 0) {
+        classConstructor.add(MethodMatcherFactory.constructorMatcher(constructor));
+      }
+    }
+    return classConstructor;
+  }
+
+  private synchronized MethodMatcherCollection factoryMethods() {
+    if (factoryList == null) {
+      factoryList = createMethodMatchers(factoryMethod);
+    }
+    return factoryList;
+  }
+
   private static MethodMatcherCollection createMethodMatchers(String rule) {
     if (rule.length() > 0) {
       return MethodMatcherCollection.create(MethodMatcherFactory.methodMatcher(rule));
@@ -157,13 +198,6 @@ public class CustomUnclosedResourcesCheck extends SECheck {
     protected boolean isClosingResource(MethodInvocationTree mit) {
       return closingMethods().anyMatch(mit);
     }
-
-    private MethodMatcherCollection closingMethods() {
-      if (closingList == null) {
-        closingList = createMethodMatchers(closingMethod);
-      }
-      return closingList;
-    }
   }
   private class PreStatementVisitor extends AbstractStatementVisitor {
 
@@ -203,13 +237,6 @@ public class CustomUnclosedResourcesCheck extends SECheck {
         closeResource(programState.peekValue());
       }
     }
-
-    private MethodMatcherCollection openingMethods() {
-      if (openingList == null) {
-        openingList = createMethodMatchers(openingMethod);
-      }
-      return openingList;
-    }
   }
   private class PostStatementVisitor extends AbstractStatementVisitor {
 
@@ -235,27 +262,9 @@ public class CustomUnclosedResourcesCheck extends SECheck {
       return constructorClasses().anyMatch(newClassTree);
     }
 
-    private MethodMatcherCollection constructorClasses() {
-      if (classConstructor == null) {
-        classConstructor = MethodMatcherCollection.create();
-        if (constructor.length() > 0) {
-          classConstructor.add(MethodMatcherFactory.constructorMatcher(constructor));
-        }
-      }
-      return classConstructor;
-    }
-
     private boolean isCreatingResource(MethodInvocationTree mit) {
       return factoryMethods().anyMatch(mit);
     }
-
-    private MethodMatcherCollection factoryMethods() {
-      if (factoryList == null) {
-        factoryList = createMethodMatchers(factoryMethod);
-      }
-      return factoryList;
-    }
-
   }
 
 }
@@ -36,11 +36,15 @@ import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
 import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 @Rule(key = "S2222")
 public class LocksNotUnlockedCheck extends SECheck {
 
+  private static final Set<Tree.Kind> NODES_TO_VISIT = EnumSet.of(Tree.Kind.METHOD_INVOCATION);
+
   private enum LockStatus implements ObjectConstraint.Status {
     LOCKED, UNLOCKED;
   }
@@ -154,6 +158,11 @@ public class LocksNotUnlockedCheck extends SECheck {
     return ProgramState.isField(expression.symbol());
   }
 
+  @Override
+  public Set<Tree.Kind> nodesToVisit() {
+    return NODES_TO_VISIT;
+  }
+
   @Override
   public ProgramState checkPreStatement(CheckerContext context, Tree syntaxNode) {
     final PreStatementVisitor visitor = new PreStatementVisitor(context);
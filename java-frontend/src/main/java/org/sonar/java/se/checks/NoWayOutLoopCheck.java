@@ -56,17 +56,18 @@ public class NoWayOutLoopCheck extends SECheck {
     INCREMENT, DECREMENT, INDETERMINATE
   }
 
-  private final Deque<MethodContext> contexts = new LinkedList<>();
+  // one stack per thread, as methods of a file can be explored in parallel
+  private final ThreadLocal<Deque<MethodContext>> contexts = ThreadLocal.withInitial(LinkedList::new);
 
   @Override
   public void init(MethodTree tree, CFG cfg) {
     MethodContext context = new MethodContext(tree, cfg);
-    contexts.push(context);
+    contexts.get().push(context);
   }
 
   @Override
   public ProgramState checkPreStatement(CheckerContext context, Tree syntaxNode) {
-    if (contexts.peek().isThreadRunMethod()) {
+    if (contexts.get().peek().isThreadRunMethod()) {
       // It is OK to have an endless Thread run method
       return context.getState();
     }
@@ -77,12 +78,12 @@ public class NoWayOutLoopCheck extends SECheck {
 
   @Override
   public void checkEndOfExecution(CheckerContext context) {
-    contexts.pop();
+    contexts.get().pop();
   }
 
   @Override
   public void interruptedExecution(CheckerContext context) {
-    contexts.pop();
+    contexts.get().pop();
   }
 
   private class PreStatementVisitor extends CheckerTreeNodeVisitor {
@@ -97,7 +98,7 @@ public class NoWayOutLoopCheck extends SECheck {
     @Override
     public void visitWhileStatement(WhileStatementTree tree) {
       if (isHardCodedTrue(tree.condition())) {
-        CFGLoop loopBlocks = contexts.peek().getLoop(tree);
+        CFGLoop loopBlocks = contexts.get().peek().getLoop(tree);
         if (loopBlocks != null && loopBlocks.hasNoWayOut()) {
           context.reportIssue(tree, NoWayOutLoopCheck.this, "Add an end condition to this loop.");
         }
@@ -107,7 +108,7 @@ public class NoWayOutLoopCheck extends SECheck {
     @Override
     public void visitForStatement(ForStatementTree tree) {
       if (tree.condition() == null) {
-        CFGLoop loopBlocks = contexts.peek().getLoop(tree);
+        CFGLoop loopBlocks = contexts.get().peek().getLoop(tree);
         if (loopBlocks != null && loopBlocks.hasNoWayOut()) {
           context.reportIssue(tree, NoWayOutLoopCheck.this, "Add an end condition to this loop.");
         }
@@ -48,6 +48,8 @@ import javax.annotation.Nullable;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.stream.Stream;
 
@@ -63,11 +65,22 @@ public class NonNullSetToNullCheck extends SECheck {
     "javax.persistence.Embeddable"
   };
 
-  private MethodTree methodTree;
+  // one stack per thread, as methods of a file can be explored in parallel
+  private final ThreadLocal<Deque<MethodTree>> methodTrees = ThreadLocal.withInitial(LinkedList::new);
 
   @Override
   public void init(MethodTree tree, CFG cfg) {
-    methodTree = tree;
+    methodTrees.get().push(tree);
+  }
+
+  @Override
+  public void checkEndOfExecution(CheckerContext context) {
+    methodTrees.get().pop();
+  }
+
+  @Override
+  public void interruptedExecution(CheckerContext context) {
+    methodTrees.get().pop();
   }
 
   @Override
@@ -86,6 +99,7 @@ public class NonNullSetToNullCheck extends SECheck {
 
   @Override
   public void checkEndOfExecutionPath(CheckerContext context, ConstraintManager constraintManager) {
+    MethodTree methodTree = methodTrees.get().peek();
     if (methodTree.is(Tree.Kind.CONSTRUCTOR) && !isDefaultConstructorForJpa(methodTree)) {
       ClassTree classTree = (ClassTree) methodTree.parent();
       classTree.members().stream()
@@ -35,16 +35,24 @@ import org.sonar.plugins.java.api.tree.MemberSelectExpressionTree;
 import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
 
 @Rule(key = "S3655")
 public class OptionalGetBeforeIsPresentCheck extends SECheck {
 
+  private static final Set<Tree.Kind> NODES_TO_VISIT = EnumSet.of(Tree.Kind.METHOD_INVOCATION);
+
   private enum Status implements ObjectConstraint.Status {
     PRESENT, NOT_PRESENT
   }
 
+  @Override
+  public Set<Tree.Kind> nodesToVisit() {
+    return NODES_TO_VISIT;
+  }
+
   @Override
   public ProgramState checkPreStatement(CheckerContext context, Tree syntaxNode) {
     PreStatementVisitor visitor = new PreStatementVisitor(this, context);
@@ -26,20 +26,39 @@ import org.sonar.java.se.constraint.ConstraintManager;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.SyntaxToken;
 import org.sonar.plugins.java.api.tree.Tree;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
 public abstract class SECheck implements JavaFileScanner {
 
-  private Set<SEIssue> issues = new HashSet<>();
+  private static final Comparator<SyntaxToken> POSITION = Comparator.comparingInt(SyntaxToken::line).thenComparingInt(SyntaxToken::column);
+  private static final Comparator<SEIssue> ISSUE_ORDER = Comparator.<SEIssue, SyntaxToken>comparing(issue -> issue.tree.firstToken(), Comparator.nullsFirst(POSITION))
+    .thenComparing(issue -> issue.tree.lastToken(), Comparator.nullsFirst(POSITION))
+    .thenComparing(issue -> issue.message);
+
+  private static final Set<Tree.Kind> ALL_KINDS = EnumSet.allOf(Tree.Kind.class);
+
+  private final Set<SEIssue> issues = new HashSet<>();
 
   public void init(MethodTree methodTree, CFG cfg) {
 
   }
 
+  /**
+   * Kinds of the syntax nodes for which {@link #checkPreStatement} and {@link #checkPostStatement} are called, all kinds by default.
+   * Program states of other nodes are passed along without calling the check.
+   */
+  public Set<Tree.Kind> nodesToVisit() {
+    return ALL_KINDS;
+  }
+
   public ProgramState checkPreStatement(CheckerContext context, Tree syntaxNode) {
     return context.getState();
   }
@@ -56,15 +75,21 @@ public abstract class SECheck implements JavaFileScanner {
     // By default do nothing
   }
 
+  /**
+   * Reports issues found by the symbolic execution of the methods of the file, ordered by position whatever the order in which methods
+   * were explored.
+   */
   @Override
-  public void scanFile(JavaFileScannerContext context) {
-    for (SEIssue seIssue : issues) {
+  public synchronized void scanFile(JavaFileScannerContext context) {
+    List<SEIssue> sortedIssues = new ArrayList<>(issues);
+    sortedIssues.sort(ISSUE_ORDER);
+    for (SEIssue seIssue : sortedIssues) {
       context.reportIssueWithFlow(this, seIssue.getTree(), seIssue.getMessage(), seIssue.getFlows(), null);
     }
     issues.clear();
   }
 
-  public void reportIssue(Tree tree, String message, Set<List<JavaFileScannerContext.Location>> flows) {
+  public synchronized void reportIssue(Tree tree, String message, Set<List<JavaFileScannerContext.Location>> flows) {
     issues.add(issues.stream()
       .filter(seIssue -> seIssue.tree.equals(tree))
       .findFirst()
@@ -23,6 +23,7 @@ import org.apache.commons.lang.StringUtils;
 import org.sonar.check.Rule;
 import org.sonar.check.RuleProperty;
 import org.sonar.java.matcher.MethodMatcher;
+import org.sonar.java.matcher.MethodMatcherCollection;
 import org.sonar.java.model.ExpressionUtils;
 import org.sonar.java.se.CheckerContext;
 import org.sonar.java.se.ExplodedGraph;
@@ -49,6 +50,7 @@ import org.sonar.plugins.java.api.tree.VariableTree;
 import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -57,6 +59,23 @@ import java.util.Set;
 @Rule(key = "S2095")
 public class UnclosedResourcesCheck extends SECheck {
 
+  private static final Set<Tree.Kind> NODES_TO_VISIT = EnumSet.of(
+    Tree.Kind.NEW_CLASS,
+    Tree.Kind.METHOD_INVOCATION,
+    Tree.Kind.RETURN_STATEMENT,
+    Tree.Kind.ASSIGNMENT,
+    Tree.Kind.MULTIPLY_ASSIGNMENT,
+    Tree.Kind.DIVIDE_ASSIGNMENT,
+    Tree.Kind.REMAINDER_ASSIGNMENT,
+    Tree.Kind.PLUS_ASSIGNMENT,
+    Tree.Kind.MINUS_ASSIGNMENT,
+    Tree.Kind.LEFT_SHIFT_ASSIGNMENT,
+    Tree.Kind.RIGHT_SHIFT_ASSIGNMENT,
+    Tree.Kind.UNSIGNED_RIGHT_SHIFT_ASSIGNMENT,
+    Tree.Kind.AND_ASSIGNMENT,
+    Tree.Kind.XOR_ASSIGNMENT,
+    Tree.Kind.OR_ASSIGNMENT);
+
   private enum Status implements ObjectConstraint.Status {
     OPENED, CLOSED
   }
@@ -83,9 +102,13 @@ public class UnclosedResourcesCheck extends SECheck {
     "com.sun.org.apache.xml.internal.security.utils.UnsyncByteArrayOutputStream",
     "org.springframework.context.ConfigurableApplicationContext"
   };
-  private static final MethodMatcher[] CLOSEABLE_EXCEPTIONS = new MethodMatcher[] {
-    MethodMatcher.create().typeDefinition("java.nio.file.FileSystems").name("getDefault").withoutParameter()
-  };
+  private static final MethodMatcherCollection CLOSEABLE_EXCEPTIONS = MethodMatcherCollection.create(
+    MethodMatcher.create().typeDefinition("java.nio.file.FileSystems").name("getDefault").withoutParameter());
+
+  @Override
+  public Set<Tree.Kind> nodesToVisit() {
+    return NODES_TO_VISIT;
+  }
 
   @Override
   public ProgramState checkPreStatement(CheckerContext context, Tree syntaxNode) {
@@ -145,7 +168,7 @@ public class UnclosedResourcesCheck extends SECheck {
     return isCloseable(type);
   }
   
-  private List<String> loadExcludedTypesList() {
+  private synchronized List<String> loadExcludedTypesList() {
     if ( excludedTypesList.isEmpty() && !StringUtils.isBlank(excludedTypes)) {
       for (String excludedType : excludedTypes.split(",")) {
         excludedTypesList.add(excludedType.trim());
@@ -372,10 +395,8 @@ public class UnclosedResourcesCheck extends SECheck {
 
     @Override
     public void visitMethodInvocation(MethodInvocationTree syntaxNode) {
-      for (MethodMatcher matcher : CLOSEABLE_EXCEPTIONS) {
-        if (matcher.matches(syntaxNode)) {
-          return;
-        }
+      if (CLOSEABLE_EXCEPTIONS.anyMatch(syntaxNode)) {
+        return;
       }
       if (syntaxNode.methodSelect().is(Tree.Kind.MEMBER_SELECT) && needsClosing(syntaxNode.symbolType())) {
         final ExpressionTree targetExpression = ((MemberSelectExpressionTree) syntaxNode.methodSelect()).expression();
@@ -21,17 +21,25 @@ package org.sonar.java.se.symbolicvalues;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import org.sonar.java.collections.PCollections;
+import org.sonar.java.collections.PSet;
 import org.sonar.java.se.symbolicvalues.RelationalSymbolicValue.Kind;
 
 import javax.annotation.CheckForNull;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 public abstract class BinaryRelation {
 
@@ -46,7 +54,7 @@ public abstract class BinaryRelation {
     this.kind = kind;
     leftOp = v1;
     rightOp = v2;
-    hashcode = Objects.hash(kind, leftOp, rightOp);
+    hashcode = Objects.hash(kind.ordinal(), leftOp, rightOp);
   }
 
   public static BinaryRelation binaryRelation(Kind kind, SymbolicValue leftOp, SymbolicValue rightOp) {
@@ -91,10 +99,8 @@ public abstract class BinaryRelation {
   }
 
 
-  public static class TransitiveRelationExceededException extends RuntimeException {
-    public TransitiveRelationExceededException() {
-      super("Number of transitive relations exceeded!");
-    }
+  public List<SymbolicValue> operands() {
+    return ImmutableList.of(leftOp, rightOp);
   }
 
   @Override
@@ -127,35 +133,73 @@ public abstract class BinaryRelation {
   }
 
   protected RelationState resolveState(Collection<BinaryRelation> knownRelations) {
-    return resolveState(knownRelations, new HashSet<BinaryRelation>());
+    Map<SymbolicValue, PSet<BinaryRelation>> relationsByOperand = new HashMap<>();
+    for (BinaryRelation relation : knownRelations) {
+      relationsByOperand.put(relation.leftOp, relationsByOperand.getOrDefault(relation.leftOp, PCollections.emptySet()).add(relation));
+      relationsByOperand.put(relation.rightOp, relationsByOperand.getOrDefault(relation.rightOp, PCollections.emptySet()).add(relation));
+    }
+    return resolveState(operand -> relationsByOperand.getOrDefault(operand, PCollections.emptySet()));
   }
 
-  @CheckForNull
-  protected RelationState resolveState(Collection<BinaryRelation> knownRelations, Set<BinaryRelation> usedRelations) {
+  /**
+   * @param knownRelations gives the known relations having the supplied symbolic value as one of their operands
+   * @return the state of the receiver deduced from the known relations
+   */
+  protected RelationState resolveState(Function<SymbolicValue, PSet<BinaryRelation>> knownRelations) {
     //relation on same operand
-    if(leftOp.equals(rightOp)) {
+    if (leftOp.equals(rightOp)) {
       return relationStateForSameOperand();
     }
-    if (knownRelations.isEmpty()) {
-      return RelationState.UNDETERMINED;
-    }
-    if (usedRelations.size() > 200) {
-      throw new TransitiveRelationExceededException();
+    RelationState result = deduceFromLeftOperand(knownRelations);
+    if (!result.isDetermined()) {
+      // deductions are made from the left operand only, so try also with the symmetric
+      result = symmetric().deduceFromLeftOperand(knownRelations);
     }
-    for (BinaryRelation relation : knownRelations) {
-      RelationState result = relation.implies(this);
-      if (result.isDetermined()) {
-        return result;
+    return result;
+  }
+
+  /**
+   * Deduces, by transitive combination and conjunction of the known relations, the relations between the left operand of the receiver
+   * and the values reachable from it, until one of them determines the receiver.
+   * Each deduced relation is combined only once, so that the deduction stops when there is nothing new to learn.
+   */
+  private RelationState deduceFromLeftOperand(Function<SymbolicValue, PSet<BinaryRelation>> knownRelations) {
+    Set<BinaryRelation> deducedRelations = new HashSet<>();
+    Map<SymbolicValue, List<BinaryRelation>> deducedByRightOperand = new HashMap<>();
+    Deque<BinaryRelation> toCombine = new ArrayDeque<>();
+    Consumer<BinaryRelation> deduce = relation -> {
+      BinaryRelation fromLeftOperand = leftOp.equals(relation.leftOp) ? relation : relation.symmetric();
+      if (deducedRelations.add(fromLeftOperand)) {
+        toCombine.add(fromLeftOperand);
       }
-      usedRelations.add(relation);
-      usedRelations.add(relation.symmetric());
-    }
-    Collection<BinaryRelation> transitiveReduction = transitiveReduction(knownRelations, usedRelations);
-    if (transitiveReduction.isEmpty()) {
-      // If no new combination, try with the symmetric (because transitive reduction only checks the operand on the left side.
-      transitiveReduction = symmetric().transitiveReduction(knownRelations, usedRelations);
+    };
+    knownRelations.apply(leftOp).forEach(deduce);
+    while (!toCombine.isEmpty()) {
+      BinaryRelation deduced = toCombine.poll();
+      if (rightOp.equals(deduced.rightOp)) {
+        RelationState result = deduced.implies(this);
+        if (result.isDetermined()) {
+          return result;
+        }
+      }
+      List<BinaryRelation> sameOperands = deducedByRightOperand.computeIfAbsent(deduced.rightOp, k -> new ArrayList<>());
+      for (BinaryRelation relation : sameOperands) {
+        BinaryRelation conjunction = relation.conjunction(deduced);
+        if (conjunction != null) {
+          deduce.accept(conjunction);
+        }
+      }
+      sameOperands.add(deduced);
+      knownRelations.apply(deduced.rightOp).forEach(relation -> {
+        if (!relation.equals(deduced) && !relation.equals(deduced.symmetric())) {
+          BinaryRelation combined = deduced.combineUnordered(relation);
+          if (combined != null) {
+            deduce.accept(combined);
+          }
+        }
+      });
     }
-    return resolveState(transitiveReduction, usedRelations);
+    return RelationState.UNDETERMINED;
   }
 
   private RelationState relationStateForSameOperand() {
@@ -175,45 +219,6 @@ public abstract class BinaryRelation {
     }
   }
 
-  /**
-   * Returns a new list of relations, built by combining one of the known relations that can be combined transitively with the receiver
-   * 
-   * @param knownRelations the list of relations known so far
-   * @param usedRelations the list of relation that have been used in past recursive checks
-   * @return a list of relations containing at least one new relation; empty if no new combination was found.
-   */
-  private Collection<BinaryRelation> transitiveReduction(Collection<BinaryRelation> knownRelations, Set<BinaryRelation> usedRelations) {
-    boolean changed = false;
-    List<BinaryRelation> result = new ArrayList<>();
-    for (BinaryRelation relation : knownRelations) {
-      boolean used = false;
-      if (leftOp.equals(relation.leftOp)) {
-        used = result.addAll(relation.combinedRelations(knownRelations, usedRelations));
-      } else if (leftOp.equals(relation.rightOp)) {
-        used = result.addAll(relation.symmetric().combinedRelations(knownRelations, usedRelations));
-      }
-      if (used) {
-        changed = true;
-      } else {
-        result.add(relation);
-      }
-    }
-    return changed ? result : Collections.<BinaryRelation>emptyList();
-  }
-
-  private Collection<BinaryRelation> combinedRelations(Collection<BinaryRelation> relations, Set<BinaryRelation> usedRelations) {
-    List<BinaryRelation> result = new ArrayList<>();
-    for (BinaryRelation relation : relations) {
-      if (!this.equals(relation)) {
-        BinaryRelation combined = combineUnordered(relation);
-        if (combined != null && !usedRelations.contains(combined)) {
-          result.add(combined);
-        }
-      }
-    }
-    return result;
-  }
-
   /**
    * Create a new relation, if any, that is a transitive combination of the receiver with the supplied relation.
    * @param relation another SymbolicValueRelation
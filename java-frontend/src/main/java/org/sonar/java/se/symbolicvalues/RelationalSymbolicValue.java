@@ -152,7 +152,7 @@ public class RelationalSymbolicValue extends BinarySymbolicValue {
 
   @CheckForNull
   private ProgramState checkRelation(BooleanConstraint booleanConstraint, ProgramState programState) {
-    RelationState relationState = binaryRelation().resolveState(programState.getKnownRelations());
+    RelationState relationState = binaryRelation().resolveState(programState::getKnownRelations);
     if (relationState.rejects(booleanConstraint)) {
       return null;
     }
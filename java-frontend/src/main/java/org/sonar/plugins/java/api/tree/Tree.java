@@ -34,6 +34,13 @@ public interface Tree {
 
   boolean is(Kind... kinds);
 
+  /**
+   * Same as {@link #is(Kind...)} for a single kind, without allocating an array at each call.
+   */
+  default boolean is(Kind kind) {
+    return kind() == kind;
+  }
+
   void accept(TreeVisitor visitor);
 
   @Nullable
@@ -286,6 +286,35 @@ public class SonarComponentsTest {
     assertThat(sonarComponents.reportAnalysisError(parseError, file)).isFalse();
   }
 
+  @Test
+  public void rule_key_and_input_file_are_looked_up_once() {
+    JavaCheck expectedCheck = new CustomCheck();
+    CheckRegistrar expectedRegistrar = getRegistrar(expectedCheck);
+    SensorContextTester context = SensorContextTester.create(new File(""));
+    DefaultFileSystem fileSystem = spy(context.fileSystem());
+    File file = new File("file.java");
+    DefaultInputFile inputFile = new DefaultInputFile("", "file.java");
+    inputFile.initMetadata("class A {\n"
+      + "  void foo() {}\n"
+      + "}\n");
+    fileSystem.add(inputFile);
+    RuleKey ruleKey = RuleKey.of(REPOSITORY_NAME, "CustomCheck");
+    when(this.checks.ruleKey(expectedCheck)).thenReturn(ruleKey);
+
+    SonarComponents sonarComponents = new SonarComponents(fileLinesContextFactory, fileSystem, null, null, checkFactory, new CheckRegistrar[] {
+      expectedRegistrar
+    });
+    sonarComponents.setSensorContext(context);
+
+    sonarComponents.addIssue(file, expectedCheck, 1, "first message", null);
+    sonarComponents.addIssue(file, expectedCheck, 2, "second message", null);
+
+    assertThat(context.allIssues()).hasSize(2);
+    assertThat(sonarComponents.getRuleKey(expectedCheck)).isSameAs(ruleKey);
+    verify(this.checks, times(1)).ruleKey(expectedCheck);
+    verify(fileSystem, times(1)).inputFile(any());
+  }
+
   @Test
   public void fail_on_empty_location() {
     JavaCheck expectedCheck = new CustomCheck();
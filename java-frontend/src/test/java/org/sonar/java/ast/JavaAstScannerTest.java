@@ -31,6 +31,7 @@ import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.mockito.ArgumentCaptor;
 import org.sonar.api.batch.fs.internal.DefaultFileSystem;
 import org.sonar.api.batch.fs.internal.DefaultInputFile;
 import org.sonar.api.batch.sensor.internal.SensorContextTester;
@@ -38,6 +39,7 @@ import org.sonar.api.issue.NoSonarFilter;
 import org.sonar.java.Measurer;
 import org.sonar.java.SonarComponents;
 import org.sonar.java.ast.parser.JavaNodeBuilder;
+import org.sonar.java.ast.parser.JavaParser;
 import org.sonar.java.model.InternalSyntaxToken;
 import org.sonar.java.model.JavaTree;
 import org.sonar.java.model.VisitorsBridge;
@@ -54,7 +56,10 @@ import org.sonar.sslr.grammar.LexerlessGrammarBuilder;
 import java.io.File;
 import java.io.InterruptedIOException;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
@@ -118,6 +123,19 @@ public class JavaAstScannerTest {
     verify(listener).processRecognitionException(any(RecognitionException.class));
   }
 
+  @Test
+  public void parse_error_should_tell_which_file_failed() {
+    FakeAuditListener listener = spy(new FakeAuditListener());
+    JavaAstScanner scanner = defaultJavaAstScanner();
+    scanner.setVisitorBridge(new VisitorsBridge(listener));
+    File file = new File("src/test/resources/AstScannerParseError.txt");
+
+    scanner.scan(ImmutableList.of(file));
+    ArgumentCaptor<RecognitionException> parseError = ArgumentCaptor.forClass(RecognitionException.class);
+    verify(listener).processRecognitionException(parseError.capture());
+    assertThat(parseError.getValue().getMessage()).contains(file.getAbsolutePath());
+    assertThat(parseError.getValue().getLine()).isEqualTo(((RecognitionException) parseError.getValue().getCause()).getLine());
+  }
 
   @Test
   public void should_interrupt_analysis_when_InterrptedException_is_thrown() throws Exception {
@@ -181,6 +199,45 @@ public class JavaAstScannerTest {
     verifyZeroInteractions(listener);
   }
 
+  @Test
+  public void parallel_scan_should_visit_files_in_order_with_their_semantic_model() {
+    List<File> files = ImmutableList.of(
+      new File("src/test/files/metrics/Classes.java"),
+      new File("src/test/resources/AstScannerParseError.txt"),
+      new File("src/test/files/metrics/Comments.java"),
+      new File("src/test/files/metrics/Complexity.java"),
+      new File("src/test/files/metrics/Lines.java"));
+    JavaAstScanner scanner = new JavaAstScanner(JavaParser.createParser(StandardCharsets.UTF_8));
+    scanner.setParallelism(2, () -> JavaParser.createParser(StandardCharsets.UTF_8));
+    List<File> visitedFiles = new ArrayList<>();
+    FakeAuditListener listener = spy(new FakeAuditListener() {
+      @Override
+      public void scanFile(JavaFileScannerContext context) {
+        if (context.getSemanticModel() != null) {
+          visitedFiles.add(context.getFile());
+        }
+      }
+    });
+    scanner.setVisitorBridge(new VisitorsBridge(listener));
+
+    scanner.scan(files);
+
+    assertThat(visitedFiles).containsExactly(files.get(0), files.get(2), files.get(3), files.get(4));
+    verify(listener).processRecognitionException(any(RecognitionException.class));
+  }
+
+  @Test
+  public void parallel_scan_should_propagate_visitor_exception() {
+    JavaAstScanner scanner = new JavaAstScanner(JavaParser.createParser(StandardCharsets.UTF_8));
+    scanner.setParallelism(2, () -> JavaParser.createParser(StandardCharsets.UTF_8));
+    scanner.setVisitorBridge(new VisitorsBridge(new CheckThrowingException(new NullPointerException("foo"))));
+
+    thrown.expectMessage("SonarQube is unable to analyze file");
+    thrown.expect(new AnalysisExceptionBaseMatcher(NullPointerException.class, "instanceof AnalysisException with NullPointerException cause"));
+
+    scanner.scan(ImmutableList.of(new File("src/test/files/metrics/Classes.java"), new File("src/test/files/metrics/Comments.java")));
+  }
+
   private static JavaAstScanner defaultJavaAstScanner() {
     return new JavaAstScanner(new ActionParser<>(StandardCharsets.UTF_8, FakeLexer.builder(), FakeGrammar.class, new FakeTreeFactory(), new JavaNodeBuilder(), FakeLexer.ROOT));
   }
@@ -23,6 +23,8 @@ import org.junit.Test;
 import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
+import org.sonar.plugins.java.api.tree.SyntaxToken;
+import org.sonar.plugins.java.api.tree.VariableTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
 import java.nio.charset.StandardCharsets;
@@ -55,4 +57,24 @@ public class JavaParserTest {
     }
 
   }
-}
\ No newline at end of file
+
+  @Test
+  public void token_texts_and_empty_trivias_should_be_shared() {
+    CompilationUnitTree cut = (CompilationUnitTree) JavaParser.createParser(StandardCharsets.UTF_8).parse("class A { int a; int b = a; }");
+    ClassTree classTree = (ClassTree) cut.types().get(0);
+    VariableTree a = (VariableTree) classTree.members().get(0);
+    VariableTree b = (VariableTree) classTree.members().get(1);
+    SyntaxToken firstInt = a.type().firstToken();
+    SyntaxToken secondInt = b.type().firstToken();
+    assertThat(firstInt).isNotSameAs(secondInt);
+    assertThat(firstInt.text()).isSameAs(secondInt.text());
+    assertThat(a.simpleName().name()).isSameAs(b.initializer().firstToken().text());
+    assertThat(firstInt.trivias()).isEmpty();
+    assertThat(firstInt.trivias()).isSameAs(secondInt.trivias());
+  }
+
+  @Test
+  public void created_parsers_should_not_be_shared() {
+    assertThat(JavaParser.createParser(StandardCharsets.UTF_8)).isNotSameAs(JavaParser.createParser(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.ast.visitors;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.SyntaxToken;
+import org.sonar.plugins.java.api.tree.SyntaxTrivia;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SubscriptionVisitorsDispatcherTest {
+
+  private static final String SOURCE = "class A { // comment\n int foo(int a) { return a + 1; } class B { void bar() {} } }";
+
+  @Test
+  public void visitors_should_be_notified_as_when_scanning_on_their_own() {
+    JavaFileScannerContext context = context(SOURCE);
+    List<RecordingVisitor> alone = ImmutableList.of(
+      new RecordingVisitor(Tree.Kind.CLASS, Tree.Kind.METHOD),
+      new RecordingVisitor(Tree.Kind.TOKEN, Tree.Kind.TRIVIA),
+      new RecordingVisitor(Tree.Kind.TRIVIA, Tree.Kind.IDENTIFIER),
+      new RecordingVisitor());
+    alone.forEach(visitor -> visitor.scanFile(context));
+
+    List<RecordingVisitor> dispatched = ImmutableList.of(
+      new RecordingVisitor(Tree.Kind.CLASS, Tree.Kind.METHOD),
+      new RecordingVisitor(Tree.Kind.TOKEN, Tree.Kind.TRIVIA),
+      new RecordingVisitor(Tree.Kind.TRIVIA, Tree.Kind.IDENTIFIER),
+      new RecordingVisitor());
+    new SubscriptionVisitorsDispatcher(new ArrayList<>(dispatched)).scanFile(context);
+
+    for (int i = 0; i < alone.size(); i++) {
+      assertThat(dispatched.get(i).events).isEqualTo(alone.get(i).events);
+      assertThat(dispatched.get(i).context).isSameAs(context);
+    }
+    assertThat(dispatched.get(0).events).containsExactly(
+      "visit CLASS", "visit METHOD", "leave METHOD", "visit CLASS", "visit METHOD", "leave METHOD", "leave CLASS", "leave CLASS");
+    assertThat(dispatched.get(1).events).contains("token class", "trivia // comment");
+    assertThat(dispatched.get(3).events).isEmpty();
+  }
+
+  @Test
+  public void only_visitors_scanning_whole_files_can_be_dispatched() {
+    assertThat(SubscriptionVisitorsDispatcher.canDispatch(new RecordingVisitor())).isTrue();
+    assertThat(SubscriptionVisitorsDispatcher.canDispatch(new RecordingVisitor() {
+      @Override
+      public void scanFile(JavaFileScannerContext context) {
+        // skip files
+      }
+    })).isFalse();
+    assertThat(SubscriptionVisitorsDispatcher.canDispatch(new RecordingVisitor() {
+      @Override
+      protected void scanTree(Tree tree) {
+        super.scanTree(tree);
+      }
+    })).isFalse();
+    assertThat(SubscriptionVisitorsDispatcher.canDispatch(context -> { })).isFalse();
+  }
+
+  private static JavaFileScannerContext context(String source) {
+    CompilationUnitTree cut = (CompilationUnitTree) JavaParser.createParser(StandardCharsets.UTF_8).parse(source);
+    JavaFileScannerContext context = mock(JavaFileScannerContext.class);
+    when(context.getTree()).thenReturn(cut);
+    return context;
+  }
+
+  private static class RecordingVisitor extends SubscriptionVisitor {
+
+    private final List<Tree.Kind> kinds;
+    private final List<String> events = new ArrayList<>();
+
+    RecordingVisitor(Tree.Kind... kinds) {
+      this.kinds = ImmutableList.copyOf(kinds);
+    }
+
+    @Override
+    public List<Tree.Kind> nodesToVisit() {
+      return kinds;
+    }
+
+    @Override
+    public void visitNode(Tree tree) {
+      events.add("visit " + tree.kind());
+    }
+
+    @Override
+    public void leaveNode(Tree tree) {
+      events.add("leave " + tree.kind());
+    }
+
+    @Override
+    public void visitToken(SyntaxToken syntaxToken) {
+      events.add("token " + syntaxToken.text());
+    }
+
+    @Override
+    public void visitTrivia(SyntaxTrivia syntaxTrivia) {
+      events.add("trivia " + syntaxTrivia.comment());
+    }
+  }
+
+}
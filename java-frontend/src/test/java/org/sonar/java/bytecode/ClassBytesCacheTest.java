@@ -0,0 +1,88 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.bytecode;
+
+import org.junit.After;
+import org.junit.Test;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.java.bytecode.loader.SquidClassLoader;
+import org.sonar.java.resolve.SemanticModel;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClassBytesCacheTest {
+
+  private static final List<File> CLASSPATH = Collections.singletonList(new File("src/test/files/bytecode/lib/hello.jar"));
+
+  private final Map<String, Integer> reads = new ConcurrentHashMap<>();
+  private final ClassBytesCache cache = new ClassBytesCache() {
+    @Override
+    byte[] read(URL url) {
+      reads.merge(url.toString(), 1, Integer::sum);
+      return super.read(url);
+    }
+  };
+  private final SquidClassLoader mainClassLoader = ClassLoaderBuilder.createIndexed(CLASSPATH);
+  private final SquidClassLoader testClassLoader = ClassLoaderBuilder.createIndexed(CLASSPATH);
+
+  @After
+  public void tearDown() {
+    mainClassLoader.close();
+    testClassLoader.close();
+  }
+
+  @Test
+  public void library_classes_should_be_read_once_per_analysis() {
+    semanticModel("class A { org.sonar.tests.Hello hello; String s = hello.toString(); }", mainClassLoader);
+    semanticModel("class B { org.sonar.tests.Hello hello; String s = \"\".trim(); }", mainClassLoader);
+    semanticModel("class ATest { org.sonar.tests.Hello hello; java.util.List<String> l; }", testClassLoader);
+
+    assertThat(readsOf("org/sonar/tests/Hello.class")).isEqualTo(1);
+    assertThat(readsOf("java/lang/String.class")).isEqualTo(1);
+    assertThat(reads.values()).containsOnly(1);
+  }
+
+  @Test
+  public void classes_not_found_should_not_be_cached() {
+    assertThat(cache.classBytes(mainClassLoader, "org/sonar/tests/Unknown.class")).isNull();
+    assertThat(cache.classBytes(mainClassLoader, "org/sonar/tests/Hello.class")).isSameAs(cache.classBytes(testClassLoader, "org/sonar/tests/Hello.class"));
+    assertThat(reads).hasSize(1);
+    assertThat(readsOf("org/sonar/tests/Hello.class")).isEqualTo(1);
+  }
+
+  private int readsOf(String resourceName) {
+    return reads.entrySet().stream().filter(entry -> entry.getKey().endsWith("/" + resourceName)).mapToInt(Map.Entry::getValue).sum();
+  }
+
+  private void semanticModel(String source, SquidClassLoader classLoader) {
+    CompilationUnitTree cut = (CompilationUnitTree) JavaParser.createParser(StandardCharsets.UTF_8).parse(source);
+    SemanticModel.createFor(cut, classLoader, cache).done();
+  }
+
+}
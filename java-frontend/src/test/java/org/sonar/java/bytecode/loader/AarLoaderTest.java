@@ -24,6 +24,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.io.File;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.commons.io.IOUtils;
 import org.junit.Rule;
@@ -109,4 +111,18 @@ public class AarLoaderTest {
     loader.close();
   }
 
+  @Test
+  public void testForEachResourceName() throws Exception {
+    List<String> names = new ArrayList<>();
+    AarLoader loader = new AarLoader(new File("src/test/files/classpath/lib/oklog-1.0.1.aar"));
+    loader.forEachResourceName(names::add);
+    loader.close();
+    assertThat(names).contains("com/github/simonpercic/oklog/BuildConfig.class");
+
+    names.clear();
+    loader = new AarLoader(new File("src/test/files/bytecode/lib/hello.jar"));
+    loader.forEachResourceName(names::add);
+    loader.close();
+    assertThat(names).isEmpty();
+  }
 }
@@ -25,6 +25,8 @@ import org.junit.rules.ExpectedException;
 
 import java.io.File;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -85,4 +87,29 @@ public class FileSystemLoaderTest {
     loader.close();
   }
 
+  @Test
+  public void testForEachResourceName() throws Exception {
+    File dir = new File("src/test/files/bytecode/bin/");
+    FileSystemLoader loader = new FileSystemLoader(dir);
+    List<String> names = new ArrayList<>();
+    loader.forEachResourceName(names::add);
+
+    assertThat(names)
+      .contains("tags/TagName.class", "LambdaExpressions.class")
+      .as("directories should not be listed").doesNotContain("tags");
+
+    loader.close();
+
+    thrown.expect(IllegalStateException.class);
+    thrown.expectMessage("Loader closed");
+    loader.forEachResourceName(names::add);
+  }
+
+  @Test
+  public void unreadable_directory_can_not_be_listed() throws Exception {
+    FileSystemLoader loader = new FileSystemLoader(new File("src/test/files/bytecode/unknown"));
+    thrown.expect(IllegalStateException.class);
+    thrown.expectMessage("Unable to list content of");
+    loader.forEachResourceName(name -> {});
+  }
 }
@@ -28,6 +28,8 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.InputStream;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -104,4 +106,16 @@ public class JarLoaderTest {
     new JarLoader(jar);
   }
 
+  @Test
+  public void testForEachResourceName() throws Exception {
+    File jar = new File("src/test/files/bytecode/lib/hello.jar");
+    JarLoader loader = new JarLoader(jar);
+    List<String> names = new ArrayList<>();
+    loader.forEachResourceName(names::add);
+    loader.close();
+
+    assertThat(names)
+      .contains("META-INF/MANIFEST.MF", "org/sonar/tests/Hello.class")
+      .as("directories should not be listed").doesNotContain("org/sonar/tests/");
+  }
 }
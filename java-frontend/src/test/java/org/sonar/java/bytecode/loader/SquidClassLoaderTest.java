@@ -138,4 +138,41 @@ public class SquidClassLoaderTest {
     classLoader.close();
   }
 
+  @Test
+  public void indexed_class_loader_should_find_classes_and_resources() throws Exception {
+    File jar = new File("src/test/files/bytecode/lib/hello.jar");
+    File aar = new File("src/test/files/classpath/lib/oklog-1.0.1.aar");
+    File dir = new File("src/test/files/bytecode/bin/");
+    classLoader = new SquidClassLoader(Arrays.asList(jar, aar, dir), true);
+
+    assertThat(classLoader.loadClass("org.sonar.tests.Hello")).isNotNull();
+    assertThat(classLoader.loadClass("com.github.simonpercic.oklog.BuildConfig")).isNotNull();
+    assertThat(classLoader.loadClass("tags.TagName")).isNotNull();
+    assertThat(classLoader.getResource("META-INF/MANIFEST.MF")).isNotNull();
+    assertThat(classLoader.getResource("tags/TagName.class").toString()).startsWith("file:");
+    assertThat(classLoader.findResource("notfound")).isNull();
+    assertThat(Iterators.forEnumeration(classLoader.findResources("notfound"))).isEmpty();
+    thrown.expect(ClassNotFoundException.class);
+    classLoader.loadClass("tags.Unknown");
+  }
+
+  @Test
+  public void indexed_class_loader_should_respect_classpath_order() throws Exception {
+    File dir = new File("src/test/files/bytecode/bin/");
+    classLoader = new SquidClassLoader(Arrays.asList(new File("src/test/files/bytecode/lib/hello.jar"), dir, dir), true);
+
+    assertThat(classLoader.findResource("META-INF/MANIFEST.MF").toString()).startsWith("jar:");
+    assertThat(Iterators.forEnumeration(classLoader.findResources("tags/TagName.class"))).hasSize(2);
+  }
+
+  @Test
+  public void indexed_class_loader_should_remember_missing_resources() throws Exception {
+    classLoader = new SquidClassLoader(Arrays.asList(new File("src/test/files/bytecode/bin/")), true);
+
+    assertThat(classLoader.getResource("java/util/Unknown.class")).isNull();
+    assertThat(classLoader.getResource("java/util/Unknown.class")).isNull();
+    assertThat(classLoader.getResourceAsStream("tags/Unknown.class")).isNull();
+    assertThat(classLoader.getResource("java/util/List.class")).isNotNull();
+    assertThat(classLoader.getResource("tags/TagName.class")).isNotNull();
+  }
 }
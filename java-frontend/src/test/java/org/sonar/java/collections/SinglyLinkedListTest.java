@@ -0,0 +1,80 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.collections;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+public class SinglyLinkedListTest {
+
+  @Test
+  public void empty() {
+    PStack<Object> empty = SinglyLinkedList.create();
+    assertThat(empty.isEmpty()).isTrue();
+    assertThat(empty.size()).isEqualTo(0);
+    assertThat(empty.toString()).isEqualTo("[]");
+    assertThat(empty.anyMatch(e -> true)).isFalse();
+    try {
+      empty.peek();
+      fail("should throw");
+    } catch (IllegalStateException e) {
+      assertThat(e).hasMessage("Stack is empty");
+    }
+    try {
+      empty.pop();
+      fail("should throw");
+    } catch (IllegalStateException e) {
+      assertThat(e).hasMessage("Stack is empty");
+    }
+  }
+
+  @Test
+  public void push_pop_peek() {
+    PStack<Object> s0 = SinglyLinkedList.create();
+    PStack<Object> s1 = s0.push("a");
+    PStack<Object> s2 = s1.push("b");
+
+    assertThat(s2.isEmpty()).isFalse();
+    assertThat(s2.size()).isEqualTo(2);
+    assertThat(s2.peek()).isEqualTo("b");
+    assertThat(s2.pop()).as("should share elements with the stack it has been pushed onto").isSameAs(s1);
+    assertThat(s1.peek()).isEqualTo("a");
+    assertThat(s1.size()).isEqualTo(1);
+    assertThat(s1.pop()).isSameAs(s0);
+    assertThat(s1.push("c").pop()).isSameAs(s1);
+    assertThat(s2.toString()).isEqualTo("[b, a]");
+  }
+
+  @Test
+  public void forEach_and_anyMatch() {
+    PStack<Object> s = SinglyLinkedList.create().push("a").push("b").push("c");
+    List<Object> elements = new ArrayList<>();
+    s.forEach(elements::add);
+    assertThat(elements).containsExactly("c", "b", "a");
+    assertThat(s.anyMatch("a"::equals)).isTrue();
+    assertThat(s.anyMatch("d"::equals)).isFalse();
+  }
+
+}
@@ -21,9 +21,20 @@ package org.sonar.java.matcher;
 
 import com.google.common.collect.ImmutableList;
 import org.junit.Test;
+import org.sonar.java.ast.JavaAstScanner;
+import org.sonar.java.ast.visitors.SubscriptionVisitor;
+import org.sonar.java.model.JavaTree;
+import org.sonar.java.model.VisitorsBridge;
 import org.sonar.plugins.java.api.tree.MethodInvocationTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.NewClassTree;
+import org.sonar.plugins.java.api.tree.Tree;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
@@ -97,4 +108,48 @@ public class MethodMatcherCollectionTest {
     mmc.addAll(ImmutableList.of(matcher1, matcher2));
     assertThat(mmc.anyMatch(mock(MethodTree.class))).isTrue();
   }
+
+  @Test
+  public void matchers_are_selected_by_name_and_arity() {
+    MethodMatcherCollection toStringWithoutParameter = MethodMatcherCollection.create(
+      MethodMatcher.create().typeDefinition(TypeCriteria.subtypeOf("java.lang.Object")).name("toString").withoutParameter());
+    MethodMatcherCollection toStringWithParameters = MethodMatcherCollection.create(
+      MethodMatcher.create().name("toString").parameters("int"),
+      MethodMatcher.create().typeDefinition(TypeCriteria.anyType()).name("toString").parameters("java.lang.String"));
+    MethodMatcherCollection toStringWithAnyParameters = MethodMatcherCollection.create()
+      .add(MethodMatcher.create().typeDefinition(TypeCriteria.is("Test")).name("toString").withAnyParameters());
+    MethodMatcherCollection constructors = MethodMatcherCollection.create(
+      MethodMatcher.create().typeDefinition("java.lang.Integer").name("<init>").parameters("int"),
+      MethodMatcher.create().typeDefinition(TypeCriteria.anyType()).name(NameCriteria.is("<init>")).withoutParameter());
+    MethodMatcherCollection valueOf = MethodMatcherCollection.create(
+      MethodMatcher.create().typeDefinition("java.lang.String").name(NameCriteria.startsWith("value")).withAnyParameters());
+
+    Map<MethodMatcherCollection, List<Integer>> matches = new LinkedHashMap<>();
+    for (MethodMatcherCollection collection : ImmutableList.of(toStringWithoutParameter, toStringWithParameters, toStringWithAnyParameters, constructors, valueOf)) {
+      matches.put(collection, new ArrayList<>());
+    }
+    JavaAstScanner.scanSingleFileForTests(new File("src/test/files/matcher/Test.java"), new VisitorsBridge(new SubscriptionVisitor() {
+      @Override
+      public List<Tree.Kind> nodesToVisit() {
+        return ImmutableList.of(Tree.Kind.METHOD, Tree.Kind.METHOD_INVOCATION, Tree.Kind.NEW_CLASS);
+      }
+
+      @Override
+      public void visitNode(Tree tree) {
+        matches.forEach((collection, lines) -> {
+          if ((tree.is(Tree.Kind.METHOD) && collection.anyMatch((MethodTree) tree))
+            || (tree.is(Tree.Kind.METHOD_INVOCATION) && collection.anyMatch((MethodInvocationTree) tree))
+            || (tree.is(Tree.Kind.NEW_CLASS) && collection.anyMatch((NewClassTree) tree))) {
+            lines.add(((JavaTree) tree).getLine());
+          }
+        });
+      }
+    }));
+
+    assertThat(matches.get(toStringWithoutParameter)).containsExactly(6, 19, 27);
+    assertThat(matches.get(toStringWithParameters)).containsExactly(10, 11, 14);
+    assertThat(matches.get(toStringWithAnyParameters)).containsExactly(6, 10, 11, 14);
+    assertThat(matches.get(constructors)).containsExactly(19, 23);
+    assertThat(matches.get(valueOf)).containsExactly(11);
+  }
 }
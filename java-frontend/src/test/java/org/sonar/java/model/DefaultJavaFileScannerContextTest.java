@@ -20,33 +20,47 @@
 package org.sonar.java.model;
 
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.api.batch.fs.internal.DefaultFileSystem;
 import org.sonar.java.AnalyzerMessage;
 import org.sonar.java.AnalyzerMessage.TextSpan;
 import org.sonar.java.SonarComponents;
 import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.java.cfg.CFG;
+import org.sonar.java.cfg.LiveVariables;
 import org.sonar.java.model.declaration.VariableTreeImpl;
+import org.sonar.java.resolve.SemanticModel;
 import org.sonar.plugins.java.api.JavaCheck;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.JavaFileScannerContext.Location;
 import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.Tree;
 import org.sonar.plugins.java.api.tree.VariableTree;
 
 import java.io.File;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class DefaultJavaFileScannerContextTest {
 
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
   private static final File JAVA_FILE = new File("src/test/files/api/JavaFileScannerContext.java");
   private static final int COST = 42;
   private static final JavaCheck CHECK = new JavaCheck() {
@@ -138,6 +152,89 @@ public class DefaultJavaFileScannerContextTest {
     assertMessagePosition(reportedMessage, 2, 6, 3, 10);
   }
 
+  @Test
+  public void cfg_and_live_variables_are_computed_once_per_method() {
+    CompilationUnitTree cut = (CompilationUnitTree) JavaParser.createParser(StandardCharsets.UTF_8)
+      .parse("class A { void foo(int a) { int b = a; bar(b); } void bar(int c) { c++; } }");
+    SemanticModel semanticModel = SemanticModel.createFor(cut, Collections.emptyList());
+    DefaultJavaFileScannerContext methodsContext = new DefaultJavaFileScannerContext(cut, JAVA_FILE, semanticModel, sonarComponents, null, true);
+    ClassTree classTree = (ClassTree) cut.types().get(0);
+    MethodTree foo = (MethodTree) classTree.members().get(0);
+    MethodTree bar = (MethodTree) classTree.members().get(1);
+
+    CFG cfg = methodsContext.cfgFor(foo);
+    assertThat(cfg.methodSymbol()).isSameAs(foo.symbol());
+    assertThat(methodsContext.cfgFor(foo)).isSameAs(cfg);
+    assertThat(methodsContext.cfgFor(bar)).isNotSameAs(cfg);
+
+    LiveVariables liveVariables = methodsContext.liveVariablesFor(foo);
+    assertThat(methodsContext.liveVariablesFor(foo)).isSameAs(liveVariables);
+    assertThat(liveVariables.getIn(cfg.entry())).containsOnly(foo.parameters().get(0).symbol());
+
+    assertThat(DefaultJavaFileScannerContext.cfgFor(methodsContext, foo)).isSameAs(cfg);
+    assertThat(DefaultJavaFileScannerContext.liveVariablesFor(methodsContext, foo, cfg)).isSameAs(liveVariables);
+  }
+
+  @Test
+  public void cfg_and_live_variables_are_computed_for_other_contexts() {
+    CompilationUnitTree cut = (CompilationUnitTree) JavaParser.createParser(StandardCharsets.UTF_8).parse("class A { void foo(int a) { int b = a; } }");
+    SemanticModel.createFor(cut, Collections.emptyList());
+    MethodTree foo = (MethodTree) ((ClassTree) cut.types().get(0)).members().get(0);
+    JavaFileScannerContext otherContext = mock(JavaFileScannerContext.class);
+
+    CFG cfg = DefaultJavaFileScannerContext.cfgFor(otherContext, foo);
+    assertThat(cfg.methodSymbol()).isSameAs(foo.symbol());
+    assertThat(DefaultJavaFileScannerContext.cfgFor(null, foo)).isNotSameAs(cfg);
+    LiveVariables liveVariables = DefaultJavaFileScannerContext.liveVariablesFor(otherContext, foo, cfg);
+    assertThat(liveVariables.getIn(cfg.entry())).containsOnly(foo.parameters().get(0).symbol());
+  }
+
+  @Test
+  public void file_content_is_read_once_and_split_in_lines() {
+    AtomicInteger reads = new AtomicInteger();
+    DefaultJavaFileScannerContext contentContext = new DefaultJavaFileScannerContext(compilationUnitTree, JAVA_FILE, null, sonarComponents, null, true,
+      () -> {
+        reads.incrementAndGet();
+        return "a\nb\r\nc\rd\n";
+      });
+    assertThat(reads.get()).isZero();
+
+    assertThat(contentContext.getFileContent()).isEqualTo("a\nb\r\nc\rd\n");
+    assertThat(contentContext.getFileLines()).containsExactly("a", "b", "c", "d");
+    assertThat(contentContext.getFileContent()).isSameAs(contentContext.getFileContent());
+    assertThat(reads.get()).isEqualTo(1);
+  }
+
+  @Test
+  public void file_content_is_read_from_file_by_default() {
+    assertThat(context.getFileLines()).hasSize(4);
+    assertThat(context.getFileContent()).startsWith("class A {");
+  }
+
+  @Test
+  public void file_content_is_read_with_the_encoding_of_the_project() throws Exception {
+    File file = temp.newFile("Latin1.java");
+    Files.write(file.toPath(), "class A { String s = \"\u00e9\"; }".getBytes(StandardCharsets.ISO_8859_1));
+    SonarComponents latin1Components = mock(SonarComponents.class);
+    when(latin1Components.getFileSystem()).thenReturn(new DefaultFileSystem(temp.getRoot()).setEncoding(StandardCharsets.ISO_8859_1));
+
+    DefaultJavaFileScannerContext latin1Context = new DefaultJavaFileScannerContext(compilationUnitTree, file, null, latin1Components, null, true);
+
+    assertThat(latin1Context.getFileContent()).isEqualTo("class A { String s = \"\u00e9\"; }");
+  }
+
+  @Test
+  public void file_content_is_read_with_the_given_charset_for_other_contexts() throws Exception {
+    File file = temp.newFile("Latin1.java");
+    Files.write(file.toPath(), "class A {\n  String s = \"\u00e9\";\n}\n".getBytes(StandardCharsets.ISO_8859_1));
+    JavaFileScannerContext otherContext = mock(JavaFileScannerContext.class);
+    when(otherContext.getFile()).thenReturn(file);
+
+    assertThat(DefaultJavaFileScannerContext.fileContent(otherContext, StandardCharsets.ISO_8859_1)).isEqualTo("class A {\n  String s = \"\u00e9\";\n}\n");
+    assertThat(DefaultJavaFileScannerContext.fileLines(otherContext, StandardCharsets.ISO_8859_1)).containsExactly("class A {", "  String s = \"\u00e9\";", "}");
+    assertThat(DefaultJavaFileScannerContext.fileLines(context, StandardCharsets.ISO_8859_1)).isSameAs(context.getFileLines());
+  }
+
   private static void assertMessagePosition(AnalyzerMessage message, int startLine, int startColumn, int endLine, int endColumn) {
     TextSpan location = message.primaryLocation();
     assertThat(location.startLine).isEqualTo(startLine);
@@ -110,6 +110,22 @@ public class JavaTreeModelTest {
     assertThat(((JavaTree) classTree.modifiers()).getLine()).isEqualTo(-1);
   }
 
+  @Test
+  public void first_and_last_tokens_of_tree() throws Exception {
+    ClassTree classTree = firstType("class A { void f() { this.<A>foo(); } }");
+    assertThat(classTree.firstToken().text()).isEqualTo("class");
+    assertThat(classTree.lastToken().text()).isEqualTo("}");
+    assertThat(classTree.firstToken()).isSameAs(classTree.firstToken());
+    assertThat(classTree.lastToken()).isSameAs(classTree.closeBraceToken());
+    assertThat(classTree.modifiers().firstToken()).isNull();
+    assertThat(classTree.modifiers().lastToken()).isNull();
+
+    ExpressionTree invocation = expressionOfFirstStatement("class A { void f() { this.<A>foo(); } }");
+    assertThat(invocation.firstToken().text()).isEqualTo("this");
+    assertThat(invocation.firstToken()).isSameAs(invocation.firstToken());
+    assertThat(invocation.lastToken().text()).isEqualTo(")");
+  }
+
   @Test
   public void integration_test() {
     Iterable<File> files = Iterables.concat(
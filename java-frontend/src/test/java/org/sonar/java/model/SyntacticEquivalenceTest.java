@@ -25,12 +25,14 @@ import com.sonar.sslr.api.typed.ActionParser;
 import org.assertj.core.api.AbstractBooleanAssert;
 import org.junit.Test;
 import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.plugins.java.api.tree.BlockTree;
 import org.sonar.plugins.java.api.tree.ClassTree;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
 import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -78,6 +80,33 @@ public class SyntacticEquivalenceTest {
     assertThat(SyntacticEquivalence.areEquivalent(notImplementedTree, new JavaTree.NotImplementedTreeImpl())).isFalse();
   }
 
+  @Test
+  public void equivalent_trees_have_same_hash() {
+    List<Tree> bodies = methodBodies("foo(a, b); int c = 1", "foo(a, b); int c = 1", "foo(a, b); int d = 1", "foo(a, b)", "bar(a -> 0)");
+    assertThat(SyntacticEquivalence.hash(bodies.subList(0, 2))).isNotEqualTo(0);
+    assertThat(SyntacticEquivalence.hash(((BlockTree) bodies.get(0)).body()))
+      .isEqualTo(SyntacticEquivalence.hash(((BlockTree) bodies.get(1)).body()));
+    assertThat(SyntacticEquivalence.hash(bodies.get(0))).isEqualTo(SyntacticEquivalence.hash(bodies.get(1)));
+    assertThat(SyntacticEquivalence.hash(bodies.get(0))).isNotEqualTo(SyntacticEquivalence.hash(bodies.get(2)));
+    assertThat(SyntacticEquivalence.hash(bodies.get(0))).isNotEqualTo(SyntacticEquivalence.hash(bodies.get(3)));
+    assertThat(SyntacticEquivalence.hash(bodies.get(4))).isNotEqualTo(SyntacticEquivalence.hash(bodies.get(3)));
+    assertThat(SyntacticEquivalence.hash((Tree) null)).isEqualTo(0);
+    assertThat(SyntacticEquivalence.hash(new JavaTree.NotImplementedTreeImpl())).isNotEqualTo(0);
+  }
+
+  private List<Tree> methodBodies(String... bodies) {
+    StringBuilder code = new StringBuilder("class A {");
+    for (String body : bodies) {
+      code.append(" void m() { ").append(body).append("; }");
+    }
+    ClassTree classTree = (ClassTree) compilationUnitTree(code.append(" }").toString()).types().get(0);
+    List<Tree> result = new ArrayList<>();
+    for (Tree member : classTree.members()) {
+      result.add(((MethodTree) member).block());
+    }
+    return result;
+  }
+
   private void assertAreEquivalent(String statement1, String statement2) {
     assertAreEquivalent(Lists.newArrayList(statement1), Lists.newArrayList(statement2));
   }
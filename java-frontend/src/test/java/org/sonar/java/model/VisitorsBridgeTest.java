@@ -24,7 +24,9 @@ import com.google.common.collect.Lists;
 import com.sonar.sslr.api.RecognitionException;
 import org.junit.Test;
 import org.sonar.java.ast.parser.JavaParser;
-import org.sonar.java.resolve.ParametrizedTypeJavaType;
+import org.sonar.java.bytecode.loader.SquidClassLoader;
+import org.sonar.java.resolve.SemanticModel;
+import org.sonar.java.se.checks.SECheck;
 import org.sonar.plugins.java.api.IssuableSubscriptionVisitor;
 import org.sonar.plugins.java.api.JavaFileScanner;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
@@ -36,7 +38,10 @@ import javax.annotation.Nullable;
 import java.io.File;
 import java.nio.charset.StandardCharsets;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -74,14 +79,34 @@ public class VisitorsBridgeTest {
   }
 
   @Test
-  public void parameterized_type_should_not_hold_reference() throws Exception {
-    VisitorsBridge visitorsBridge =
-      new VisitorsBridge(Collections.singletonList((JavaFileScanner) context -> {
-        assertThat(context.getSemanticModel()).isNotNull();
-        assertThat(ParametrizedTypeJavaType.typeSubstitutionSolver).isNotNull();
-      }), Lists.newArrayList(), null);
+  public void class_loader_should_be_shared_between_files() throws Exception {
+    List<SemanticModel> semanticModels = Lists.newArrayList();
+    VisitorsBridge visitorsBridge = new VisitorsBridge(Collections.singletonList((JavaFileScanner) context -> semanticModels.add((SemanticModel) context.getSemanticModel())),
+      Lists.newArrayList(new File("target/test-classes")), null);
     checkFile("Foo.java", "class Foo {}", visitorsBridge);
-    assertThat(ParametrizedTypeJavaType.typeSubstitutionSolver).isNull();
+    SquidClassLoader classLoader = visitorsBridge.getClassLoader();
+    checkFile("Bar.java", "class Bar {}", visitorsBridge);
+    assertThat(semanticModels).hasSize(2);
+    assertThat(visitorsBridge.getClassLoader()).isSameAs(classLoader);
+
+    visitorsBridge.endOfAnalysis();
+    assertThat(visitorsBridge.getClassLoader()).isNotSameAs(classLoader);
+  }
+
+  @Test
+  public void checks_of_symbolic_execution_should_be_indexed_once_per_analysis() {
+    AtomicInteger nodesToVisitCalls = new AtomicInteger();
+    SECheck seCheck = new SECheck() {
+      @Override
+      public Set<Kind> nodesToVisit() {
+        nodesToVisitCalls.incrementAndGet();
+        return EnumSet.of(Kind.METHOD_INVOCATION);
+      }
+    };
+    VisitorsBridge visitorsBridge = new VisitorsBridge(Collections.singletonList(seCheck), Lists.newArrayList(), null);
+    checkFile("Foo.java", "class Foo { void foo(Object o) { o.toString(); } void bar(Object o) { o.hashCode(); } }", visitorsBridge);
+    checkFile("Bar.java", "class Bar { void bar(Object o) { o.toString(); } }", visitorsBridge);
+    assertThat(nodesToVisitCalls.get()).isEqualTo(1);
   }
 
   private static String contstructFileName(String... path) {
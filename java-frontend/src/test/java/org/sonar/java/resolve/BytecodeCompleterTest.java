@@ -26,6 +26,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.sonar.api.utils.log.LogTester;
 import org.sonar.api.utils.log.LoggerLevel;
+import org.sonar.java.bytecode.loader.SquidClassLoader;
 import org.sonar.java.resolve.JavaSymbol.TypeJavaSymbol;
 import org.sonar.java.resolve.targets.Annotations;
 import org.sonar.java.resolve.targets.AnonymousClass;
@@ -46,6 +47,10 @@ import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class BytecodeCompleterTest {
 
@@ -564,4 +569,22 @@ public class BytecodeCompleterTest {
     assertThat(prezModel42.members().lookup("setSliderMinValue")).isEmpty();
     assertThat(logTester.logs(LoggerLevel.WARN)).contains("bridge method setSliderMinValue not marked as synthetic in class model42/PresentationModel42");
   }
+
+  @Test
+  public void shared_class_loader_should_not_be_closed() throws Exception {
+    SquidClassLoader classLoader = mock(SquidClassLoader.class);
+    BytecodeCompleter completer = new BytecodeCompleter(classLoader, new ParametrizedTypeCache());
+    completer.done();
+    verify(classLoader, never()).close();
+  }
+
+  @Test
+  public void classes_not_found_should_be_looked_up_once() throws Exception {
+    SquidClassLoader classLoader = mock(SquidClassLoader.class);
+    BytecodeCompleter completer = new BytecodeCompleter(classLoader, new ParametrizedTypeCache());
+
+    assertThat(completer.loadClass("org.foo.Unknown").kind).isEqualTo(JavaSymbol.ABSENT);
+    assertThat(completer.loadClass("org.foo.Unknown").kind).isEqualTo(JavaSymbol.ABSENT);
+    verify(classLoader, times(1)).getResourceAsStream("org/foo/Unknown.class");
+  }
 }
@@ -19,6 +19,7 @@
  */
 package org.sonar.java.resolve;
 
+import com.google.common.collect.ImmutableList;
 import org.assertj.core.api.Fail;
 import org.junit.Test;
 
@@ -100,6 +101,31 @@ public class JavaSymbolTest {
     verify(typeSymbol).complete();
   }
 
+  @Test
+  public void super_types_are_cached_except_for_anonymous_classes() {
+    JavaSymbol.PackageJavaSymbol packageSymbol = new JavaSymbol.PackageJavaSymbol("org.foo", null);
+    JavaSymbol.TypeJavaSymbol superSymbol = new JavaSymbol.TypeJavaSymbol(Flags.PUBLIC, "Super", packageSymbol);
+    ((ClassJavaType) superSymbol.type).interfaces = ImmutableList.of();
+    JavaSymbol.TypeJavaSymbol typeSymbol = new JavaSymbol.TypeJavaSymbol(Flags.PUBLIC, "MyType", packageSymbol);
+    ((ClassJavaType) typeSymbol.type).supertype = superSymbol.type;
+    ((ClassJavaType) typeSymbol.type).interfaces = ImmutableList.of();
+
+    assertThat(typeSymbol.superTypes()).containsExactly((ClassJavaType) superSymbol.type);
+    assertThat(typeSymbol.superTypes()).isSameAs(typeSymbol.superTypes());
+    assertThat(typeSymbol.superTypesContain(superSymbol)).isTrue();
+    assertThat(typeSymbol.superTypesContain("org.foo.Super")).isTrue();
+    assertThat(typeSymbol.superTypesContain(typeSymbol)).isFalse();
+    assertThat(typeSymbol.superTypesContain("org.foo.MyType")).isFalse();
+
+    JavaSymbol.TypeJavaSymbol anonymousSymbol = new JavaSymbol.TypeJavaSymbol(0, "", typeSymbol);
+    ((ClassJavaType) anonymousSymbol.type).supertype = typeSymbol.type;
+    ((ClassJavaType) anonymousSymbol.type).interfaces = ImmutableList.of();
+    assertThat(anonymousSymbol.superTypesContain(typeSymbol)).isTrue();
+    ((ClassJavaType) anonymousSymbol.type).supertype = superSymbol.type;
+    assertThat(anonymousSymbol.superTypesContain(typeSymbol)).isFalse();
+    assertThat(anonymousSymbol.superTypes()).containsExactly((ClassJavaType) superSymbol.type);
+  }
+
   @Test
   public void test_MethodSymbol() {
     JavaSymbol.TypeJavaSymbol outermostClass = new JavaSymbol.TypeJavaSymbol(42, "name", P_PACKAGE_JAVA_SYMBOL);
@@ -51,6 +51,7 @@ public class LeastUpperBoundTest {
     ParametrizedTypeCache parametrizedTypeCache = new ParametrizedTypeCache();
     Symbols symbols = new Symbols(new BytecodeCompleter(Lists.<File>newArrayList(), parametrizedTypeCache));
     TypeSubstitutionSolver typeSubstitutionSolver = new TypeSubstitutionSolver(parametrizedTypeCache, symbols);
+    parametrizedTypeCache.setTypeSubstitutionSolver(typeSubstitutionSolver);
     intType = symbols.intType;
     longType = symbols.longType;
     leastUpperBound = new LeastUpperBound(typeSubstitutionSolver, parametrizedTypeCache, symbols);
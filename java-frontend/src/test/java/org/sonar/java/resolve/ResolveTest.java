@@ -33,12 +33,15 @@ public class ResolveTest {
 
   private ParametrizedTypeCache parametrizedTypeCache = new ParametrizedTypeCache();
   private BytecodeCompleter bytecodeCompleter = new BytecodeCompleter(Lists.newArrayList(new File("target/test-classes"), new File("target/classes")), parametrizedTypeCache);
-  private Resolve resolve = new Resolve(new Symbols(bytecodeCompleter), bytecodeCompleter, parametrizedTypeCache);
+  private Symbols symbols = new Symbols(bytecodeCompleter);
+  private TypeSubstitutionSolver typeSubstitutionSolver = new TypeSubstitutionSolver(parametrizedTypeCache, symbols);
+  private Resolve resolve = new Resolve(symbols, bytecodeCompleter, typeSubstitutionSolver);
 
   private Resolve.Env env = mock(Resolve.Env.class);
 
   @Before
   public void setUp() {
+    parametrizedTypeCache.setTypeSubstitutionSolver(typeSubstitutionSolver);
     env = new Resolve.Env();
     env.packge = new JavaSymbol.PackageJavaSymbol(null, null);
   }
@@ -189,4 +192,19 @@ public class ResolveTest {
     assertThat(resolve.isInheritedIn(symbol, clazz)).isFalse();
   }
 
+  @Test
+  public void method_resolutions_are_reused_unless_they_depend_on_type_inference() {
+    Resolve.Resolution length = resolve.findMethod(env, symbols.stringType, "length", ImmutableList.of());
+    Resolve.Resolution lengthAgain = resolve.findMethod(env, symbols.stringType, "length", ImmutableList.of());
+    assertThat(lengthAgain).isNotSameAs(length);
+    assertThat(lengthAgain.symbol()).isSameAs(length.symbol());
+    assertThat(lengthAgain.type()).isSameAs(length.type());
+
+    JavaType collections = bytecodeCompleter.loadClass("java.util.Collections").type;
+    Resolve.Resolution emptyList = resolve.findMethod(env, collections, "emptyList", ImmutableList.of());
+    Resolve.Resolution emptyListAgain = resolve.findMethod(env, collections, "emptyList", ImmutableList.of());
+    assertThat(emptyListAgain.symbol()).isSameAs(emptyList.symbol());
+    assertThat(emptyListAgain.type()).isNotSameAs(emptyList.type());
+  }
+
 }
@@ -54,6 +54,7 @@ public class TypeAndReferenceSolverTest {
   private final ParametrizedTypeCache parametrizedTypeCache = new ParametrizedTypeCache();
   private final BytecodeCompleter bytecodeCompleter = new BytecodeCompleter(Lists.newArrayList(new File("target/test-classes"), new File("target/classes")), parametrizedTypeCache);
   private final Symbols symbols = new Symbols(bytecodeCompleter);
+  private final TypeSubstitutionSolver typeSubstitutionSolver = new TypeSubstitutionSolver(parametrizedTypeCache, symbols);
 
   private Resolve.Env env;
 
@@ -69,6 +70,7 @@ public class TypeAndReferenceSolverTest {
    */
   @Before
   public void setUp() {
+    parametrizedTypeCache.setTypeSubstitutionSolver(typeSubstitutionSolver);
     JavaSymbol.PackageJavaSymbol p = symbols.defaultPackage;
     p.members = new Scope(p);
     // class MyClass
@@ -567,7 +569,7 @@ public class TypeAndReferenceSolverTest {
   private JavaType typeOf(String input) {
     SemanticModel semanticModel = mock(SemanticModel.class);
     when(semanticModel.getEnv(any(Tree.class))).thenReturn(env);
-    TypeAndReferenceSolver visitor = new TypeAndReferenceSolver(semanticModel, symbols, new Resolve(symbols, bytecodeCompleter, parametrizedTypeCache), parametrizedTypeCache);
+    TypeAndReferenceSolver visitor = new TypeAndReferenceSolver(semanticModel, symbols, new Resolve(symbols, bytecodeCompleter, typeSubstitutionSolver), parametrizedTypeCache);
 
     String p = "class Test { void wrapperMethod() { " + input + "; } }";
     CompilationUnitTree tree = parse(p);
@@ -580,7 +582,7 @@ public class TypeAndReferenceSolverTest {
   private JavaType typeOfExpression(String input) {
     SemanticModel semanticModel = mock(SemanticModel.class);
     when(semanticModel.getEnv(any(Tree.class))).thenReturn(env);
-    TypeAndReferenceSolver visitor = new TypeAndReferenceSolver(semanticModel, symbols, new Resolve(symbols, bytecodeCompleter, parametrizedTypeCache), parametrizedTypeCache);
+    TypeAndReferenceSolver visitor = new TypeAndReferenceSolver(semanticModel, symbols, new Resolve(symbols, bytecodeCompleter, typeSubstitutionSolver), parametrizedTypeCache);
 
     String p = "class Test { void wrapperMethod() { Object o = " + input + "; } }";
     CompilationUnitTree tree = parse(p);
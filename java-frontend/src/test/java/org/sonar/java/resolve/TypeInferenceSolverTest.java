@@ -46,6 +46,7 @@ public class TypeInferenceSolverTest {
     parametrizedTypeCache = new ParametrizedTypeCache();
     symbols = new Symbols(new BytecodeCompleter(Lists.<java.io.File>newArrayList(), parametrizedTypeCache));
     TypeSubstitutionSolver typeSubstitutionSolver = new TypeSubstitutionSolver(parametrizedTypeCache, symbols);
+    parametrizedTypeCache.setTypeSubstitutionSolver(typeSubstitutionSolver);
     LeastUpperBound lub = new LeastUpperBound(typeSubstitutionSolver, parametrizedTypeCache, symbols);
     typeInferenceSolver = new TypeInferenceSolver(lub, symbols, typeSubstitutionSolver);
     T = getTypeVariable("T");
@@ -44,6 +44,7 @@ public class TypeSubstitutionSolverTest {
     parametrizedTypeCache = new ParametrizedTypeCache();
     symbols = new Symbols(new BytecodeCompleter(Lists.<java.io.File>newArrayList(), parametrizedTypeCache));
     typeSubstitutionSolver = new TypeSubstitutionSolver(parametrizedTypeCache, symbols);
+    parametrizedTypeCache.setTypeSubstitutionSolver(typeSubstitutionSolver);
     T = getTypeVariable("T");
   }
 
@@ -115,7 +116,7 @@ public class TypeSubstitutionSolverTest {
     aSubs.add(k, T);
     JavaSymbol.TypeJavaSymbol aSymbol = new JavaSymbol.TypeJavaSymbol(Flags.PUBLIC, "A", Symbols.rootPackage);
     // A<{K=T}>
-    ParametrizedTypeJavaType aRoot = new ParametrizedTypeJavaType(aSymbol, aSubs);
+    ParametrizedTypeJavaType aRoot = new ParametrizedTypeJavaType(aSymbol, aSubs, typeSubstitutionSolver);
 
     // A<...n-1...<A<T>>...>
     JavaType last = aRoot;
@@ -123,7 +124,7 @@ public class TypeSubstitutionSolverTest {
     for (int i = 0; i < n; i++) {
       TypeSubstitution newSubs = new TypeSubstitution();
       newSubs.add(k, last);
-      last = new ParametrizedTypeJavaType(aSymbol, newSubs);
+      last = new ParametrizedTypeJavaType(aSymbol, newSubs, typeSubstitutionSolver);
     }
 
     List<JavaType> formals = Lists.newArrayList(last);
@@ -26,10 +26,13 @@ import org.sonar.java.se.checks.NullDereferenceCheck;
 import org.sonar.java.se.checks.SECheck;
 import org.sonar.plugins.java.api.tree.Tree;
 
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class CheckerDispatcherTest {
 
@@ -37,7 +40,7 @@ public class CheckerDispatcherTest {
   public void test_only_one_execution_of_post_statement_by_check() {
     List<SECheck> checks = Lists.newArrayList(new NullDereferenceCheck(), new CheckTest(), new CheckTest(), new CheckTest());
     CheckerDispatcher checkerDispatcher = new CheckerDispatcher(mockExplodedGraphWalker(), checks);
-    checkerDispatcher.executeCheckPostStatement(mock(Tree.class));
+    checkerDispatcher.executeCheckPostStatement(mockTree(Tree.Kind.IDENTIFIER));
     for (SECheck check : checks) {
       if(check instanceof CheckTest) {
         assertThat(((CheckTest) check).postStatementExecution).isEqualTo(1);
@@ -45,6 +48,31 @@ public class CheckerDispatcherTest {
     }
   }
 
+  @Test
+  public void checks_are_only_executed_on_the_nodes_they_visit() {
+    CheckTest allKindsCheck = new CheckTest();
+    MethodInvocationCheck methodInvocationCheck = new MethodInvocationCheck();
+    CheckerDispatcher checkerDispatcher = new CheckerDispatcher(mockExplodedGraphWalker(), Lists.newArrayList(methodInvocationCheck, allKindsCheck));
+
+    checkerDispatcher.executeCheckPreStatement(mockTree(Tree.Kind.IDENTIFIER));
+    checkerDispatcher.executeCheckPostStatement(mockTree(Tree.Kind.IDENTIFIER));
+    assertThat(methodInvocationCheck.preStatementExecution).isEqualTo(0);
+    assertThat(methodInvocationCheck.postStatementExecution).isEqualTo(0);
+    assertThat(allKindsCheck.postStatementExecution).isEqualTo(1);
+
+    checkerDispatcher.executeCheckPreStatement(mockTree(Tree.Kind.METHOD_INVOCATION));
+    checkerDispatcher.executeCheckPostStatement(mockTree(Tree.Kind.METHOD_INVOCATION));
+    assertThat(methodInvocationCheck.preStatementExecution).isEqualTo(1);
+    assertThat(methodInvocationCheck.postStatementExecution).isEqualTo(1);
+    assertThat(allKindsCheck.postStatementExecution).isEqualTo(2);
+  }
+
+  private static Tree mockTree(Tree.Kind kind) {
+    Tree tree = mock(Tree.class);
+    when(tree.kind()).thenReturn(kind);
+    return tree;
+  }
+
   private static ExplodedGraphWalker mockExplodedGraphWalker() {
     ExplodedGraphWalker explodedGraphWalker = mock(ExplodedGraphWalker.class);
     explodedGraphWalker.programPosition = new ExplodedGraph.ProgramPoint(new CFG.Block(1), 0);
@@ -62,4 +90,19 @@ public class CheckerDispatcherTest {
       return mock(ProgramState.class);
     }
   }
+
+  private static class MethodInvocationCheck extends CheckTest {
+    int preStatementExecution = 0;
+
+    @Override
+    public Set<Tree.Kind> nodesToVisit() {
+      return EnumSet.of(Tree.Kind.METHOD_INVOCATION);
+    }
+
+    @Override
+    public ProgramState checkPreStatement(CheckerContext context, Tree syntaxNode) {
+      preStatementExecution++;
+      return context.getState();
+    }
+  }
 }
@@ -0,0 +1,103 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se;
+
+import org.junit.Test;
+import org.sonar.java.cfg.CFG;
+import org.sonar.java.cfg.CFGTest;
+import org.sonar.java.se.constraint.ObjectConstraint;
+import org.sonar.java.se.symbolicvalues.SymbolicValue;
+import org.sonar.plugins.java.api.semantic.Symbol;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class ExplodedGraphTest {
+
+  private final CFG cfg = CFGTest.buildCFG("void foo(boolean b) { if (b) { foo(); } else { bar(); } }");
+
+  @Test
+  public void nodes_are_shared_by_program_point_and_state() {
+    ExplodedGraph explodedGraph = new ExplodedGraph();
+    ExplodedGraph.ProgramPoint programPoint = new ExplodedGraph.ProgramPoint(cfg.blocks().get(0), 0);
+    ExplodedGraph.Node node = explodedGraph.getNode(programPoint, ProgramState.EMPTY_STATE);
+    assertThat(node.isNew).isTrue();
+    ExplodedGraph.Node cached = explodedGraph.getNode(new ExplodedGraph.ProgramPoint(cfg.blocks().get(0), 0), ProgramState.EMPTY_STATE);
+    assertThat(cached).isSameAs(node);
+    assertThat(cached.isNew).isFalse();
+    assertThat(explodedGraph.getNodes()).hasSize(1);
+  }
+
+  @Test
+  public void parents_are_kept_in_insertion_order_with_their_yields() {
+    ExplodedGraph.Node node = node(0, 0);
+    ExplodedGraph.Node a = node(1, 0);
+    ExplodedGraph.Node b = node(2, 0);
+    ExplodedGraph.Node c = node(2, 1);
+    MethodYield yield = mock(MethodYield.class);
+    assertThat(node.parent()).isNull();
+    assertThat(node.getParents()).isEmpty();
+
+    node.addParent(a, null);
+    node.addParent(a, yield);
+    assertThat(node.getParents()).containsExactly(a);
+    assertThat(node.selectedMethodYield(a)).isSameAs(yield);
+
+    node.addParent(b, null);
+    node.addParent(c, yield);
+    node.addParent(b, yield);
+    assertThat(node.parent()).isSameAs(a);
+    assertThat(node.getParents()).containsExactly(a, b, c);
+    assertThat(node.selectedMethodYield(b)).isSameAs(yield);
+    assertThat(node.selectedMethodYield(node)).isNull();
+  }
+
+  @Test
+  public void learned_constraints_and_values_are_computed_from_first_parent() {
+    Symbol symbol = mock(Symbol.class);
+    SymbolicValue sv = new SymbolicValue(1);
+    ProgramState parentState = ProgramState.EMPTY_STATE.put(symbol, sv);
+    ProgramState state = parentState.addConstraint(sv, ObjectConstraint.notNull());
+    ExplodedGraph.Node parent = new ExplodedGraph.Node(new ExplodedGraph.ProgramPoint(cfg.blocks().get(1), 0), parentState);
+    ExplodedGraph.Node node = new ExplodedGraph.Node(new ExplodedGraph.ProgramPoint(cfg.blocks().get(0), 0), state);
+
+    node.setParent(parent, null);
+    assertThat(node.getLearnedConstraints()).hasSize(1);
+    assertThat(node.getLearnedConstraints().get(0).getSv()).isSameAs(sv);
+    assertThat(node.getLearnedConstraints().get(0).getConstraint()).isEqualTo(ObjectConstraint.notNull());
+    assertThat(node.getLearnedSymbols()).isEmpty();
+
+    ExplodedGraph.Node root = new ExplodedGraph.Node(new ExplodedGraph.ProgramPoint(cfg.blocks().get(2), 0), ProgramState.EMPTY_STATE);
+    parent.setParent(root, null);
+    assertThat(parent.getLearnedConstraints()).isEmpty();
+    assertThat(parent.getLearnedSymbols()).hasSize(1);
+    assertThat(parent.getLearnedSymbols().get(0).getSymbol()).isSameAs(symbol);
+
+    // only the first parent is used to compute what has been learned
+    node.setParent(root, null);
+    assertThat(node.getLearnedConstraints()).hasSize(1);
+    assertThat(node.getParents()).containsExactly(parent, root);
+  }
+
+  private ExplodedGraph.Node node(int block, int i) {
+    return new ExplodedGraph.Node(new ExplodedGraph.ProgramPoint(cfg.blocks().get(block), i), mock(ProgramState.class));
+  }
+
+}
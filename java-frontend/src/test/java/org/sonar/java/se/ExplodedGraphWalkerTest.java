@@ -114,10 +114,10 @@ public class ExplodedGraphWalkerTest {
 
         if (getNode) {
           if (firstExceptionalNode == null) {
-            firstExceptionalNode = workList.peekFirst();
+            firstExceptionalNode = workList.peek();
           }
           assertThat(workList.size()).as("Should have created a new node in the graph for each of the exceptions").isEqualTo(workListSize + 1);
-          assertThat(workList.peekFirst().programState.peekValue()).as("Exceptional Symbolic Value should stay on the stack").isEqualTo(exceptionSV);
+          assertThat(workList.peek().programState.peekValue()).as("Exceptional Symbolic Value should stay on the stack").isEqualTo(exceptionSV);
           tested[0]++;
         }
       };
@@ -162,7 +162,7 @@ public class ExplodedGraphWalkerTest {
         assertThat(workList.size()).isEqualTo(workListSize + 1);
         if (shouldEnqueueFalseBranch) {
           assertThat(programPoints[1]).isNull();
-          programPoints[1] = workList.peekFirst().programPoint;
+          programPoints[1] = workList.peek().programPoint;
         }
       }
     };
@@ -213,6 +213,40 @@ public class ExplodedGraphWalkerTest {
     });
   }
 
+  @Test
+  public void test_maximum_steps_from_settings() throws Exception {
+    SymbolicExecutionSettings settings = new SymbolicExecutionSettings();
+    settings.setMaxSteps(100);
+    JavaCheckVerifier.verifyNoIssue("src/test/files/se/MaxSteps.java", new SymbolicExecutionVisitor(Collections.emptyList()) {
+      @Override
+      public void visitNode(Tree tree) {
+        try {
+          new ExplodedGraphWalker(settings).visitMethod((MethodTree) tree, new MethodBehavior(((MethodTree) tree).symbol()));
+          fail("Too many states were processed !");
+        } catch (ExplodedGraphWalker.MaximumStepsReachedException exception) {
+          assertThat(exception.getMessage()).startsWith("reached limit of 100 steps for method");
+        }
+      }
+    });
+  }
+
+  @Test
+  public void test_time_budget_reached() throws Exception {
+    JavaCheckVerifier.verifyNoIssue("src/test/files/se/MaxSteps.java", new SymbolicExecutionVisitor(Collections.emptyList()) {
+      @Override
+      public void visitNode(Tree tree) {
+        ExplodedGraphWalker explodedGraphWalker = new ExplodedGraphWalker();
+        explodedGraphWalker.setDeadline(System.nanoTime());
+        try {
+          explodedGraphWalker.visitMethod((MethodTree) tree, new MethodBehavior(((MethodTree) tree).symbol()));
+          fail("Time budget should have been reached !");
+        } catch (ExplodedGraphWalker.MaximumStepsReachedException exception) {
+          assertThat(exception.getMessage()).startsWith("reached time budget after 100 steps for method");
+        }
+      }
+    });
+  }
+
   @Test
   public void test_maximum_steps_reached_with_issue() throws Exception {
     JavaCheckVerifier.verify("src/test/files/se/MaxStepsWithIssue.java", new UnclosedResourcesCheck());
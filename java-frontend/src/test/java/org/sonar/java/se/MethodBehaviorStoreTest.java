@@ -0,0 +1,306 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se;
+
+import com.google.common.collect.Lists;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.java.resolve.SemanticModel;
+import org.sonar.java.se.checks.NullDereferenceCheck;
+import org.sonar.java.se.constraint.ObjectConstraint;
+import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.semantic.Symbol;
+import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.MethodInvocationTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MethodBehaviorStoreTest {
+
+  private static final String SOURCE = "package org.foo;\n"
+    + "class A {\n"
+    + "  static Object check(Object o) {\n"
+    + "    if (o == null) {\n"
+    + "      throw new IllegalStateException();\n"
+    + "    }\n"
+    + "    return o;\n"
+    + "  }\n"
+    + "  <T> void generic(T t, java.util.List<String> list, int[] array) {}\n"
+    + "  void anonymous() {\n"
+    + "    new Object() {\n"
+    + "      void foo(Object o) {}\n"
+    + "    };\n"
+    + "  }\n"
+    + "}\n";
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  @Test
+  public void behaviors_should_be_reused_by_other_semantic_models() throws Exception {
+    File file = sourceFile(SOURCE);
+    MethodBehaviorStore store = new MethodBehaviorStore();
+    execute(parse(SOURCE), file, store);
+    // anonymous class method is not stored
+    assertThat(store.size()).isEqualTo(3);
+
+    Symbol.MethodSymbol check = method(parse(SOURCE), "check");
+    MethodBehavior behavior = store.get(check);
+    assertThat(behavior).isNotNull();
+    assertThat(behavior.isComplete()).isTrue();
+    assertThat(behavior.yields()).hasSize(2);
+    MethodYield happyYield = behavior.happyPathYields().findFirst().get();
+    assertThat(happyYield.parametersConstraints[0]).isEqualTo(ObjectConstraint.notNull());
+    assertThat(happyYield.resultIndex).isEqualTo(0);
+    MethodYield exceptionalYield = behavior.exceptionalPathYields().findFirst().get();
+    assertThat(exceptionalYield.parametersConstraints[0]).isEqualTo(ObjectConstraint.nullConstraint());
+    assertThat(exceptionalYield.exceptionType).as("not a thrown type of the method").isNull();
+  }
+
+  @Test
+  public void stored_behaviors_should_be_used_for_methods_declared_in_other_files() {
+    String source = "class B { void foo(Object o) { java.util.Objects.toString(o); } }";
+    MethodBehaviorStore store = new MethodBehaviorStore();
+    Symbol.MethodSymbol toString = invokedMethod(parse(source));
+    MethodBehavior behavior = new MethodBehavior(toString);
+    MethodYield yield = new MethodYield(1, false);
+    yield.resultConstraint = ObjectConstraint.notNull();
+    behavior.addYield(yield);
+    behavior.completed();
+    store.put(toString, behavior, null);
+
+    SymbolicExecutionVisitor sev = execute(parse(source), null, store);
+    assertThat(sev.behaviorCache.behaviors.keySet()).extracting(Symbol::name).containsOnly("foo", "toString");
+    MethodBehavior storedBehavior = sev.behaviorCache.behaviors.entrySet().stream()
+      .filter(e -> "toString".equals(e.getKey().name()))
+      .findFirst().get().getValue();
+    assertThat(storedBehavior.isComplete()).isTrue();
+    assertThat(storedBehavior.yields()).containsExactly(yield);
+  }
+
+  @Test
+  public void behaviors_with_unsupported_constraints_should_not_be_stored() {
+    CompilationUnitTree cut = parse(SOURCE);
+    Symbol.MethodSymbol check = method(cut, "check");
+    MethodBehavior behavior = new MethodBehavior(check);
+    MethodYield yield = new MethodYield(1, false);
+    yield.parametersConstraints[0] = new ObjectConstraint<>(false, false, new ObjectConstraint.Status() {
+    });
+    behavior.addYield(yield);
+    behavior.completed();
+    MethodBehaviorStore store = new MethodBehaviorStore();
+    store.put(check, behavior, null);
+    assertThat(store.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void signature() {
+    CompilationUnitTree cut = parse(SOURCE);
+    assertThat(MethodBehaviorStore.signature(method(cut, "check"))).isEqualTo("org.foo.A#check(java.lang.Object)");
+    assertThat(MethodBehaviorStore.signature(method(cut, "generic"))).isEqualTo("org.foo.A#generic(java.lang.Object,java.util.List,int[])");
+    assertThat(MethodBehaviorStore.signature(method(cut, "foo"))).isNull();
+  }
+
+  @Test
+  public void saved_behaviors_should_be_discarded_when_their_file_changes() throws Exception {
+    File file = sourceFile(SOURCE);
+    MethodBehaviorStore store = new MethodBehaviorStore();
+    execute(parse(SOURCE), file, store);
+    File storeFile = new File(temp.getRoot(), "behaviors.bin");
+    store.save(storeFile);
+
+    MethodBehaviorStore loadedStore = MethodBehaviorStore.load(storeFile);
+    assertThat(loadedStore.size()).isEqualTo(3);
+    assertThat(loadedStore.get(method(parse(SOURCE), "check")).yields()).hasSize(2);
+
+    Files.write(file.toPath(), (SOURCE + "// changed").getBytes(StandardCharsets.UTF_8));
+    assertThat(MethodBehaviorStore.load(storeFile).size()).isEqualTo(0);
+  }
+
+  @Test
+  public void saved_behaviors_should_be_discarded_when_the_file_of_a_used_behavior_changes() throws Exception {
+    String source = "package org.foo;\n"
+      + "class B {\n"
+      + "  static Object foo(Object o) {\n"
+      + "    return java.util.Objects.toString(o);\n"
+      + "  }\n"
+      + "}\n";
+    File calleeFile = sourceFile("Callee.java", "class Callee {}");
+    File file = sourceFile("B.java", source);
+    MethodBehaviorStore store = new MethodBehaviorStore();
+    Symbol.MethodSymbol toString = invokedMethod(parse(source));
+    MethodBehavior behavior = new MethodBehavior(toString);
+    MethodYield yield = new MethodYield(1, false);
+    yield.resultConstraint = ObjectConstraint.notNull();
+    behavior.addYield(yield);
+    behavior.completed();
+    store.put(toString, behavior, calleeFile);
+    execute(parse(source), file, store);
+    assertThat(store.size()).isEqualTo(2);
+    File storeFile = new File(temp.getRoot(), "behaviors.bin");
+    store.save(storeFile);
+
+    assertThat(MethodBehaviorStore.load(storeFile).get(method(parse(source), "foo"))).isNotNull();
+
+    Files.write(calleeFile.toPath(), "class Callee { }".getBytes(StandardCharsets.UTF_8));
+    MethodBehaviorStore loadedStore = MethodBehaviorStore.load(storeFile);
+    assertThat(loadedStore.size()).isEqualTo(0);
+    assertThat(loadedStore.get(method(parse(source), "foo"))).isNull();
+  }
+
+  @Test
+  public void behaviors_using_behaviors_of_unsaved_files_should_not_be_saved() throws Exception {
+    String source = "package org.foo;\n"
+      + "class B {\n"
+      + "  static Object foo(Object o) {\n"
+      + "    return java.util.Objects.toString(o);\n"
+      + "  }\n"
+      + "}\n";
+    File file = sourceFile("B.java", source);
+    MethodBehaviorStore store = new MethodBehaviorStore();
+    Symbol.MethodSymbol toString = invokedMethod(parse(source));
+    MethodBehavior behavior = new MethodBehavior(toString);
+    behavior.addYield(new MethodYield(1, false));
+    behavior.completed();
+    store.put(toString, behavior, null);
+    execute(parse(source), file, store);
+    assertThat(store.size()).isEqualTo(2);
+    File storeFile = new File(temp.getRoot(), "behaviors.bin");
+    store.save(storeFile);
+    assertThat(MethodBehaviorStore.load(storeFile).size()).isEqualTo(0);
+  }
+
+  @Test
+  public void stores_saved_with_another_format_should_be_ignored() throws Exception {
+    File file = sourceFile(SOURCE);
+    MethodBehaviorStore store = new MethodBehaviorStore();
+    execute(parse(SOURCE), file, store);
+    File storeFile = new File(temp.getRoot(), "behaviors.bin");
+    store.save(storeFile);
+    assertThat(MethodBehaviorStore.load(storeFile).size()).isEqualTo(3);
+
+    byte[] content = Files.readAllBytes(storeFile.toPath());
+    ByteArrayOutputStream otherVersion = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(otherVersion)) {
+      out.writeUTF("sonar-java-method-behaviors");
+      out.writeInt(MethodBehaviorStore.FORMAT_VERSION + 1);
+    }
+    // same content as the saved store, apart from the version
+    byte[] header = otherVersion.toByteArray();
+    System.arraycopy(header, 0, content, 0, header.length);
+    Files.write(storeFile.toPath(), content);
+    assertThat(MethodBehaviorStore.load(storeFile).size()).isEqualTo(0);
+
+    try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(storeFile))) {
+      out.writeObject(new HashMap<>());
+    }
+    assertThat(MethodBehaviorStore.load(storeFile).size()).isEqualTo(0);
+  }
+
+  @Test
+  public void behaviors_of_unsaved_files_should_not_be_saved() throws Exception {
+    MethodBehaviorStore store = new MethodBehaviorStore();
+    execute(parse(SOURCE), null, store);
+    assertThat(store.size()).isEqualTo(3);
+    File storeFile = new File(temp.getRoot(), "behaviors.bin");
+    store.save(storeFile);
+    assertThat(MethodBehaviorStore.load(storeFile).size()).isEqualTo(0);
+  }
+
+  @Test
+  public void invalid_store_files_should_be_ignored() throws Exception {
+    assertThat(MethodBehaviorStore.load(new File(temp.getRoot(), "unknown.bin")).size()).isEqualTo(0);
+    File storeFile = temp.newFile("corrupted.bin");
+    Files.write(storeFile.toPath(), "not a store".getBytes(StandardCharsets.UTF_8));
+    assertThat(MethodBehaviorStore.load(storeFile).size()).isEqualTo(0);
+    // saving in a directory fails
+    new MethodBehaviorStore().save(temp.getRoot());
+  }
+
+  private File sourceFile(String source) throws IOException {
+    return sourceFile("A.java", source);
+  }
+
+  private File sourceFile(String name, String source) throws IOException {
+    File file = temp.newFile(name);
+    Files.write(file.toPath(), source.getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+
+  private static CompilationUnitTree parse(String source) {
+    CompilationUnitTree cut = (CompilationUnitTree) JavaParser.createParser(StandardCharsets.UTF_8).parse(source);
+    SemanticModel.createFor(cut, Collections.emptyList());
+    return cut;
+  }
+
+  private static SymbolicExecutionVisitor execute(CompilationUnitTree cut, File file, MethodBehaviorStore store) {
+    SymbolicExecutionVisitor sev = new SymbolicExecutionVisitor(Lists.newArrayList(new NullDereferenceCheck()), store, new SymbolicExecutionSettings());
+    JavaFileScannerContext context = mock(JavaFileScannerContext.class);
+    when(context.getTree()).thenReturn(cut);
+    when(context.getFile()).thenReturn(file);
+    sev.scanFile(context);
+    return sev;
+  }
+
+  private static Symbol.MethodSymbol method(CompilationUnitTree cut, String name) {
+    List<Symbol.MethodSymbol> methods = new ArrayList<>();
+    cut.accept(new BaseTreeVisitor() {
+      @Override
+      public void visitMethod(MethodTree tree) {
+        if (name.equals(tree.simpleName().name())) {
+          methods.add(tree.symbol());
+        }
+        super.visitMethod(tree);
+      }
+    });
+    return methods.get(0);
+  }
+
+  private static Symbol.MethodSymbol invokedMethod(CompilationUnitTree cut) {
+    List<Symbol.MethodSymbol> methods = new ArrayList<>();
+    cut.accept(new BaseTreeVisitor() {
+      @Override
+      public void visitMethodInvocation(MethodInvocationTree tree) {
+        methods.add((Symbol.MethodSymbol) tree.symbol());
+      }
+    });
+    return methods.get(0);
+  }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se;
+
+import com.google.common.base.Charsets;
+import com.google.common.collect.Lists;
+import org.junit.Test;
+import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.java.resolve.SemanticModel;
+import org.sonar.plugins.java.api.tree.BaseTreeVisitor;
+import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MethodCallGraphTest {
+
+  @Test
+  public void components_should_follow_the_components_they_call() {
+    List<MethodCallGraph.Component> components = MethodCallGraph.components(methods("class A {"
+      + "  void a() { b(); d(); }"
+      + "  void b() { c(); }"
+      + "  void c() { b(); d(); }"
+      + "  void d() { }"
+      + "  void e() { e(); new Object() { void f() { a(); } }; }"
+      + "}"));
+
+    assertThat(components).hasSize(5);
+    assertThat(names(components.get(0))).containsExactly("d");
+    assertThat(names(components.get(1))).containsExactly("b", "c");
+    assertThat(names(components.get(2))).containsExactly("a");
+    assertThat(names(components.get(3))).containsExactly("e");
+    assertThat(names(components.get(4))).containsExactly("f");
+
+    assertThat(components.get(0).calledComponents).isEmpty();
+    assertThat(components.get(1).calledComponents).containsExactly(components.get(0));
+    assertThat(components.get(2).calledComponents).containsExactly(components.get(1), components.get(0));
+    // calls from methods of anonymous classes are attributed to the enclosing method as well
+    assertThat(components.get(3).calledComponents).containsExactly(components.get(2));
+    assertThat(components.get(4).calledComponents).containsExactly(components.get(2));
+  }
+
+  @Test
+  public void calls_to_methods_of_other_files_are_ignored() {
+    List<MethodCallGraph.Component> components = MethodCallGraph.components(methods("class A {"
+      + "  void a(Object o) { o.toString(); unknown(); }"
+      + "  void b() { }"
+      + "}"));
+
+    assertThat(components).hasSize(2);
+    assertThat(components.stream().allMatch(component -> component.calledComponents.isEmpty())).isTrue();
+  }
+
+  private static List<String> names(MethodCallGraph.Component component) {
+    return component.methods.stream().map(method -> method.simpleName().name()).collect(Collectors.toList());
+  }
+
+  private static List<MethodTree> methods(String source) {
+    CompilationUnitTree cut = (CompilationUnitTree) JavaParser.createParser(Charsets.UTF_8).parse(source);
+    SemanticModel.createFor(cut, Lists.newArrayList());
+    List<MethodTree> methods = new ArrayList<>();
+    cut.accept(new BaseTreeVisitor() {
+      @Override
+      public void visitMethod(MethodTree tree) {
+        methods.add(tree);
+        super.visitMethod(tree);
+      }
+    });
+    return methods;
+  }
+
+}
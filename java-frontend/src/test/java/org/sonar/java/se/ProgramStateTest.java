@@ -19,12 +19,15 @@
  */
 package org.sonar.java.se;
 
+import com.google.common.collect.Lists;
 import junit.framework.Assert;
 import org.junit.Test;
 import org.sonar.java.resolve.JavaSymbol;
 import org.sonar.java.resolve.Symbols;
 import org.sonar.java.se.ProgramState.Pop;
+import org.sonar.java.se.constraint.BooleanConstraint;
 import org.sonar.java.se.constraint.ObjectConstraint;
+import org.sonar.java.se.symbolicvalues.RelationalSymbolicValue;
 import org.sonar.java.se.symbolicvalues.SymbolicValue;
 import org.sonar.plugins.java.api.semantic.Symbol;
 
@@ -65,6 +68,7 @@ public class ProgramStateTest {
     assertThat(values).hasSize(1);
     assertThat(values.get(0)).isSameAs(sv2);
     assertThat(state.peekValue()).isSameAs(sv1);
+    assertThat(state.clearStack().peekValue()).isNull();
   }
 
   @Test
@@ -90,4 +94,47 @@ public class ProgramStateTest {
     ProgramState next = state.addConstraint(sv3, ObjectConstraint.notNull());
     assertThat(next).isSameAs(state);
   }
+
+  @Test
+  public void known_relations_follow_constraints() {
+    SymbolicValue a = new SymbolicValue(1);
+    SymbolicValue b = new SymbolicValue(2);
+    RelationalSymbolicValue relation = new RelationalSymbolicValue(3, RelationalSymbolicValue.Kind.LESS_THAN);
+    relation.computedFrom(Lists.newArrayList(b, a));
+    assertThat(ProgramState.EMPTY_STATE.getKnownRelations(a).isEmpty()).isTrue();
+
+    ProgramState state = ProgramState.EMPTY_STATE.addConstraint(relation, BooleanConstraint.TRUE);
+    assertThat(state.getKnownRelations(a).contains(relation.binaryRelation())).isTrue();
+    assertThat(state.getKnownRelations(b).contains(relation.binaryRelation())).isTrue();
+
+    state = state.addConstraint(relation, BooleanConstraint.FALSE);
+    assertThat(state.getKnownRelations(a).contains(relation.binaryRelation())).isFalse();
+    assertThat(state.getKnownRelations(b).contains(relation.binaryRelation().inverse())).isTrue();
+  }
+
+  @Test
+  public void known_relations_implied_by_several_symbolic_values_are_kept_until_none_implies_them() {
+    SymbolicValue a = new SymbolicValue(1);
+    SymbolicValue b = new SymbolicValue(2);
+    RelationalSymbolicValue relation = new RelationalSymbolicValue(3, RelationalSymbolicValue.Kind.LESS_THAN);
+    relation.computedFrom(Lists.newArrayList(b, a));
+    RelationalSymbolicValue sameRelation = new RelationalSymbolicValue(4, RelationalSymbolicValue.Kind.LESS_THAN);
+    sameRelation.computedFrom(Lists.newArrayList(b, a));
+    assertThat(sameRelation.binaryRelation()).isEqualTo(relation.binaryRelation());
+
+    ProgramState state = ProgramState.EMPTY_STATE
+      .addConstraint(relation, BooleanConstraint.TRUE)
+      .addConstraint(sameRelation, BooleanConstraint.TRUE);
+
+    ProgramState stateWithoutFirst = state.addConstraint(relation, ObjectConstraint.notNull());
+    assertThat(stateWithoutFirst.getKnownRelations(a).contains(relation.binaryRelation())).isTrue();
+    assertThat(stateWithoutFirst.getKnownRelations(b).contains(relation.binaryRelation())).isTrue();
+
+    ProgramState stateWithoutSecond = state.addConstraint(sameRelation, ObjectConstraint.notNull());
+    assertThat(stateWithoutSecond.getKnownRelations(a).contains(relation.binaryRelation())).isTrue();
+
+    ProgramState stateWithoutBoth = stateWithoutFirst.addConstraint(sameRelation, ObjectConstraint.notNull());
+    assertThat(stateWithoutBoth.getKnownRelations(a).isEmpty()).isTrue();
+    assertThat(stateWithoutBoth.getKnownRelations(b).isEmpty()).isTrue();
+  }
 }
@@ -26,29 +26,47 @@ import org.apache.commons.io.FileUtils;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import org.sonar.java.ast.parser.JavaParser;
+import org.sonar.java.bytecode.ClassLoaderBuilder;
+import org.sonar.java.bytecode.loader.SquidClassLoader;
+import org.sonar.java.cfg.CFG;
 import org.sonar.java.resolve.SemanticModel;
+import org.sonar.java.se.checks.LocksNotUnlockedCheck;
 import org.sonar.java.se.checks.NullDereferenceCheck;
+import org.sonar.java.se.checks.OptionalGetBeforeIsPresentCheck;
 import org.sonar.java.se.checks.SECheck;
+import org.sonar.java.se.checks.UnclosedResourcesCheck;
 import org.sonar.java.se.constraint.BooleanConstraint;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
 import org.sonar.plugins.java.api.semantic.Symbol;
 import org.sonar.plugins.java.api.tree.CompilationUnitTree;
+import org.sonar.plugins.java.api.tree.MethodTree;
 import org.sonar.plugins.java.api.tree.Tree;
 
+import javax.annotation.Nullable;
+
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anySet;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -182,15 +200,172 @@ public class SymbolicExecutionVisitorTest {
     verify(context, never()).reportIssueWithFlow(eq(seCheck), any(Tree.class), anyString(), anySet(), anyInt());
   }
 
+  @Test
+  public void work_list_strategies_should_compute_same_behaviors() {
+    Map<String, Set<String>> expectedYields = yieldsByMethod(createSymbolicExecutionVisitor("src/test/resources/se/MethodBehavior.java"));
+    assertThat(expectedYields).isNotEmpty();
+    for (WorkList.Strategy strategy : WorkList.Strategy.values()) {
+      SymbolicExecutionSettings settings = new SymbolicExecutionSettings();
+      settings.setWorkListStrategy(strategy);
+      SymbolicExecutionVisitor sev = createSymbolicExecutionVisitor("src/test/resources/se/MethodBehavior.java", new NullDereferenceCheck(), settings);
+      Map<String, Set<String>> yields = yieldsByMethod(sev);
+      assertThat(yields).as(strategy.name()).isEqualTo(expectedYields);
+    }
+  }
+
+  @Test
+  public void methods_should_not_be_explored_once_file_budget_is_exceeded() {
+    SymbolicExecutionSettings settings = new SymbolicExecutionSettings();
+    settings.setFileTimeBudgetMillis(1);
+    SECheck slowCheck = new SECheck() {
+      @Override
+      public void init(MethodTree methodTree, CFG cfg) {
+        try {
+          Thread.sleep(5);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    };
+    SymbolicExecutionVisitor sev = createSymbolicExecutionVisitor("src/test/resources/se/MethodBehavior.java", slowCheck, settings);
+    // only the first method can be explored, budget is exceeded as soon as the check is initialized
+    assertThat(sev.behaviorCache.behaviors.values().stream().filter(Objects::nonNull).filter(MethodBehavior::isComplete).count()).isLessThanOrEqualTo(1);
+  }
+
+  @Test
+  public void parallel_exploration_should_compute_same_behaviors_and_issues() {
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      for (String file : Arrays.asList("src/test/resources/se/MethodBehavior.java", "src/test/files/se/XProcMethodBehavior.java",
+        "src/test/files/se/NullDereferenceCheck.java", "src/test/files/se/ConditionAlwaysTrueOrFalseCheck.java")) {
+        SECheck sequentialCheck = new NullDereferenceCheck();
+        SymbolicExecutionVisitor sequentialSev = createSymbolicExecutionVisitor(file, sequentialCheck);
+        SECheck parallelCheck = new NullDereferenceCheck();
+        SymbolicExecutionVisitor parallelSev = createSymbolicExecutionVisitor(file, parallelCheck, new SymbolicExecutionSettings(), pool);
+
+        Map<String, Set<String>> expectedYields = yieldsByMethod(sequentialSev);
+        Map<String, Set<String>> yields = yieldsByMethod(parallelSev);
+        assertThat(yields).as(file).isEqualTo(expectedYields);
+        assertThat(reportedIssues(parallelCheck)).as(file).isEqualTo(reportedIssues(sequentialCheck));
+      }
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  @Test
+  public void parallel_exploration_of_several_files_should_complete_bytecode_symbols_consistently() throws Exception {
+    List<String> files = Arrays.asList("src/test/files/se/UnclosedResourcesCheck.java", "src/test/files/se/LocksNotUnlockedCheck.java",
+      "src/test/files/se/OptionalGetBeforeIsPresentCheck.java", "src/test/files/se/NullDereferenceCheck.java", "src/test/files/se/XProcMethodBehavior.java",
+      "src/test/files/se/StreamResource.java");
+    Map<String, ExplorationResult> expectedResults = new HashMap<>();
+    for (String file : files) {
+      expectedResults.put(file, explore(file, null, null));
+    }
+    SquidClassLoader classLoader = ClassLoaderBuilder.createIndexed(classPath);
+    ForkJoinPool pool = new ForkJoinPool(4);
+    ExecutorService executor = Executors.newFixedThreadPool(files.size());
+    try {
+      // files are explored at the same time, symbols of each of them being completed lazily from bytecode by several threads
+      for (int i = 0; i < 3; i++) {
+        Map<String, Future<ExplorationResult>> results = new HashMap<>();
+        for (String file : files) {
+          results.put(file, executor.submit(() -> explore(file, classLoader, pool)));
+        }
+        for (String file : files) {
+          ExplorationResult result = results.get(file).get();
+          assertThat(result.yields).as(file).isEqualTo(expectedResults.get(file).yields);
+          assertThat(result.issues).as(file).isEqualTo(expectedResults.get(file).issues);
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+      pool.shutdownNow();
+      classLoader.close();
+    }
+  }
+
+  private static ExplorationResult explore(String fileName, @Nullable SquidClassLoader classLoader, @Nullable ForkJoinPool pool) {
+    CompilationUnitTree cut = (CompilationUnitTree) JavaParser.createParser(Charsets.UTF_8).parse(new File(fileName));
+    SemanticModel semanticModel = classLoader == null ? SemanticModel.createFor(cut, classPath) : SemanticModel.createFor(cut, classLoader);
+    List<SECheck> checks = Arrays.asList(new NullDereferenceCheck(), new UnclosedResourcesCheck(), new LocksNotUnlockedCheck(), new OptionalGetBeforeIsPresentCheck());
+    SymbolicExecutionVisitor sev = new SymbolicExecutionVisitor(new ArrayList<>(checks), new MethodBehaviorStore(), new SymbolicExecutionSettings());
+    sev.setExplorationPool(pool);
+    JavaFileScannerContext context = mock(JavaFileScannerContext.class);
+    when(context.getTree()).thenReturn(cut);
+    when(context.getSemanticModel()).thenReturn(semanticModel);
+    sev.scanFile(context);
+    ExplorationResult result = new ExplorationResult();
+    result.yields = yieldsByMethod(sev);
+    result.issues = checks.stream().flatMap(check -> reportedIssues(check).stream().map(issue -> check.getClass().getSimpleName() + " " + issue))
+      .collect(Collectors.toList());
+    return result;
+  }
+
+  private static class ExplorationResult {
+    private Map<String, Set<String>> yields;
+    private List<String> issues;
+  }
+
+  @Test
+  public void parallel_exploration_should_propagate_failures() {
+    ForkJoinPool pool = new ForkJoinPool(2);
+    SECheck failingCheck = new SECheck() {
+      @Override
+      public void init(MethodTree methodTree, CFG cfg) {
+        throw new IllegalStateException("failure of " + methodTree.simpleName().name());
+      }
+    };
+    try {
+      createSymbolicExecutionVisitor("src/test/resources/se/MethodBehavior.java", failingCheck, new SymbolicExecutionSettings(), pool);
+      fail("exception should be propagated");
+    } catch (IllegalStateException e) {
+      assertThat(e.getMessage()).startsWith("failure of ");
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  private static List<String> reportedIssues(SECheck check) {
+    JavaFileScannerContext context = mock(JavaFileScannerContext.class);
+    List<String> issues = new ArrayList<>();
+    doAnswer(invocation -> issues.add(((Tree) invocation.getArguments()[1]).firstToken().line() + ":" + invocation.getArguments()[2]))
+      .when(context).reportIssueWithFlow(any(), any(), anyString(), any(), any());
+    check.scanFile(context);
+    return issues;
+  }
+
+  private static Map<String, Set<String>> yieldsByMethod(SymbolicExecutionVisitor sev) {
+    return sev.behaviorCache.behaviors.entrySet().stream()
+      .filter(e -> e.getValue() != null)
+      .collect(Collectors.toMap(e -> methodKey(e.getKey()), e -> e.getValue().yields().stream().map(MethodYield::toString).collect(Collectors.toSet())));
+  }
+
+  private static String methodKey(Symbol.MethodSymbol symbol) {
+    MethodTree declaration = symbol.declaration();
+    String location = declaration == null ? symbol.owner().type().fullyQualifiedName() : ("line " + declaration.simpleName().identifierToken().line());
+    return symbol.name() + symbol.parameterTypes() + " " + location;
+  }
+
   private static SymbolicExecutionVisitor createSymbolicExecutionVisitor(String fileName) {
     return createSymbolicExecutionVisitor(fileName, new NullDereferenceCheck());
   }
 
   private static SymbolicExecutionVisitor createSymbolicExecutionVisitor(String fileName, SECheck seCheck) {
+    return createSymbolicExecutionVisitor(fileName, seCheck, new SymbolicExecutionSettings());
+  }
+
+  private static SymbolicExecutionVisitor createSymbolicExecutionVisitor(String fileName, SECheck seCheck, SymbolicExecutionSettings settings) {
+    return createSymbolicExecutionVisitor(fileName, seCheck, settings, null);
+  }
+
+  private static SymbolicExecutionVisitor createSymbolicExecutionVisitor(String fileName, SECheck seCheck, SymbolicExecutionSettings settings,
+    @Nullable ForkJoinPool pool) {
     ActionParser<Tree> p = JavaParser.createParser(Charsets.UTF_8);
     CompilationUnitTree cut = (CompilationUnitTree) p.parse(new File(fileName));
     SemanticModel semanticModel = SemanticModel.createFor(cut, classPath);
-    SymbolicExecutionVisitor sev = new SymbolicExecutionVisitor(Lists.newArrayList(seCheck));
+    SymbolicExecutionVisitor sev = new SymbolicExecutionVisitor(Lists.newArrayList(seCheck), new MethodBehaviorStore(), settings);
+    sev.setExplorationPool(pool);
     JavaFileScannerContext context = mock(JavaFileScannerContext.class);
     when(context.getTree()).thenReturn(cut);
     when(context.getSemanticModel()).thenReturn(semanticModel);
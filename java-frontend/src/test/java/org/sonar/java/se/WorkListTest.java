@@ -0,0 +1,86 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.java.se;
+
+import org.junit.Test;
+import org.sonar.java.cfg.CFG;
+import org.sonar.java.cfg.CFGTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class WorkListTest {
+
+  private final CFG cfg = CFGTest.buildCFG("void foo(boolean b) { if (b) { foo(); } else { bar(); } }");
+  private final ExplodedGraph.Node a1 = node(0, 0);
+  private final ExplodedGraph.Node a2 = node(0, 1);
+  private final ExplodedGraph.Node b1 = node(1, 0);
+  private final ExplodedGraph.Node c1 = node(2, 0);
+
+  @Test
+  public void depth_first() {
+    assertThat(explorationOrder(WorkList.Strategy.DEPTH_FIRST)).containsExactly(c1, a2, b1, a1);
+  }
+
+  @Test
+  public void breadth_first() {
+    assertThat(explorationOrder(WorkList.Strategy.BREADTH_FIRST)).containsExactly(a1, b1, a2, c1);
+  }
+
+  @Test
+  public void unexplored_blocks_first() {
+    assertThat(explorationOrder(WorkList.Strategy.UNEXPLORED_BLOCKS_FIRST)).containsExactly(c1, b1, a1, a2);
+  }
+
+  @Test
+  public void empty_work_list() {
+    for (WorkList.Strategy strategy : WorkList.Strategy.values()) {
+      WorkList workList = strategy.create();
+      assertThat(workList.isEmpty()).isTrue();
+      assertThat(workList.peek()).isNull();
+      workList.push(a1);
+      assertThat(workList.isEmpty()).isFalse();
+      assertThat(workList.size()).isEqualTo(1);
+      assertThat(workList.peek()).isSameAs(a1);
+    }
+  }
+
+  private List<ExplodedGraph.Node> explorationOrder(WorkList.Strategy strategy) {
+    WorkList workList = strategy.create();
+    workList.push(a1);
+    workList.push(b1);
+    workList.push(a2);
+    workList.push(c1);
+    List<ExplodedGraph.Node> nodes = new ArrayList<>();
+    while (!workList.isEmpty()) {
+      assertThat(workList.size()).isEqualTo(4 - nodes.size());
+      nodes.add(workList.pop());
+    }
+    return nodes;
+  }
+
+  private ExplodedGraph.Node node(int block, int i) {
+    return new ExplodedGraph.Node(new ExplodedGraph.ProgramPoint(cfg.blocks().get(block), i), mock(ProgramState.class));
+  }
+
+}
@@ -20,19 +20,45 @@
 package org.sonar.java.se.checks;
 
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.sonar.java.cfg.CFG;
 import org.sonar.java.cfg.CFGTest;
 import org.sonar.java.se.ExplodedGraph;
 import org.sonar.java.se.ProgramState;
 import org.sonar.java.se.symbolicvalues.SymbolicValue;
 import org.sonar.plugins.java.api.JavaFileScannerContext;
+import org.sonar.plugins.java.api.tree.Tree;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anySet;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
 
 public class SECheckTest {
+  @Test
+  public void issues_should_be_reported_in_order_of_position() {
+    CFG cfg = CFGTest.buildCFG("void foo(int a) {\n a = 1;\n a = 2; a = 3;\n}");
+    List<Tree> statements = cfg.blocks().stream().flatMap(b -> b.elements().stream()).filter(t -> t.is(Tree.Kind.ASSIGNMENT)).collect(Collectors.toList());
+    assertThat(statements).hasSize(3);
+    SECheck check = new SECheck() {
+    };
+    check.reportIssue(statements.get(2), "third", Collections.emptySet());
+    check.reportIssue(statements.get(0), "first", Collections.emptySet());
+    check.reportIssue(statements.get(1), "second", Collections.emptySet());
+
+    JavaFileScannerContext context = mock(JavaFileScannerContext.class);
+    check.scanFile(context);
+    InOrder inOrder = inOrder(context);
+    inOrder.verify(context).reportIssueWithFlow(eq(check), eq(statements.get(0)), eq("first"), anySet(), eq(null));
+    inOrder.verify(context).reportIssueWithFlow(eq(check), eq(statements.get(1)), eq("second"), anySet(), eq(null));
+    inOrder.verify(context).reportIssueWithFlow(eq(check), eq(statements.get(2)), eq("third"), anySet(), eq(null));
+  }
+
   @Test(timeout = 3000)
   public void flow_from_exit_node_should_not_lead_to_infinite_recursion() throws Exception {
     CFG cfg = CFGTest.buildCFG("void foo(boolean a) { if(a) {foo(true);} foo(false); }");
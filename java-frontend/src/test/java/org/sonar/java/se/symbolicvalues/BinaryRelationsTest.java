@@ -505,7 +505,7 @@ public class BinaryRelationsTest {
   }
 
   @Test
-  public void checkTransitiveLimit() {
+  public void long_chains_of_relations_are_resolved() {
     List<BinaryRelation> relations = new ArrayList<>();
     SymbolicValue first = null;
     SymbolicValue previous = null;
@@ -519,12 +519,9 @@ public class BinaryRelationsTest {
       }
       previous = last;
     }
-    try {
-      relation(EQUAL, first, last).resolveState(relations);
-      fail("Transitive limit was exceeded, but not detected!");
-    } catch (BinaryRelation.TransitiveRelationExceededException e) {
-      assertThat(e.getMessage()).contains("exceeded");
-    }
+    assertThat(relation(EQUAL, first, last).resolveState(relations)).isEqualTo(FULFILLED);
+    assertThat(relation(NOT_EQUAL, last, first).resolveState(relations)).isEqualTo(UNFULFILLED);
+    assertThat(relation(EQUAL, first, new SymbolicValue(300)).resolveState(relations)).isEqualTo(UNDETERMINED);
   }
 
   @Test
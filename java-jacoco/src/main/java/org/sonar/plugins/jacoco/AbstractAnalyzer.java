@@ -19,15 +19,12 @@
  */
 package org.sonar.plugins.jacoco;
 
-import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import org.apache.commons.lang.StringUtils;
 import org.jacoco.core.analysis.CoverageBuilder;
 import org.jacoco.core.analysis.ICounter;
 import org.jacoco.core.analysis.ILine;
 import org.jacoco.core.analysis.ISourceFileCoverage;
-import org.jacoco.core.data.ExecutionData;
-import org.jacoco.core.data.ExecutionDataStore;
 import org.sonar.api.batch.fs.InputFile;
 import org.sonar.api.batch.sensor.SensorContext;
 import org.sonar.api.batch.sensor.coverage.CoverageType;
@@ -42,10 +39,12 @@ import org.sonar.plugins.java.api.JavaResourceLocator;
 
 import javax.annotation.Nullable;
 import java.io.File;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
 
 
 public abstract class AbstractAnalyzer {
@@ -73,8 +72,8 @@ public abstract class AbstractAnalyzer {
     return ("".equals(packageName) ? "" : (packageName + "/")) + StringUtils.substringBeforeLast(simpleClassName, ".");
   }
 
-  private InputFile getResource(ISourceFileCoverage coverage) {
-    String className = fullyQualifiedClassName(coverage.getPackageName(), coverage.getName());
+  private InputFile getResource(String packageName, String sourceFileName) {
+    String className = fullyQualifiedClassName(packageName, sourceFileName);
 
     InputFile inputFile = javaResourceLocator.findResourceByClassName(className);
     if (inputFile == null) {
@@ -133,7 +132,7 @@ public abstract class AbstractAnalyzer {
     CoverageBuilder coverageBuilder = jacocoReportReader.analyzeFiles(executionDataVisitor.getMerged(), classFilesCache.values());
     int analyzedResources = 0;
     for (ISourceFileCoverage coverage : coverageBuilder.getSourceFiles()) {
-      InputFile inputFile = getResource(coverage);
+      InputFile inputFile = getResource(coverage.getPackageName(), coverage.getName());
       if (inputFile != null) {
         NewCoverage newCoverage = context.newCoverage().onFile(inputFile).ofType(coverageType());
         analyzeFile(newCoverage, inputFile, coverage);
@@ -151,22 +150,26 @@ public abstract class AbstractAnalyzer {
   }
 
   private boolean readCoveragePerTests(ExecutionDataVisitor executionDataVisitor) {
-    boolean collectedCoveragePerTest = false;
-    if (readCoveragePerTests) {
-      for (Map.Entry<String, ExecutionDataStore> entry : executionDataVisitor.getSessions().entrySet()) {
-        if (analyzeLinesCoveredByTests(entry.getKey(), entry.getValue())) {
-          collectedCoveragePerTest = true;
-        }
-      }
+    if (!readCoveragePerTests) {
+      return false;
     }
-    return collectedCoveragePerTest;
+    CoveragePerTestDecoder decoder = new CoveragePerTestDecoder(jacocoReportReader, classFilesCache);
+    // sessions are decoded in parallel, while coverage is added to the test plans one session at a time
+    AtomicBoolean collectedCoveragePerTest = new AtomicBoolean(false);
+    executionDataVisitor.getSessions().entrySet().parallelStream()
+      .filter(entry -> entry.getKey().indexOf(' ') >= 0)
+      .map(entry -> new SessionCoverage(entry.getKey(), decoder.coveredLines(entry.getValue())))
+      .forEachOrdered(sessionCoverage -> {
+        if (addLinesCoveredByTest(sessionCoverage)) {
+          collectedCoveragePerTest.set(true);
+        }
+      });
+    return collectedCoveragePerTest.get();
   }
 
-  private boolean analyzeLinesCoveredByTests(String sessionId, ExecutionDataStore executionDataStore) {
+  private boolean addLinesCoveredByTest(SessionCoverage sessionCoverage) {
+    String sessionId = sessionCoverage.sessionId;
     int i = sessionId.indexOf(' ');
-    if (i < 0) {
-      return false;
-    }
     String testClassName = sessionId.substring(0, i);
     String testName = sessionId.substring(i + 1);
     InputFile testResource = javaResourceLocator.findResourceByClassName(testClassName);
@@ -176,12 +179,11 @@ public abstract class AbstractAnalyzer {
     }
 
     boolean result = false;
-    CoverageBuilder coverageBuilder = jacocoReportReader.analyzeFiles(executionDataStore, classFilesOfStore(executionDataStore));
-    for (ISourceFileCoverage coverage : coverageBuilder.getSourceFiles()) {
-      InputFile resource = getResource(coverage);
-      if (resource != null) {
-        List<Integer> coveredLines =  coveredLines(coverage);
-        if (!coveredLines.isEmpty() && addCoverage(resource, testResource, testName, coveredLines)) {
+    for (CoveragePerTestDecoder.SourceFileLines sourceFileLines : sessionCoverage.coveredLines) {
+      InputFile resource = getResource(sourceFileLines.packageName, sourceFileLines.sourceFileName);
+      if (resource != null && !sourceFileLines.isEmpty()) {
+        List<Integer> coveredLines = Arrays.stream(sourceFileLines.lines()).boxed().collect(Collectors.toList());
+        if (addCoverage(resource, testResource, testName, coveredLines)) {
           result = true;
         }
       }
@@ -189,19 +191,6 @@ public abstract class AbstractAnalyzer {
     return result;
   }
 
-  private Collection<File> classFilesOfStore(ExecutionDataStore executionDataStore) {
-    Collection<File> result = Lists.newArrayList();
-    for (ExecutionData data : executionDataStore.getContents()) {
-      String vmClassName = data.getName();
-      File classFile = classFilesCache.get(vmClassName);
-      if (classFile != null) {
-        result.add(classFile);
-      }
-    }
-    return result;
-  }
-
-
   private boolean addCoverage(InputFile resource, InputFile testFile, String testName, List<Integer> coveredLines) {
     boolean result = false;
     Testable testAbleFile = perspectives.as(MutableTestable.class, resource);
@@ -217,24 +206,6 @@ public abstract class AbstractAnalyzer {
     return result;
   }
 
-  private static List<Integer> coveredLines(ISourceFileCoverage coverage) {
-    List<Integer> coveredLines = new ArrayList<>();
-    for (int lineId = coverage.getFirstLine(); lineId <= coverage.getLastLine(); lineId++) {
-      ILine line = coverage.getLine(lineId);
-      switch (line.getInstructionCounter().getStatus()) {
-        case ICounter.FULLY_COVERED:
-        case ICounter.PARTLY_COVERED:
-          coveredLines.add(lineId);
-          break;
-        case ICounter.NOT_COVERED:
-          break;
-        default:
-          continue;
-      }
-    }
-    return coveredLines;
-  }
-
   private static void analyzeFile(NewCoverage newCoverage, InputFile resource, ISourceFileCoverage coverage) {
     for (int lineId = coverage.getFirstLine(); lineId <= coverage.getLastLine(); lineId++) {
       final int hits;
@@ -263,6 +234,16 @@ public abstract class AbstractAnalyzer {
     }
   }
 
+  private static class SessionCoverage {
+    private final String sessionId;
+    private final Collection<CoveragePerTestDecoder.SourceFileLines> coveredLines;
+
+    SessionCoverage(String sessionId, Collection<CoveragePerTestDecoder.SourceFileLines> coveredLines) {
+      this.sessionId = sessionId;
+      this.coveredLines = coveredLines;
+    }
+  }
+
   protected abstract CoverageType coverageType();
 
   protected abstract File getReport();
@@ -0,0 +1,196 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2010-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.jacoco;
+
+import com.google.common.io.Files;
+import org.jacoco.core.analysis.CoverageBuilder;
+import org.jacoco.core.analysis.ICounter;
+import org.jacoco.core.analysis.ILine;
+import org.jacoco.core.analysis.ISourceFileCoverage;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.ExecutionDataStore;
+
+import javax.annotation.CheckForNull;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decodes the lines covered by each test from the execution data of its session.
+ * <p>
+ * The lines of a class covered by a test only depend on the probes of the class hit by the test, and most tests hit the same probes of
+ * the classes they share. Each class file is then read once, and analyzed once per distinct set of hit probes rather than once per test.
+ * Sessions can be decoded by several threads at the same time.
+ */
+class CoveragePerTestDecoder {
+
+  private final JacocoReportReader jacocoReportReader;
+  private final Map<String, File> classFiles;
+  private final Map<String, byte[]> classBytes = new ConcurrentHashMap<>();
+  private final Map<HitProbes, Optional<SourceFileLines>> coveredLinesByHitProbes = new ConcurrentHashMap<>();
+
+  CoveragePerTestDecoder(JacocoReportReader jacocoReportReader, Map<String, File> classFiles) {
+    this.jacocoReportReader = jacocoReportReader;
+    this.classFiles = classFiles;
+  }
+
+  /**
+   * Lines covered by a test, by source file.
+   */
+  Collection<SourceFileLines> coveredLines(ExecutionDataStore executionDataStore) {
+    Map<String, SourceFileLines> result = new HashMap<>();
+    for (ExecutionData data : executionDataStore.getContents()) {
+      if (classFiles.containsKey(data.getName()) && hasHits(data.getProbes())) {
+        coveredLinesByHitProbes.computeIfAbsent(new HitProbes(data), this::analyze)
+          .ifPresent(lines -> result.merge(lines.packageName + "/" + lines.sourceFileName, lines, SourceFileLines::union));
+      }
+    }
+    return result.values();
+  }
+
+  private static boolean hasHits(boolean[] probes) {
+    for (boolean probe : probes) {
+      if (probe) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private Optional<SourceFileLines> analyze(HitProbes hitProbes) {
+    File classFile = classFiles.get(hitProbes.className);
+    byte[] bytes = classBytes.computeIfAbsent(hitProbes.className, name -> read(classFile));
+    if (bytes == null) {
+      return Optional.empty();
+    }
+    ExecutionDataStore executionDataStore = new ExecutionDataStore();
+    executionDataStore.put(new ExecutionData(hitProbes.classId, hitProbes.className, hitProbes.probes()));
+    CoverageBuilder coverageBuilder = jacocoReportReader.analyzeClass(executionDataStore, bytes, classFile.getPath());
+    // a class has at most one source file
+    return coverageBuilder.getSourceFiles().stream().findFirst().map(SourceFileLines::new);
+  }
+
+  @CheckForNull
+  private static byte[] read(File classFile) {
+    try {
+      return Files.toByteArray(classFile);
+    } catch (IOException e) {
+      JaCoCoExtensions.LOG.warn("Exception during analysis of file " + classFile.getAbsolutePath(), e);
+      return null;
+    }
+  }
+
+  /**
+   * Probes of a class hit by a test, kept as a bit set.
+   */
+  private static class HitProbes {
+    private final long classId;
+    private final String className;
+    private final int probeCount;
+    private final long[] bits;
+    private final int hashCode;
+
+    HitProbes(ExecutionData data) {
+      this.classId = data.getId();
+      this.className = data.getName();
+      boolean[] probes = data.getProbes();
+      this.probeCount = probes.length;
+      BitSet bitSet = new BitSet(probes.length);
+      for (int i = 0; i < probes.length; i++) {
+        bitSet.set(i, probes[i]);
+      }
+      this.bits = bitSet.toLongArray();
+      this.hashCode = 31 * Long.hashCode(classId) + Arrays.hashCode(bits);
+    }
+
+    boolean[] probes() {
+      BitSet bitSet = BitSet.valueOf(bits);
+      boolean[] probes = new boolean[probeCount];
+      for (int i = bitSet.nextSetBit(0); i >= 0; i = bitSet.nextSetBit(i + 1)) {
+        probes[i] = true;
+      }
+      return probes;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      HitProbes other = (HitProbes) o;
+      return classId == other.classId && probeCount == other.probeCount && Arrays.equals(bits, other.bits);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  /**
+   * Covered lines of a source file, as a bit set of line numbers.
+   */
+  static class SourceFileLines {
+    final String packageName;
+    final String sourceFileName;
+    private final BitSet lines;
+
+    private SourceFileLines(String packageName, String sourceFileName, BitSet lines) {
+      this.packageName = packageName;
+      this.sourceFileName = sourceFileName;
+      this.lines = lines;
+    }
+
+    SourceFileLines(ISourceFileCoverage coverage) {
+      this(coverage.getPackageName(), coverage.getName(), new BitSet());
+      for (int lineId = coverage.getFirstLine(); lineId <= coverage.getLastLine(); lineId++) {
+        ILine line = coverage.getLine(lineId);
+        int status = line.getInstructionCounter().getStatus();
+        if (status == ICounter.FULLY_COVERED || status == ICounter.PARTLY_COVERED) {
+          lines.set(lineId);
+        }
+      }
+    }
+
+    SourceFileLines union(SourceFileLines other) {
+      BitSet union = (BitSet) lines.clone();
+      union.or(other.lines);
+      return new SourceFileLines(packageName, sourceFileName, union);
+    }
+
+    boolean isEmpty() {
+      return lines.isEmpty();
+    }
+
+    int[] lines() {
+      return lines.stream().toArray();
+    }
+  }
+
+}
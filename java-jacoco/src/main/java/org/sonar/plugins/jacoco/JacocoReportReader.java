@@ -122,6 +122,23 @@ public class JacocoReportReader {
     return coverageBuilder;
   }
 
+  /**
+   * Analyzes a single class given its content, so that the class file does not have to be read again for each analysis.
+   */
+  public CoverageBuilder analyzeClass(ExecutionDataStore executionDataStore, byte[] classBytes, String location) {
+    CoverageBuilder coverageBuilder = new CoverageBuilder();
+    try {
+      if (useCurrentBinaryFormat) {
+        new Analyzer(executionDataStore, coverageBuilder).analyzeClass(classBytes, location);
+      } else {
+        new org.jacoco.previous.core.analysis.Analyzer(executionDataStore, coverageBuilder).analyzeClass(classBytes, location);
+      }
+    } catch (IOException e) {
+      JaCoCoExtensions.LOG.warn("Exception during analysis of file " + location, e);
+    }
+    return coverageBuilder;
+  }
+
   /**
    * Caller must guarantee that {@code classFile} is actually class file.
    */
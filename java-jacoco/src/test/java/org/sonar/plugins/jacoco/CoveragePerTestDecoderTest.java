@@ -0,0 +1,80 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2010-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.jacoco;
+
+import com.google.common.collect.ImmutableMap;
+import org.jacoco.core.data.ExecutionData;
+import org.jacoco.core.data.ExecutionDataStore;
+import org.junit.Test;
+import org.sonar.test.TestUtils;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class CoveragePerTestDecoderTest {
+
+  @Test
+  public void each_set_of_hit_probes_is_analyzed_once() {
+    File outputDir = TestUtils.getResource("/org/sonar/plugins/jacoco/JaCoCov0_7_5_coverage_per_test/");
+    JacocoReportReader reader = spy(new JacocoReportReader(new File(outputDir, "jacoco.exec")));
+    ExecutionDataVisitor executionDataVisitor = new ExecutionDataVisitor();
+    reader.readJacocoReport(executionDataVisitor, executionDataVisitor);
+    Map<String, File> classFiles = ImmutableMap.of("example/One", new File(outputDir, "example/One.class"));
+    CoveragePerTestDecoder decoder = new CoveragePerTestDecoder(reader, classFiles);
+
+    ExecutionDataStore testBoth = executionDataVisitor.getSessions().get("example.OneTest testBoth");
+    Collection<CoveragePerTestDecoder.SourceFileLines> coveredLines = decoder.coveredLines(testBoth);
+    assertThat(coveredLines).hasSize(1);
+    CoveragePerTestDecoder.SourceFileLines sourceFileLines = coveredLines.iterator().next();
+    assertThat(sourceFileLines.packageName).isEqualTo("example");
+    assertThat(sourceFileLines.sourceFileName).isEqualTo("One.java");
+    assertThat(sourceFileLines.lines()).containsExactly(3, 4, 5, 8, 12);
+
+    // same probes hit by another test
+    ExecutionDataStore sameProbes = new ExecutionDataStore();
+    for (ExecutionData data : testBoth.getContents()) {
+      sameProbes.put(new ExecutionData(data.getId(), data.getName(), data.getProbes().clone()));
+    }
+    assertThat(decoder.coveredLines(sameProbes).iterator().next().lines()).containsExactly(3, 4, 5, 8, 12);
+    verify(reader, times(1)).analyzeClass(any(ExecutionDataStore.class), any(byte[].class), anyString());
+  }
+
+  @Test
+  public void classes_without_hits_or_class_file_are_ignored() {
+    File outputDir = TestUtils.getResource("/org/sonar/plugins/jacoco/JaCoCov0_7_5_coverage_per_test/");
+    JacocoReportReader reader = new JacocoReportReader(new File(outputDir, "jacoco.exec"));
+    Map<String, File> classFiles = ImmutableMap.of("example/One", new File(outputDir, "example/One.class"));
+    CoveragePerTestDecoder decoder = new CoveragePerTestDecoder(reader, classFiles);
+
+    ExecutionDataStore store = new ExecutionDataStore();
+    store.put(new ExecutionData(1, "example/One", new boolean[] {false, false}));
+    store.put(new ExecutionData(2, "example/Unknown", new boolean[] {true}));
+    assertThat(decoder.coveredLines(store)).isEmpty();
+  }
+
+}
@@ -59,6 +59,41 @@ public class Java extends AbstractLanguage {
    */
   public static final String SOURCE_VERSION = "sonar.java.source";
 
+  /**
+   * Key of the number of threads parsing files and creating their semantic model
+   */
+  public static final String ANALYSIS_THREADS = "sonar.java.analysis.threads";
+
+  /**
+   * Key of the file in which behaviors of methods computed by the symbolic execution are kept from one analysis to the next one
+   */
+  public static final String SE_BEHAVIOR_STORE = "sonar.java.symbolicExecution.behaviorStore";
+
+  /**
+   * Key of the order in which symbolic execution explores program states: DEPTH_FIRST, BREADTH_FIRST or UNEXPLORED_BLOCKS_FIRST
+   */
+  public static final String SE_STRATEGY = "sonar.java.symbolicExecution.strategy";
+
+  /**
+   * Key of the maximum number of steps of the symbolic execution of a method
+   */
+  public static final String SE_MAX_STEPS = "sonar.java.symbolicExecution.maxSteps";
+
+  /**
+   * Key of the maximum time in milliseconds spent in the symbolic execution of a method
+   */
+  public static final String SE_METHOD_TIME_BUDGET = "sonar.java.symbolicExecution.methodTimeBudget";
+
+  /**
+   * Key of the maximum time in milliseconds spent in the symbolic execution of the methods of a file
+   */
+  public static final String SE_FILE_TIME_BUDGET = "sonar.java.symbolicExecution.fileTimeBudget";
+
+  /**
+   * Key of the number of threads exploring the methods of a file with symbolic execution
+   */
+  public static final String SE_THREADS = "sonar.java.symbolicExecution.threads";
+
   /**
    * Settings of the plugin.
    */
@@ -39,10 +39,14 @@ import org.sonar.java.SonarComponents;
 import org.sonar.java.checks.CheckList;
 import org.sonar.java.filters.PostAnalysisIssueFilter;
 import org.sonar.java.model.JavaVersionImpl;
+import org.sonar.java.se.SymbolicExecutionSettings;
+import org.sonar.java.se.WorkList;
 import org.sonar.plugins.java.api.JavaVersion;
 
 import java.io.File;
 import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Locale;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
@@ -105,9 +109,46 @@ public class JavaSquidSensor implements Sensor {
     JavaVersion javaVersion = getJavaVersion();
     LOG.info("Configured Java source version (" + Java.SOURCE_VERSION + "): " + javaVersion);
     conf.setJavaVersion(javaVersion);
+    conf.setAnalysisThreads(Math.max(1, settings.getInt(Java.ANALYSIS_THREADS)));
+    String behaviorStore = settings.getString(Java.SE_BEHAVIOR_STORE);
+    if (behaviorStore != null) {
+      conf.setBehaviorStoreFile(fs.resolvePath(behaviorStore));
+    }
+    conf.setSymbolicExecutionSettings(createSymbolicExecutionSettings());
     return conf;
   }
 
+  private SymbolicExecutionSettings createSymbolicExecutionSettings() {
+    SymbolicExecutionSettings seSettings = new SymbolicExecutionSettings();
+    String strategy = settings.getString(Java.SE_STRATEGY);
+    if (strategy != null) {
+      setWorkListStrategy(seSettings, strategy);
+    }
+    if (settings.hasKey(Java.SE_MAX_STEPS)) {
+      int maxSteps = settings.getInt(Java.SE_MAX_STEPS);
+      if (maxSteps > 0) {
+        seSettings.setMaxSteps(maxSteps);
+      } else {
+        LOG.warn("Invalid value for " + Java.SE_MAX_STEPS + ": " + maxSteps + ", it should be strictly positive. Default value is used: "
+          + seSettings.maxSteps());
+      }
+    }
+    seSettings.setMethodTimeBudgetMillis(Math.max(0, settings.getLong(Java.SE_METHOD_TIME_BUDGET)));
+    seSettings.setFileTimeBudgetMillis(Math.max(0, settings.getLong(Java.SE_FILE_TIME_BUDGET)));
+    seSettings.setThreads(Math.max(1, settings.getInt(Java.SE_THREADS)));
+    return seSettings;
+  }
+
+  private static void setWorkListStrategy(SymbolicExecutionSettings seSettings, String strategy) {
+    try {
+      seSettings.setWorkListStrategy(WorkList.Strategy.valueOf(strategy.trim().toUpperCase(Locale.ENGLISH)));
+    } catch (IllegalArgumentException e) {
+      String acceptedValues = Arrays.stream(WorkList.Strategy.values()).map(s -> s.name().toLowerCase(Locale.ENGLISH)).collect(Collectors.joining(", "));
+      LOG.warn("Invalid value for " + Java.SE_STRATEGY + ": '" + strategy + "', accepted values are: " + acceptedValues + ". Default value is used: "
+        + seSettings.workListStrategy().name().toLowerCase(Locale.ENGLISH));
+    }
+  }
+
   private JavaVersion getJavaVersion() {
     return JavaVersionImpl.fromString(settings.getString(Java.SOURCE_VERSION));
   }
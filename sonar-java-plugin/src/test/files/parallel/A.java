@@ -0,0 +1,30 @@
+package parallel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class A {
+
+  private final List<B> children = new ArrayList<>();
+
+  public void Add_child(B child) {
+    children.add(child);
+  }
+
+  public int count_children() {
+    return children.size();
+  }
+
+  public B first() {
+    B first = null;
+    if (!children.isEmpty()) {
+      first = children.get(0);
+    }
+    return first;
+  }
+
+  public String firstName() {
+    return first().name();
+  }
+
+}
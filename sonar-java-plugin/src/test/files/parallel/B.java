@@ -0,0 +1,22 @@
+package parallel;
+
+public class B extends C<String> {
+
+  private String name;
+
+  public B(String name) {
+    this.name = name;
+  }
+
+  public String name() {
+    return name;
+  }
+
+  public int Name_length(Object o) {
+    if (o == null) {
+      name = null;
+    }
+    return name.length();
+  }
+
+}
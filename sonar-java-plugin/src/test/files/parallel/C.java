@@ -0,0 +1,18 @@
+package parallel;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public abstract class C<T> {
+
+  private final Map<String, T> values = new HashMap<>();
+
+  public T Get_value(String key) {
+    return values.get(key);
+  }
+
+  public void put_value(String key, T value) {
+    values.put(key, value);
+  }
+
+}
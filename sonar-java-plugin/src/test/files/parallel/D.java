@@ -0,0 +1,17 @@
+package parallel;
+
+public class D {
+
+  public static int Divide(int a, int b) {
+    return a / b;
+  }
+
+  public int sum_of(A a) {
+    int sum = 0;
+    for (int i = 0; i < a.count_children(); i++) {
+      sum += a.first().name().length();
+    }
+    return sum;
+  }
+
+}
@@ -0,0 +1,11 @@
+package parallel;
+
+public interface E {
+
+  void Do_something(A a, B b);
+
+  default void doNothing() {
+    // nothing
+  }
+
+}
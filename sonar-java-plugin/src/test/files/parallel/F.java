@@ -0,0 +1,12 @@
+package parallel;
+
+public class F implements E {
+
+  @Override
+  public void Do_something(A a, B b) {
+    a.Add_child(b);
+    Object o = a.count_children() > 1 ? b : null;
+    o.toString();
+  }
+
+}
@@ -0,0 +1,209 @@
+/*
+ * SonarQube Java
+ * Copyright (C) 2012-2017 SonarSource SA
+ * mailto:info AT sonarsource DOT com
+ *
+ * This program is free software; you can redistribute it and/or
+ * modify it under the terms of the GNU Lesser General Public
+ * License as published by the Free Software Foundation; either
+ * version 3 of the License, or (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ * Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with this program; if not, write to the Free Software Foundation,
+ * Inc., 51 Franklin Street, Fifth Floor, Boston, MA  02110-1301, USA.
+ */
+package org.sonar.plugins.java;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.sonar.api.batch.fs.InputFile;
+import org.sonar.api.batch.fs.internal.DefaultFileSystem;
+import org.sonar.api.batch.fs.internal.DefaultInputFile;
+import org.sonar.api.batch.rule.CheckFactory;
+import org.sonar.api.batch.rule.Checks;
+import org.sonar.api.batch.sensor.internal.SensorContextTester;
+import org.sonar.api.config.MapSettings;
+import org.sonar.api.config.Settings;
+import org.sonar.api.issue.NoSonarFilter;
+import org.sonar.api.measures.FileLinesContext;
+import org.sonar.api.measures.FileLinesContextFactory;
+import org.sonar.api.rule.RuleKey;
+import org.sonar.api.rules.RuleAnnotationUtils;
+import org.sonar.api.utils.log.LogTester;
+import org.sonar.api.utils.log.LoggerLevel;
+import org.sonar.java.AnalyzerMessage;
+import org.sonar.java.DefaultJavaResourceLocator;
+import org.sonar.java.JavaClasspath;
+import org.sonar.java.JavaTestClasspath;
+import org.sonar.java.SonarComponents;
+import org.sonar.java.checks.naming.BadMethodNameCheck;
+import org.sonar.java.filters.PostAnalysisIssueFilter;
+import org.sonar.java.se.checks.DivisionByZeroCheck;
+import org.sonar.java.se.checks.NullDereferenceCheck;
+import org.sonar.plugins.java.api.JavaCheck;
+import org.sonar.squidbridge.api.CodeVisitor;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class JavaSquidSensorSettingsTest {
+
+  @Rule
+  public LogTester logTester = new LogTester();
+
+  private static final File PROJECT_DIR = new File("src/test/files/parallel");
+  private static final String[] PROJECT_FILES = {"A.java", "B.java", "C.java", "D.java", "E.java", "F.java"};
+
+  @Test
+  public void parallel_analysis_reports_same_issues_and_measures_in_same_order() throws IOException {
+    Settings sequentialSettings = new MapSettings();
+    sequentialSettings.setProperty(Java.ANALYSIS_THREADS, "1");
+    AnalysisResult sequential = analyze(sequentialSettings);
+
+    Settings parallelSettings = new MapSettings();
+    parallelSettings.setProperty(Java.ANALYSIS_THREADS, "4");
+    AnalysisResult parallel = analyze(parallelSettings);
+
+    assertThat(sequential.issues).isNotEmpty();
+    assertThat(sequential.measures).isNotEmpty();
+    assertThat(parallel.issues).containsExactlyElementsOf(sequential.issues);
+    assertThat(parallel.measures).containsExactlyElementsOf(sequential.measures);
+  }
+
+  @Test
+  public void symbolic_execution_settings() throws IOException {
+    Settings settings = new MapSettings();
+    settings.setProperty(Java.SE_STRATEGY, "unexplored_blocks_first");
+    settings.setProperty(Java.SE_MAX_STEPS, "1000");
+    settings.setProperty(Java.SE_METHOD_TIME_BUDGET, "10000");
+    settings.setProperty(Java.SE_FILE_TIME_BUDGET, "60000");
+    settings.setProperty(Java.SE_THREADS, "2");
+
+    assertThat(sorted(analyze(settings).issues)).isEqualTo(sorted(analyze(new MapSettings()).issues));
+    assertThat(settingsWarnings()).isEmpty();
+  }
+
+  @Test
+  public void invalid_symbolic_execution_strategy_falls_back_to_default() throws IOException {
+    Settings settings = new MapSettings();
+    settings.setProperty(Java.SE_STRATEGY, "deepest_first");
+
+    assertThat(analyze(settings).issues).isEqualTo(analyze(new MapSettings()).issues);
+    assertThat(settingsWarnings()).containsOnly(
+      "Invalid value for sonar.java.symbolicExecution.strategy: 'deepest_first', accepted values are: depth_first, breadth_first, unexplored_blocks_first. "
+        + "Default value is used: depth_first");
+  }
+
+  @Test
+  public void empty_symbolic_execution_strategy_falls_back_to_default() throws IOException {
+    Settings settings = new MapSettings();
+    settings.setProperty(Java.SE_STRATEGY, " ");
+
+    assertThat(analyze(settings).issues).isEqualTo(analyze(new MapSettings()).issues);
+    assertThat(settingsWarnings()).hasSize(1);
+  }
+
+  @Test
+  public void non_positive_symbolic_execution_max_steps_falls_back_to_default() throws IOException {
+    AnalysisResult expected = analyze(new MapSettings());
+
+    Settings settings = new MapSettings();
+    settings.setProperty(Java.SE_MAX_STEPS, "0");
+    assertThat(analyze(settings).issues).isEqualTo(expected.issues);
+    settings.setProperty(Java.SE_MAX_STEPS, "-5");
+    assertThat(analyze(settings).issues).isEqualTo(expected.issues);
+
+    assertThat(settingsWarnings()).containsExactly(
+      "Invalid value for sonar.java.symbolicExecution.maxSteps: 0, it should be strictly positive. Default value is used: 16000",
+      "Invalid value for sonar.java.symbolicExecution.maxSteps: -5, it should be strictly positive. Default value is used: 16000");
+  }
+
+  private List<String> settingsWarnings() {
+    return logTester.logs(LoggerLevel.WARN).stream().filter(log -> log.contains("sonar.java.symbolicExecution")).collect(Collectors.toList());
+  }
+
+  private static List<String> sorted(List<String> values) {
+    return values.stream().sorted().collect(Collectors.toList());
+  }
+
+  private static AnalysisResult analyze(Settings settings) throws IOException {
+    SensorContextTester context = SensorContextTester.create(PROJECT_DIR);
+    DefaultFileSystem fs = context.fileSystem();
+    List<InputFile> inputFiles = new ArrayList<>();
+    for (String relativePath : PROJECT_FILES) {
+      File file = new File(PROJECT_DIR, relativePath);
+      DefaultInputFile inputFile = new DefaultInputFile("", relativePath).setLanguage("java").setType(InputFile.Type.MAIN)
+        .initMetadata(new String(Files.readAllBytes(file.toPath()), "UTF-8"));
+      fs.add(inputFile);
+      inputFiles.add(inputFile);
+    }
+    SonarComponents sonarComponents = createSonarComponentsMock(context, new BadMethodNameCheck(), new NullDereferenceCheck(), new DivisionByZeroCheck());
+    DefaultJavaResourceLocator javaResourceLocator = new DefaultJavaResourceLocator(fs, new JavaClasspath(settings, fs));
+    JavaSquidSensor jss = new JavaSquidSensor(sonarComponents, fs, javaResourceLocator, settings, mock(NoSonarFilter.class), new PostAnalysisIssueFilter(fs));
+
+    jss.execute(context);
+
+    ArgumentCaptor<AnalyzerMessage> messages = ArgumentCaptor.forClass(AnalyzerMessage.class);
+    verify(sonarComponents, atLeastOnce()).reportIssue(messages.capture());
+    AnalysisResult result = new AnalysisResult();
+    result.issues = messages.getAllValues().stream()
+      .map(message -> message.getCheck().getClass().getSimpleName() + " " + message)
+      .collect(Collectors.toList());
+    result.measures = inputFiles.stream()
+      .flatMap(inputFile -> context.measures(inputFile.key()).stream()
+        .map(measure -> inputFile.relativePath() + " " + measure.metric().key() + "=" + measure.value()))
+      .sorted()
+      .collect(Collectors.toList());
+    return result;
+  }
+
+  private static class AnalysisResult {
+    private List<String> issues;
+    private List<String> measures;
+  }
+
+  private static SonarComponents createSonarComponentsMock(SensorContextTester contextTester, JavaCheck... javaChecks) {
+    CheckFactory checkFactory = mock(CheckFactory.class);
+    Checks<Object> checks = mock(Checks.class);
+    when(checks.addAnnotatedChecks(any(Iterable.class))).thenReturn(checks);
+    when(checks.ruleKey(any(JavaCheck.class))).thenReturn(RuleKey.of("squid", RuleAnnotationUtils.getRuleKey(BadMethodNameCheck.class)));
+
+    JavaTestClasspath javaTestClasspath = mock(JavaTestClasspath.class);
+    when(javaTestClasspath.getElements()).thenReturn(ImmutableList.of());
+
+    JavaClasspath javaClasspath = mock(JavaClasspath.class);
+    when(javaClasspath.getElements()).thenReturn(ImmutableList.of());
+    when(checkFactory.create(anyString())).thenReturn(checks);
+
+    FileLinesContext fileLinesContext = mock(FileLinesContext.class);
+    FileLinesContextFactory fileLinesContextFactory = mock(FileLinesContextFactory.class);
+    when(fileLinesContextFactory.createFor(any(InputFile.class))).thenReturn(fileLinesContext);
+    SonarComponents sonarComponents = spy(new SonarComponents(fileLinesContextFactory, contextTester.fileSystem(), javaClasspath, javaTestClasspath, checkFactory));
+    sonarComponents.setSensorContext(contextTester);
+
+    CodeVisitor[] visitors = javaChecks;
+    when(sonarComponents.checkClasses()).thenReturn(visitors);
+    return sonarComponents;
+  }
+
+}